@@ -0,0 +1,69 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.imixs.openbpmn.extensions.ActorValidatorExtension;
+import org.imixs.workflow.model.ImixsModelGenerator;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the ACL validation of the {@link ActorValidatorExtension}. The
+ * model is rebuilt before each invocation because the validator removes the
+ * invalid actor values.
+ *
+ * @author rsoika
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ActorValidatorBenchmark {
+
+    // number of tasks and events of the generated model
+    @Param({ "20", "1000", "5000" })
+    public int elements;
+
+    private BPMNModel model;
+    private ActorValidatorExtension validator;
+
+    @Setup(Level.Invocation)
+    public void setup() throws Exception {
+        model = ImixsModelGenerator.ofSize(elements).withInvalidActors(10).build();
+        validator = new ActorValidatorExtension();
+    }
+
+    @Benchmark
+    public ActorValidatorExtension.ValidationResult validateACL() {
+        return validator.validateACL(model);
+    }
+}
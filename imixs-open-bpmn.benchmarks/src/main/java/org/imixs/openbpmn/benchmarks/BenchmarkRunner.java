@@ -0,0 +1,59 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of the benchmarks.jar. The runner accepts all JMH command line
+ * options. If no result file is given, the results are written in JSON format
+ * into 'target/jmh-result.json' so that runs can be compared across commits.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ItemValueBenchmark -p items=100
+ * </pre>
+ *
+ * @author rsoika
+ *
+ */
+public class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        if (cmdOptions.shouldHelp()) {
+            cmdOptions.showHelp();
+            return;
+        }
+        Options options = new OptionsBuilder() //
+                .parent(cmdOptions) //
+                .resultFormat(cmdOptions.getResultFormat().orElse(ResultFormatType.JSON)) //
+                .result(cmdOptions.getResult().orElse(DEFAULT_RESULT)) //
+                .build();
+        new Runner(options).run();
+    }
+}
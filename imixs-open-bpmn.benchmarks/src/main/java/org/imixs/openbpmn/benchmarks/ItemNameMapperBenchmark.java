@@ -0,0 +1,72 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.imixs.openbpmn.extensions.ImixsItemNameMapper;
+import org.imixs.workflow.model.ImixsModelGenerator;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the {@link ImixsItemNameMapper}. Compares the construction of
+ * a new mapper with the cached instance and measures the label resolution.
+ *
+ * @author rsoika
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemNameMapperBenchmark {
+
+    private BPMNModel model;
+    private ImixsItemNameMapper mapper;
+
+    @Setup
+    public void setup() throws Exception {
+        model = new ImixsModelGenerator().build();
+        mapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
+    }
+
+    @Benchmark
+    public ImixsItemNameMapper newInstance() {
+        return new ImixsItemNameMapper(model, "txtfieldmapping");
+    }
+
+    @Benchmark
+    public ImixsItemNameMapper getInstance() {
+        return ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
+    }
+
+    @Benchmark
+    public String resolveLabel() {
+        return mapper.resolveLabel("namactor3");
+    }
+}
@@ -0,0 +1,95 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+import org.imixs.workflow.model.ImixsModelGenerator;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Element;
+
+/**
+ * Benchmark for the item value access of the {@link ImixsExtensionUtil}. The
+ * element under test holds a configurable number of imixs:item elements.
+ * <p>
+ * The 'cold' benchmark discards the item index before each read to measure the
+ * cost of a full scan of the extension elements.
+ *
+ * @author rsoika
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemValueBenchmark {
+
+    @Param({ "10", "50", "100", "500" })
+    public int items;
+
+    private BPMNModel model;
+    private Element elementNode;
+    private String lastItem;
+    private List<String> values;
+    private int counter = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        model = new ImixsModelGenerator().build();
+        BPMNElementNode task = model.findAllActivities().iterator().next();
+        elementNode = task.getElementNode();
+        values = new ArrayList<String>();
+        values.add("namactor1");
+        values.add("namactor2");
+        for (int i = 0; i < items; i++) {
+            ImixsExtensionUtil.setItemValueList(model, elementNode, "item" + i, "xs:string", values, null);
+        }
+        lastItem = "item" + (items - 1);
+    }
+
+    @Benchmark
+    public List<String> getItemValueList() {
+        return ImixsExtensionUtil.getItemValueList(model, elementNode, lastItem);
+    }
+
+    @Benchmark
+    public List<String> getItemValueListCold() {
+        ImixsExtensionUtil.invalidateItemIndex(elementNode);
+        return ImixsExtensionUtil.getItemValueList(model, elementNode, lastItem);
+    }
+
+    @Benchmark
+    public void setItemValue() {
+        ImixsExtensionUtil.setItemValue(model, elementNode, lastItem, "xs:string", "value" + (counter++ % 16));
+    }
+}
@@ -0,0 +1,149 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.imixs.openbpmn.extensions.ImixsBPMNDefinitionsExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventACLExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventHistoryExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventMailExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventReportExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventRuleExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventSchedulerExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNTaskACLExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNTaskExtension;
+import org.imixs.workflow.model.ImixsModelGenerator;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElement;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.glsp.jsonforms.DataBuilder;
+import org.openbpmn.glsp.jsonforms.SchemaBuilder;
+import org.openbpmn.glsp.jsonforms.UISchemaBuilder;
+import org.openbpmn.glsp.jsonforms.UISchemaBuilder.Layout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for the method buildPropertiesForm of the Imixs BPMN extensions.
+ * This is the code executed each time an element is selected in the diagram.
+ *
+ * @author rsoika
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertiesFormBenchmark {
+
+    @Param({ "ImixsBPMNTaskExtension", "ImixsBPMNTaskACLExtension", "ImixsBPMNEventExtension",
+            "ImixsBPMNEventACLExtension", "ImixsBPMNEventMailExtension", "ImixsBPMNEventHistoryExtension",
+            "ImixsBPMNEventRuleExtension", "ImixsBPMNEventSchedulerExtension", "ImixsBPMNEventReportExtension",
+            "ImixsBPMNDefinitionsExtension" })
+    public String extension;
+
+    private ImixsBPMNExtension bpmnExtension;
+    private BPMNElement element;
+
+    @Setup
+    public void setup() throws Exception {
+        BPMNModel model = new ImixsModelGenerator().build();
+        switch (extension) {
+        case "ImixsBPMNTaskExtension":
+            bpmnExtension = new ImixsBPMNTaskExtension();
+            break;
+        case "ImixsBPMNTaskACLExtension":
+            bpmnExtension = new ImixsBPMNTaskACLExtension();
+            break;
+        case "ImixsBPMNEventExtension":
+            bpmnExtension = new ImixsBPMNEventExtension();
+            break;
+        case "ImixsBPMNEventACLExtension":
+            bpmnExtension = new ImixsBPMNEventACLExtension();
+            break;
+        case "ImixsBPMNEventMailExtension":
+            bpmnExtension = new ImixsBPMNEventMailExtension();
+            break;
+        case "ImixsBPMNEventHistoryExtension":
+            bpmnExtension = new ImixsBPMNEventHistoryExtension();
+            break;
+        case "ImixsBPMNEventRuleExtension":
+            bpmnExtension = new ImixsBPMNEventRuleExtension();
+            break;
+        case "ImixsBPMNEventSchedulerExtension":
+            bpmnExtension = new ImixsBPMNEventSchedulerExtension();
+            break;
+        case "ImixsBPMNEventReportExtension":
+            bpmnExtension = new ImixsBPMNEventReportExtension();
+            break;
+        case "ImixsBPMNDefinitionsExtension":
+            bpmnExtension = new ImixsBPMNDefinitionsExtension();
+            break;
+        default:
+            throw new IllegalArgumentException("unknown extension: " + extension);
+        }
+        for (BPMNElementNode node : model.findAllActivities()) {
+            if (bpmnExtension.handlesBPMNElement(node)) {
+                element = node;
+                break;
+            }
+        }
+        if (element == null) {
+            for (BPMNElementNode node : model.findAllEvents()) {
+                if (bpmnExtension.handlesBPMNElement(node)) {
+                    element = node;
+                    break;
+                }
+            }
+        }
+        if (element == null) {
+            // the definitions extension handles the public process
+            BPMNElement process = model.openDefaultProces();
+            if (bpmnExtension.handlesBPMNElement(process)) {
+                element = process;
+            }
+        }
+        if (element == null) {
+            throw new IllegalStateException("no element found for extension " + extension);
+        }
+    }
+
+    @Benchmark
+    public void buildPropertiesForm(Blackhole blackhole) {
+        DataBuilder dataBuilder = new DataBuilder();
+        SchemaBuilder schemaBuilder = new SchemaBuilder();
+        UISchemaBuilder uiSchemaBuilder = new UISchemaBuilder(Layout.CATEGORIZATION);
+        bpmnExtension.buildPropertiesForm(element, dataBuilder, schemaBuilder, uiSchemaBuilder);
+        blackhole.consume(dataBuilder);
+        blackhole.consume(schemaBuilder);
+        blackhole.consume(uiSchemaBuilder);
+    }
+}
@@ -17,6 +17,9 @@ package org.imixs.openbpmn;
 
 import java.util.logging.Logger;
 
+import org.eclipse.glsp.server.di.MultiBinding;
+import org.eclipse.glsp.server.features.core.model.GModelFactory;
+import org.eclipse.glsp.server.operations.OperationHandler;
 import org.imixs.openbpmn.extensions.ActorValidatorExtension;
 import org.imixs.openbpmn.extensions.ImixsBPMNDefinitionsExtension;
 import org.imixs.openbpmn.extensions.ImixsBPMNEventACLExtension;
@@ -28,6 +31,10 @@ import org.imixs.openbpmn.extensions.ImixsBPMNEventRuleExtension;
 import org.imixs.openbpmn.extensions.ImixsBPMNEventSchedulerExtension;
 import org.imixs.openbpmn.extensions.ImixsBPMNTaskACLExtension;
 import org.imixs.openbpmn.extensions.ImixsBPMNTaskExtension;
+import org.imixs.openbpmn.extensions.ImixsLinkedContentExtension;
+import org.imixs.openbpmn.model.ImixsGModelFactory;
+import org.imixs.openbpmn.operations.ImixsApplyPropertiesBatchOperationHandler;
+import org.imixs.openbpmn.operations.ImixsRefreshLinkedFilesOperationHandler;
 import org.openbpmn.extensions.BPMNElementExtension;
 import org.openbpmn.extensions.BPMNModelExtension;
 import org.openbpmn.glsp.BPMNDiagramModule;
@@ -84,6 +91,29 @@ public class ImixsBPMNDiagramModule extends BPMNDiagramModule {
         super.configureBPMNModelExtensions(binding);
         // bind Imixs model extensions
         binding.addBinding().to(ActorValidatorExtension.class);
+        binding.addBinding().to(ImixsLinkedContentExtension.class);
 
     }
+
+    /**
+     * The ImixsGModelFactory caches the properties forms of the BPMN elements.
+     */
+    @Override
+    protected Class<? extends GModelFactory> bindGModelFactory() {
+        return ImixsGModelFactory.class;
+    }
+
+    /**
+     * This method adds the Imixs operation handlers
+     *
+     * @param binding
+     */
+    @Override
+    protected void configureOperationHandlers(final MultiBinding<OperationHandler> binding) {
+        super.configureOperationHandlers(binding);
+        // batch update of multiple elements
+        binding.add(ImixsApplyPropertiesBatchOperationHandler.class);
+        // reload changed file links
+        binding.add(ImixsRefreshLinkedFilesOperationHandler.class);
+    }
 }
@@ -0,0 +1,184 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.imixs.openbpmn.model.ImixsModelLinter;
+import org.imixs.openbpmn.model.ImixsModelLinter.Finding;
+
+/**
+ * The ImixsBPMNLinterLauncher is a headless entry point to verify all .bpmn
+ * files of a directory with the {@link ImixsModelLinter}. The files are
+ * verified in parallel and the findings are written into a JSON report. The
+ * process exits with 1 if at least one finding was reported, which makes the
+ * linter usable as a CI gate.
+ *
+ * <pre>
+ * java -cp imixs-open-bpmn.server.jar org.imixs.openbpmn.ImixsBPMNLinterLauncher -d models/ -o report.json
+ * </pre>
+ *
+ * @author rsoika
+ *
+ */
+public final class ImixsBPMNLinterLauncher {
+    private static Logger logger = Logger.getLogger(ImixsBPMNLinterLauncher.class.getName());
+
+    private ImixsBPMNLinterLauncher() {
+    }
+
+    public static void main(final String[] args) {
+        String processName = "ImixsOpenBPMNLinter";
+        Options options = new Options();
+        options.addOption(Option.builder("d").longOpt("dir").hasArg().required()
+                .desc("Directory containing the .bpmn files (including sub directories)").build());
+        options.addOption(Option.builder("o").longOpt("output").hasArg()
+                .desc("Report file (default: stdout)").build());
+        options.addOption(Option.builder("t").longOpt("threads").hasArg()
+                .desc("Number of parallel threads (default: available processors)").build());
+        try {
+            CommandLine cmd = new DefaultParser().parse(options, args);
+            int threads = Runtime.getRuntime().availableProcessors();
+            if (cmd.hasOption("t")) {
+                threads = Integer.parseInt(cmd.getOptionValue("t"));
+            }
+            List<Path> files = findModelFiles(Path.of(cmd.getOptionValue("d")));
+            Map<Path, List<Finding>> results = lint(files, threads);
+
+            if (cmd.hasOption("o")) {
+                try (OutputStream out = Files.newOutputStream(Path.of(cmd.getOptionValue("o")))) {
+                    writeReport(results, out);
+                }
+            } else {
+                writeReport(results, System.out);
+            }
+
+            long count = results.values().stream().mapToInt(List::size).sum();
+            logger.info("..." + files.size() + " models verified - " + count + " findings");
+            System.exit(count > 0 ? 1 : 0);
+        } catch (ParseException | NumberFormatException ex) {
+            logger.severe(ex.getMessage());
+            new HelpFormatter().printHelp(processName, options);
+            System.exit(2);
+        } catch (IOException | InterruptedException | ExecutionException ex) {
+            ex.printStackTrace();
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Returns all .bpmn files of a directory and its sub directories in sorted
+     * order.
+     */
+    public static List<Path> findModelFiles(final Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(p -> Files.isRegularFile(p) && p.toString().endsWith(".bpmn")).sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Verifies the given files in parallel. The result preserves the order of the
+     * files.
+     *
+     * @param files   - model files
+     * @param threads - number of parallel threads
+     * @return the findings per file
+     */
+    public static Map<Path, List<Finding>> lint(final List<Path> files, final int threads)
+            throws InterruptedException, ExecutionException {
+        long l = System.currentTimeMillis();
+        ImixsModelLinter linter = new ImixsModelLinter();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<List<Finding>>> futures = new ArrayList<Future<List<Finding>>>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> linter.lint(file)));
+            }
+            Map<Path, List<Finding>> results = new LinkedHashMap<Path, List<Finding>>();
+            for (int i = 0; i < files.size(); i++) {
+                results.put(files.get(i), futures.get(i).get());
+            }
+            logger.fine("..." + files.size() + " models verified in " + (System.currentTimeMillis() - l) + "ms");
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the findings in JSON format:
+     *
+     * <pre>
+     * {"files":2,"findings":1,"models":[{"file":"a.bpmn","findings":[{"rule":"acl","element":"Task_1","message":"..."}]}]}
+     * </pre>
+     */
+    public static void writeReport(final Map<Path, List<Finding>> results, final OutputStream out)
+            throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        JsonGenerator generator = Json.createGeneratorFactory(Map.of(JsonGenerator.PRETTY_PRINTING, true))
+                .createGenerator(writer);
+        generator.writeStartObject();
+        generator.write("files", results.size());
+        generator.write("findings", results.values().stream().mapToInt(List::size).sum());
+        generator.writeStartArray("models");
+        for (Map.Entry<Path, List<Finding>> entry : results.entrySet()) {
+            generator.writeStartObject();
+            generator.write("file", entry.getKey().toString());
+            generator.writeStartArray("findings");
+            for (Finding finding : entry.getValue()) {
+                generator.writeStartObject();
+                generator.write("rule", finding.getRule());
+                if (finding.getElementId() != null) {
+                    generator.write("element", finding.getElementId());
+                }
+                generator.write("message", finding.getMessage() != null ? finding.getMessage() : "");
+                generator.writeEnd();
+            }
+            generator.writeEnd();
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+        generator.flush();
+        writer.flush();
+    }
+}
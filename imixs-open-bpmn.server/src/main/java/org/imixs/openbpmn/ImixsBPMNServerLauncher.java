@@ -23,6 +23,7 @@ import org.eclipse.glsp.server.launch.DefaultCLIParser;
 import org.eclipse.glsp.server.launch.GLSPServerLauncher;
 import org.eclipse.glsp.server.launch.SocketGLSPServerLauncher;
 import org.eclipse.glsp.server.utils.LaunchUtil;
+import org.imixs.openbpmn.metrics.ImixsMetrics;
 import org.openbpmn.glsp.launch.BPMNServerLauncher;
 
 public final class ImixsBPMNServerLauncher {
@@ -45,6 +46,7 @@ public final class ImixsBPMNServerLauncher {
             ServerModule bpmnServerModule = new ServerModule()
                     .configureDiagramModule(new ImixsBPMNDiagramModule());
 
+            ImixsMetrics.start();
             GLSPServerLauncher launcher = new SocketGLSPServerLauncher(bpmnServerModule);
             launcher.start("localhost", port);
         } catch (ParseException ex) {
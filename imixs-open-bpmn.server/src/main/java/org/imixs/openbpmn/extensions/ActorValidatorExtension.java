@@ -16,10 +16,13 @@
 package org.imixs.openbpmn.extensions;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
+import org.imixs.openbpmn.metrics.ImixsMetrics;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.ModelNotification;
 import org.openbpmn.bpmn.elements.core.BPMNElementNode;
@@ -37,6 +40,9 @@ import org.openbpmn.extensions.BPMNModelExtension;
 public class ActorValidatorExtension implements BPMNModelExtension {
     protected static Logger logger = Logger.getLogger(ActorValidatorExtension.class.getName());
 
+    public static final String[] KEY_PROPERTIES = { "keyownershipfields", "keyaddreadfields", "keyaddwritefields",
+            "keymailreceiverfields", "keymailreceiverfieldscc", "keymailreceiverfieldsbcc" };
+
     @Override
     public int getPriority() {
         return 102;
@@ -49,7 +55,9 @@ public class ActorValidatorExtension implements BPMNModelExtension {
      */
     @Override
     public void onSave(BPMNModel model, final Path path) {
+        long start = System.nanoTime();
         validateACL(model);
+        ImixsMetrics.getInstance().record("ActorValidatorExtension.onSave", start);
     }
 
     /**
@@ -62,59 +70,121 @@ public class ActorValidatorExtension implements BPMNModelExtension {
 
     @Override
     public void onLoad(BPMNModel model, Path path) {
-        if (!validateACL(model)) {
+        long start = System.nanoTime();
+        if (!validateACL(model).isValid()) {
             // mark model as dirty
             model.setDirty(true);
             model.getNotifications().add(new ModelNotification(ModelNotification.Severity.WARNING,
                     "ACL Settings updated!", "Invalid ACL Settings found - fixed automatically!"));
         }
-
+        ImixsMetrics.getInstance().record("ActorValidatorExtension.onLoad", start);
     }
 
     /**
      * Helper method validates all acl field mappings in events and tasks and
      * automatically removes invalid values.
-     * 
-     * The method returns false if values were updated
+     * <p>
+     * The item values of each element are read only once and verified against
+     * the hashed actor values. A property containing invalid values is rewritten
+     * exactly once.
      * 
      * @param model
-     * @return
+     * @return the validation result
      */
-    private boolean validateACL(BPMNModel model) {
-        boolean result = true;
-        ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
-        String[] keyProperties = { "keyownershipfields", "keyaddreadfields", "keyaddwritefields",
-                "keymailreceiverfields", "keymailreceiverfieldscc", "keymailreceiverfieldsbcc" };
-
-        // Iterate over all Events and Task and call verify the ACL settings
+    public ValidationResult validateACL(BPMNModel model) {
+        // Iterate over all Events and Task and collect the ACL settings
         LinkedHashSet<BPMNElementNode> allACLElements = new LinkedHashSet<BPMNElementNode>();
         allACLElements.addAll(model.findAllEvents());
         allACLElements.addAll(model.findAllActivities());
+        return validateACL(model, allACLElements);
+    }
 
-        for (BPMNElementNode aclElement : allACLElements) {
-
-            for (String property : keyProperties) {
+    /**
+     * Validates the acl field mappings of the given elements.
+     * 
+     * @param model
+     * @param allACLElements - events and tasks to be verified
+     * @return the validation result
+     */
+    private ValidationResult validateACL(BPMNModel model, Set<BPMNElementNode> allACLElements) {
+        long l = System.currentTimeMillis();
+        ValidationResult result = new ValidationResult();
+        Set<String> actorValues = ImixsItemNameMapper.getInstance(model, "txtfieldmapping").getValueSet();
 
+        for (BPMNElementNode aclElement : allACLElements) {
+            result.elements++;
+            for (String property : KEY_PROPERTIES) {
                 List<String> valueList = ImixsExtensionUtil.getItemValueList(model, aclElement.getElementNode(),
                         property);
-
-                // validate value list just to give out a message
+                if (valueList.isEmpty()) {
+                    continue;
+                }
+                result.properties++;
+                List<String> validValues = new ArrayList<>(valueList.size());
                 for (String _value : valueList) {
-                    if (!actorFieldMapper.getValues().contains(_value)) {
-                        result = false;
+                    if (actorValues.contains(_value)) {
+                        validValues.add(_value);
+                    } else {
+                        result.invalidValues++;
                         logger.warning(property + " contains invalid value '" + _value
                                 + "' - value will be automatically removed!");
-
-                        ImixsExtensionUtil.setItemValueList(model, aclElement.getElementNode(), property, "xs:string",
-                                valueList,
-                                actorFieldMapper.getValues());
                     }
                 }
-
+                // rewrite the property only once
+                if (validValues.size() < valueList.size()) {
+                    result.fixedProperties++;
+                    ImixsExtensionUtil.setItemValueList(model, aclElement.getElementNode(), property, "xs:string",
+                            validValues, null);
+                }
             }
-
         }
+        result.time = System.currentTimeMillis() - l;
+        ImixsMetrics metrics = ImixsMetrics.getInstance();
+        metrics.count("ActorValidatorExtension.elements", result.elements);
+        metrics.count("ActorValidatorExtension.fixedProperties", result.fixedProperties);
+        metrics.count("ActorValidatorExtension.invalidValues", result.invalidValues);
+        logger.info("...validated ACL of " + result.elements + " elements (" + result.properties
+                + " properties) in " + result.time + "ms - "
+                + result.invalidValues + " invalid values removed from " + result.fixedProperties + " properties");
         return result;
     }
 
+    /**
+     * Counts and timing of an ACL validation pass
+     */
+    public static class ValidationResult {
+        int elements = 0;
+        int properties = 0;
+        int invalidValues = 0;
+        int fixedProperties = 0;
+        long time = 0;
+
+        /**
+         * Returns false if invalid values were found and removed
+         */
+        public boolean isValid() {
+            return invalidValues == 0;
+        }
+
+        public int getElements() {
+            return elements;
+        }
+
+        public int getProperties() {
+            return properties;
+        }
+
+        public int getInvalidValues() {
+            return invalidValues;
+        }
+
+        public int getFixedProperties() {
+            return fixedProperties;
+        }
+
+        public long getTime() {
+            return time;
+        }
+    }
+
 }
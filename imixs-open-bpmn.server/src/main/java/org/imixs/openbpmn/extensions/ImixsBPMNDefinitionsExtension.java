@@ -16,10 +16,9 @@
 package org.imixs.openbpmn.extensions;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.json.JsonArray;
@@ -88,14 +87,19 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
     }
 
     /**
-     * This Helper Method generates a JSON Object with the BPMNElement properties.
-     * <p>
-     * This json object is used on the GLSP Client to generate the EMF JsonForms
+     * This Extension updates the category Workflow only
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
-            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+    public boolean handlesCategory(final String category) {
+        return "Workflow".equals(category);
+    }
 
+    /**
+     * This Helper Method adds the model definitions to the JSON data of the
+     * properties form.
+     */
+    @Override
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
         // find the definitions element
         BPMNModel model = bpmnElement.getModel();
         Element elementNode = model.getDefinitions();
@@ -105,7 +109,7 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
                                 "txtworkflowmodelversion"));
 
         // add Date Objects
-        ImixsItemNameMapper timeFieldMapper = new ImixsItemNameMapper(model, "txttimefieldmapping");
+        ImixsItemNameMapper timeFieldMapper = ImixsItemNameMapper.getInstance(model, "txttimefieldmapping");
         dataBuilder.addArray("dateobjects");
         for (int i = 0; i < timeFieldMapper.values.size(); i++) {
             dataBuilder.addObject();
@@ -116,7 +120,7 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
 
         // add Field Mapping
         dataBuilder.addArray("actors");
-        ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
         for (int i = 0; i < actorFieldMapper.values.size(); i++) {
             dataBuilder.addObject();
             dataBuilder.addData("actor", actorFieldMapper.labels.get(i));
@@ -133,6 +137,18 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
                     _plugin);
         }
         dataBuilder.closeArray();
+    }
+
+    /**
+     * This Helper Method generates a JSON Object with the BPMNElement properties.
+     * <p>
+     * This json object is used on the GLSP Client to generate the EMF JsonForms
+     */
+    @Override
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+
+        createPropertiesData(bpmnElement, dataBuilder);
 
         /*
          * *****************
@@ -152,9 +168,6 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
         schemaBuilder.addArray("plugins");
         schemaBuilder.addProperty("classname", "string", null, null);
 
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
-
         /***********
          * UISchema
          ***********/
@@ -169,10 +182,10 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
     }
 
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
         // we are only interested in category Workflow
-        if (!"Workflow".equals(category)) {
+        if (!handlesCategory(category)) {
             return false;
         }
 
@@ -185,9 +198,8 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
         /***********
          * Update dateobjects
          */
-        List<String> oldDateList = ImixsExtensionUtil.getItemValueList(model, elementNode, "dateobjects");
-        JsonArray dataList = json.getJsonArray("dateobjects");
         List<String> valueList = new ArrayList<>();
+        JsonArray dataList = json.getJsonArray("dateobjects");
         if (dataList != null) {
             for (JsonValue jsonValue : dataList) {
                 JsonObject jsonData = (JsonObject) jsonValue;
@@ -205,29 +217,12 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
                 }
             }
         }
-        // do we have a new valuelist?
-        if (!oldDateList.equals(valueList)) {
-            ImixsExtensionUtil.setItemValueList(model, elementNode, "txttimefieldmapping", "xs:string", valueList,
-                    null);
-            // Reset the model does not work here but it isn't needed at all.
-            // We simple need to iterate over all Events and call the
-            // ImixsBPMNEventACLExtension
-            LinkedHashSet<BPMNElementNode> allACLElements = new LinkedHashSet<BPMNElementNode>();
-            allACLElements.addAll(modelState.getBpmnModel().findAllEvents());
-            ImixsBPMNEventACLExtension aclEventExtension = new ImixsBPMNEventACLExtension();
-            for (BPMNElementNode aclElement : allACLElements) {
-                if (aclEventExtension.handlesBPMNElement(aclElement)) {
-                    GModelElement gTask = modelState.getIndex().get(aclElement.getId())
-                            .orElse(null);
-                    bpmnGModelFactory.applyBPMNElementExtensions(gTask, aclElement);
-                }
-            }
-        }
+        // We only need to refresh the Events referencing a changed time field
+        updateDefinitionList(model, "txttimefieldmapping", valueList, true);
 
         /***********
          * Update actors
          */
-        List<String> oldActorList = ImixsExtensionUtil.getItemValueList(model, elementNode, "txtfieldmapping");
         valueList = new ArrayList<>();
         dataList = json.getJsonArray("actors");
         if (dataList != null) {
@@ -248,33 +243,12 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
                 }
             }
         }
-        // do we have a new valuelist?
-        if (!oldActorList.equals(valueList)) {
-            ImixsExtensionUtil.setItemValueList(model, elementNode, "txtfieldmapping",
-                    "xs:string", valueList, null);
-
-            // Reset the model does not work here but it isn't needed at all.
-            // We simple need to iterate over all Events and Task and call the
-            // ImixsBPMNTaskACLExtension and ImixsBPMNEventACLExtension
-            LinkedHashSet<BPMNElementNode> allACLElements = new LinkedHashSet<BPMNElementNode>();
-            allACLElements.addAll(modelState.getBpmnModel().findAllEvents());
-            allACLElements.addAll(modelState.getBpmnModel().findAllActivities());
-            ImixsBPMNEventACLExtension aclEventExtension = new ImixsBPMNEventACLExtension();
-            ImixsBPMNTaskACLExtension aclTaskExtension = new ImixsBPMNTaskACLExtension();
-            for (BPMNElementNode aclElement : allACLElements) {
-                if (aclEventExtension.handlesBPMNElement(aclElement)
-                        || aclTaskExtension.handlesBPMNElement(aclElement)) {
-                    GModelElement gTask = modelState.getIndex().get(aclElement.getId())
-                            .orElse(null);
-                    bpmnGModelFactory.applyBPMNElementExtensions(gTask, aclElement);
-                }
-            }
-        }
+        // We only need to refresh the Events and Tasks referencing a changed actor
+        updateDefinitionList(model, "txtfieldmapping", valueList, true);
 
         /***********
          * Update Plugin list
          */
-        List<String> oldPluginList = ImixsExtensionUtil.getItemValueList(model, elementNode, "txtplugins");
         valueList = new ArrayList<>();
         dataList = json.getJsonArray("plugins");
         if (dataList != null) {
@@ -286,14 +260,87 @@ public class ImixsBPMNDefinitionsExtension extends ImixsBPMNExtension {
                 }
             }
         }
-        // do we have a new valuelist?
-        if (!oldPluginList.equals(valueList)) {
-            ImixsExtensionUtil.setItemValueList(model, elementNode, "txtplugins",
-                    "xs:string", valueList, null);
-        }
+        // the plugins are not referenced by any element
+        updateDefinitionList(model, "txtplugins", valueList, false);
 
         // update completed
         return false;
     }
 
+    /**
+     * Helper method that updates a definition list (txttimefieldmapping,
+     * txtfieldmapping or txtplugins) of the model definitions. The new list is
+     * compared with the stored list. If values were added, removed or
+     * relabelled, all elements showing the options of a field mapping are
+     * refreshed. A refresh of only the elements referencing a changed value is
+     * not sufficient: the options are part of the schema of each properties
+     * form, and the form stored in the GModel element is only rebuilt by the
+     * method applyBPMNElementExtensions.
+     * 
+     * @param model
+     * @param itemName  - name of the definition list
+     * @param valueList - the new definitions
+     * @param mapping   - true if the list is a field mapping shown as options
+     */
+    private void updateDefinitionList(final BPMNModel model, final String itemName,
+            final List<String> valueList, final boolean mapping) {
+        Element elementNode = model.getDefinitions();
+        ImixsItemDefinitionDiff diff = ImixsItemDefinitionDiff
+                .compare(ImixsExtensionUtil.getItemValueList(model, elementNode, itemName), valueList);
+        // the DOM is only changed for a new valuelist
+        if (!ImixsExtensionUtil.setItemValueList(model, elementNode, itemName, "xs:string", valueList, null)) {
+            return;
+        }
+        if (!diff.isEmpty()) {
+            logger.info("..." + itemName + " changed: " + diff);
+            if (mapping) {
+                refreshElements(findOptionElements(model, itemName));
+            }
+        }
+    }
+
+    /**
+     * Returns all elements showing the options of a field mapping. The actor
+     * field mapping is shown by all Imixs tasks and events, the time field
+     * mapping by all Imixs events.
+     * 
+     * @param model
+     * @param itemName - txtfieldmapping | txttimefieldmapping
+     * @return set of elements - can be empty
+     */
+    static Set<BPMNElementNode> findOptionElements(final BPMNModel model, final String itemName) {
+        Set<BPMNElementNode> result = new LinkedHashSet<BPMNElementNode>();
+        for (BPMNElementNode event : model.findAllEvents()) {
+            if (ImixsExtensionRegistry.isImixsEvent(event)) {
+                result.add(event);
+            }
+        }
+        if ("txtfieldmapping".equals(itemName)) {
+            for (BPMNElementNode task : model.findAllActivities()) {
+                if (ImixsExtensionRegistry.isImixsTask(task)) {
+                    result.add(task);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method that applies the BPMN extensions to the given elements. Reset
+     * the model does not work here but it isn't needed at all.
+     * 
+     * @param elements - elements affected by a field mapping change
+     */
+    protected void refreshElements(final Set<BPMNElementNode> elements) {
+        int count = 0;
+        for (BPMNElementNode element : elements) {
+            GModelElement gNodeElement = modelState.getIndex().get(element.getId()).orElse(null);
+            if (gNodeElement != null) {
+                bpmnGModelFactory.applyBPMNElementExtensions(gNodeElement, element);
+                count++;
+            }
+        }
+        logger.info("...field mapping changed - " + count + " elements refreshed");
+    }
+
 }
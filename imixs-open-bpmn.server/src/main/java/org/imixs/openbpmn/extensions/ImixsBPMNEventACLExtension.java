@@ -21,7 +21,6 @@ import javax.json.JsonObject;
 
 import org.eclipse.glsp.graph.GModelElement;
 import org.openbpmn.bpmn.BPMNTypes;
-import org.openbpmn.bpmn.elements.Event;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.jsonforms.DataBuilder;
 import org.openbpmn.glsp.jsonforms.SchemaBuilder;
@@ -62,15 +61,24 @@ public class ImixsBPMNEventACLExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
-        if (bpmnElement instanceof Event) {
-            Event event = (Event) bpmnElement;
-            if (event.getType().equals(BPMNTypes.CATCH_EVENT)) {
-                if (event.hasAttribute(getNamespace() + ":activityid")) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return ImixsExtensionRegistry.isImixsEvent(bpmnElement);
+    }
+
+    /**
+     * This Extension updates the category ACL only
+     */
+    @Override
+    public boolean handlesCategory(final String category) {
+        return "ACL".equals(category);
+    }
+
+    /**
+     * This Helper Method adds the ACL properties to the JSON data of the
+     * properties form.
+     */
+    @Override
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
+        ImixsExtensionACLHelper.generateACLData(bpmnElement, dataBuilder);
     }
 
     /**
@@ -82,7 +90,7 @@ public class ImixsBPMNEventACLExtension extends ImixsBPMNExtension {
      * ,"namownershipnames", namaddreadaccess, namaddwriteaccess
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
             final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
 
         // generate ACL panel
@@ -93,11 +101,11 @@ public class ImixsBPMNEventACLExtension extends ImixsBPMNExtension {
      * This method updates the BPMN properties
      */
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
         // we are only interested in category Workflow and History
-        if ("ACL".equals(category)) {
+        if (handlesCategory(category)) {
             ImixsExtensionACLHelper.updatePropertiesData(json, category, bpmnElement, gNodeElement);
         }
         return false;
@@ -17,9 +17,7 @@ package org.imixs.openbpmn.extensions;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.json.JsonArray;
@@ -47,6 +45,7 @@ import org.w3c.dom.Element;
 public class ImixsBPMNEventExtension extends ImixsBPMNExtension {
 
     private static Logger logger = Logger.getLogger(ImixsBPMNEventExtension.class.getName());
+    private static final String[] PUBLIC_EVENT_OPTIONS = { "Yes|1", "No|0" };
 
     public ImixsBPMNEventExtension() {
         super();
@@ -73,44 +72,42 @@ public class ImixsBPMNEventExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
+        return ImixsExtensionRegistry.isImixsEvent(bpmnElement);
+    }
 
-        if (bpmnElement instanceof Event) {
-            Event event = (Event) bpmnElement;
-            if (event.getType().equals(BPMNTypes.CATCH_EVENT)) {
-                if (event.hasAttribute(getNamespace() + ":activityid")) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    /**
+     * This Extension updates the category Workflow only
+     */
+    @Override
+    public boolean handlesCategory(final String category) {
+        return "Workflow".equals(category);
     }
 
     /**
-     * This method adds a unique identifier to the corresponding BPMNElement
+     * This method adds a unique identifier to the corresponding BPMNElement. The
+     * activityid is the next free activityid of the source tasks, or 10 if the
+     * event is not yet connected. In this case the {@link ImixsIdIndex} assigns
+     * the next free activityid when the event is connected to a task already
+     * using this activityid.
      */
     @Override
     public void addExtension(final BPMNElement bpmnElement) {
         if (bpmnElement instanceof Event) {
-            bpmnElement.setExtensionAttribute(getNamespace(), "activityid", "10");
+            int activityId = ImixsIdIndex.getInstance(bpmnElement.getModel()).nextActivityId(bpmnElement.getId());
+            bpmnElement.setExtensionAttribute(getNamespace(), "activityid", "" + activityId);
+            ImixsIdIndex.keyChanged(bpmnElement.getModel(), bpmnElement.getElementNode());
         }
     }
 
     /**
-     * This Helper Method generates a JSON Object with the BPMNElement properties.
-     * <p>
-     * This json object is used on the GLSP Client to generate the EMF JsonForms
+     * This Helper Method adds the BPMNElement properties to the JSON data of the
+     * properties form.
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
-            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
-
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
         BPMNModel model = bpmnElement.getModel();
         Element elementNode = bpmnElement.getElementNode();
-        ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
-
-        /***********
-         * Data
-         */
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
         dataBuilder //
                 .addData("activityid", bpmnElement.getExtensionAttribute(getNamespace(), "activityid")) //
                 .addData("txtactivityresult",
@@ -122,55 +119,63 @@ public class ImixsBPMNEventExtension extends ImixsBPMNExtension {
                 .addDataList("keyrestrictedvisibility",
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
                                 "keyrestrictedvisibility",
-                                actorFieldMapper.getValues())) //
+                                actorFieldMapper.getValueSet())) //
                 .addData("$readaccess", String.join(System.lineSeparator(),
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
                                 "$readaccess")));
 
+    }
+
+    /**
+     * This Helper Method generates a JSON Object with the BPMNElement properties.
+     * <p>
+     * This json object is used on the GLSP Client to generate the EMF JsonForms
+     */
+    @Override
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+
+        BPMNModel model = bpmnElement.getModel();
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
+
+        /***********
+         * Data
+         */
+        createPropertiesData(bpmnElement, dataBuilder);
         /***********
          * Schema
          */
         // fetch the actorItem definitions from the model definition
-        Element definitionsElementNode = model.getDefinitions();
-        List<String> actorItemDefs = ImixsExtensionUtil.getItemValueList(model, definitionsElementNode,
-                "txtfieldmapping");
-        String[] actorItemDefsArray = actorItemDefs.toArray(String[]::new);
-        String[] publicEventOptions = { "Yes|1", "No|0" };
+        List<String> actorItemDefs = actorFieldMapper.getItemDefinitions();
+        String[] actorItemDefsArray = actorFieldMapper.getItemDefinitionsArray();
         schemaBuilder //
                 .addProperty("activityid", "string", null) //
                 .addProperty("txtactivityresult", "string",
                         "Optional Execution Result. Additional item values can be defined here. ") //
                 .addProperty("keypublicresult", "string",
                         "Show Event as an Action in the Application UI",
-                        publicEventOptions) //
+                        PUBLIC_EVENT_OPTIONS) //
                 .addProperty("keyrestrictedvisibility", "string", "", actorItemDefsArray) //
                 .addProperty("$readaccess", "string", "Add multiple entries in separate lines.");
 
         /***********
          * UISchema
          */
-        Map<String, String> selectItemOption = new HashMap<>();
-        selectItemOption.put("format", "selectitem");
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
-        Map<String, String> selectVertical = new HashMap<>();
-        selectVertical.put("format", "selectitem");
-        selectVertical.put("orientation", "vertical");
         uiSchemaBuilder //
                 .addCategory("Workflow") //
                 .addLayout(Layout.HORIZONTAL) //
                 .addElement("activityid", "Event ID", null) //
-                .addElement("keypublicresult", "Pubilc Event", selectItemOption) //
+                .addElement("keypublicresult", "Pubilc Event", SELECTITEM_OPTION) //
                 .addLayout(Layout.VERTICAL) //
-                .addElement("txtactivityresult", "Workflow Result", multilineOption);
+                .addElement("txtactivityresult", "Workflow Result", MULTILINE_OPTION);
 
         uiSchemaBuilder.addLayout(Layout.HORIZONTAL); //
         if (actorItemDefs != null && actorItemDefs.size() > 0) {
             uiSchemaBuilder.addElement("keyrestrictedvisibility", "Restrict Visibility to Actors",
-                    selectVertical);
+                    SELECTITEM_VERTICAL_OPTION);
         }
 
-        uiSchemaBuilder.addElement("$readaccess", "Restrict Read Access", multilineOption);
+        uiSchemaBuilder.addElement("$readaccess", "Restrict Read Access", MULTILINE_OPTION);
 
     }
 
@@ -179,18 +184,22 @@ public class ImixsBPMNEventExtension extends ImixsBPMNExtension {
      * The processID is also updated for the frontend.
      */
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
         // we are only interested in category Workflow and History
-        if ("Workflow".equals(category)) {
+        if (handlesCategory(category)) {
 
             BPMNModel model = bpmnElement.getModel();
             Element elementNode = bpmnElement.getElementNode();
-            ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
+            ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
 
-            bpmnElement.setExtensionAttribute(getNamespace(), "activityid",
-                    json.getString("activityid", "0"));
+            String newActivityId = json.getString("activityid", "0");
+            if (!newActivityId.equals(bpmnElement.getExtensionAttribute(getNamespace(), "activityid"))) {
+                bpmnElement.setExtensionAttribute(getNamespace(), "activityid", newActivityId);
+                updateIdIndex(bpmnElement);
+                ImixsChangeSet.keyChanged(model, elementNode);
+            }
             ImixsExtensionUtil.setItemValue(model, elementNode, "txtactivityresult", "xs:string",
                     json.getString("txtactivityresult", ""));
             ImixsExtensionUtil.setItemValue(model, elementNode, "keypublicresult", "xs:string",
@@ -204,7 +213,7 @@ public class ImixsBPMNEventExtension extends ImixsBPMNExtension {
             }
             ImixsExtensionUtil.setItemValueList(model, elementNode, "keyrestrictedvisibility", "xs:string",
                     keyBaseObject,
-                    actorFieldMapper.getValues());
+                    actorFieldMapper.getValueSet());
 
             // $readAccess
             String otherValue = json.getString("$readaccess", "");
@@ -15,8 +15,6 @@
  ********************************************************************************/
 package org.imixs.openbpmn.extensions;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.json.JsonObject;
@@ -24,7 +22,6 @@ import javax.json.JsonObject;
 import org.eclipse.glsp.graph.GModelElement;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.BPMNTypes;
-import org.openbpmn.bpmn.elements.Event;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.jsonforms.DataBuilder;
 import org.openbpmn.glsp.jsonforms.SchemaBuilder;
@@ -66,16 +63,27 @@ public class ImixsBPMNEventHistoryExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
+        return ImixsExtensionRegistry.isImixsEvent(bpmnElement);
+    }
 
-        if (bpmnElement instanceof Event) {
-            Event event = (Event) bpmnElement;
-            if (event.getType().equals(BPMNTypes.CATCH_EVENT)) {
-                if (event.hasAttribute(getNamespace() + ":activityid")) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    /**
+     * This Extension updates the category History only
+     */
+    @Override
+    public boolean handlesCategory(final String category) {
+        return "History".equals(category);
+    }
+
+    /**
+     * This Helper Method adds the BPMNElement properties to the JSON data of the
+     * properties form.
+     */
+    @Override
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
+        BPMNModel model = bpmnElement.getModel();
+        Element elementNode = bpmnElement.getElementNode();
+        dataBuilder //
+                .addData("rtfresultlog", getItemContent(model, elementNode, "rtfresultlog")); //
     }
 
     /**
@@ -84,18 +92,13 @@ public class ImixsBPMNEventHistoryExtension extends ImixsBPMNExtension {
      * This json object is used on the GLSP Client to generate the EMF JsonForms
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
             final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
 
-        BPMNModel model = bpmnElement.getModel();
-        Element elementNode = bpmnElement.getElementNode();
-
         /***********
          * Data
          */
-        dataBuilder //
-                .addData("rtfresultlog",
-                        ImixsExtensionUtil.getItemValueString(model, elementNode, "rtfresultlog")); //
+        createPropertiesData(bpmnElement, dataBuilder);
 
         /***********
          * Schema
@@ -106,11 +109,9 @@ public class ImixsBPMNEventHistoryExtension extends ImixsBPMNExtension {
         /***********
          * UISchema
          */
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
         uiSchemaBuilder //
                 .addCategory("History") //
-                .addElement("rtfresultlog", "Log Entry", multilineOption);
+                .addElement("rtfresultlog", "Log Entry", MULTILINE_OPTION);
 
     }
 
@@ -119,15 +120,14 @@ public class ImixsBPMNEventHistoryExtension extends ImixsBPMNExtension {
      * The processID is also updated for the frontend.
      */
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
         // we are only interested in category Workflow and History
-        if ("History".equals(category)) {
+        if (handlesCategory(category)) {
             BPMNModel model = bpmnElement.getModel();
             Element elementNode = bpmnElement.getElementNode();
-            ImixsExtensionUtil.setItemValue(model, elementNode, "rtfresultlog", "xs:string",
-                    json.getString("rtfresultlog", ""));
+            setItemContent(model, elementNode, "rtfresultlog", json.getString("rtfresultlog", ""));
         }
         return false;
     }
@@ -17,9 +17,7 @@ package org.imixs.openbpmn.extensions;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.json.JsonArray;
@@ -30,7 +28,6 @@ import javax.json.JsonValue;
 import org.eclipse.glsp.graph.GModelElement;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.BPMNTypes;
-import org.openbpmn.bpmn.elements.Event;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.jsonforms.DataBuilder;
 import org.openbpmn.glsp.jsonforms.SchemaBuilder;
@@ -73,56 +70,42 @@ public class ImixsBPMNEventMailExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
-        if (bpmnElement instanceof Event) {
-            Event event = (Event) bpmnElement;
-            if (event.getType().equals(BPMNTypes.CATCH_EVENT)) {
-                if (event.hasAttribute(getNamespace() + ":activityid")) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return ImixsExtensionRegistry.isImixsEvent(bpmnElement);
     }
 
     /**
-     * This Helper Method generates a JSON Object with the BPMNElement properties.
-     * <p>
-     * This json object is used on the GLSP Client to generate the JsonForms
-     * <p>
-     * keyupdateacl, keyownershipfields, keyaddwritefields, keyaddreadfields
-     * ,"namownershipnames", namaddreadaccess, namaddwriteaccess
+     * This Extension updates the category Message only
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
-            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+    public boolean handlesCategory(final String category) {
+        return "Message".equals(category);
+    }
 
-        // generate Mail panel
+    /**
+     * This Helper Method adds the BPMNElement properties to the JSON data of the
+     * properties form.
+     */
+    @Override
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
         BPMNModel model = bpmnElement.getModel();
         Element elementNode = bpmnElement.getElementNode();
-
-        ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
-
-        /***********
-         * Data
-         */
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
         dataBuilder //
                 .addData("txtmailsubject",
                         ImixsExtensionUtil.getItemValueString(model, elementNode,
                                 "txtmailsubject")) //
-                .addData("rtfmailbody",
-                        ImixsExtensionUtil.getItemValueString(model, elementNode,
-                                "rtfmailbody")) //
+                .addData("rtfmailbody", getItemContent(model, elementNode, "rtfmailbody")) //
                 .addDataList("keymailreceiverfields",
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
-                                "keymailreceiverfields", actorFieldMapper.getValues())) //
+                                "keymailreceiverfields", actorFieldMapper.getValueSet())) //
                 .addDataList("keymailreceiverfieldscc",
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
                                 "keymailreceiverfieldscc",
-                                actorFieldMapper.getValues())) //
+                                actorFieldMapper.getValueSet())) //
                 .addDataList("keymailreceiverfieldsbcc",
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
                                 "keymailreceiverfieldsbcc",
-                                actorFieldMapper.getValues())) //
+                                actorFieldMapper.getValueSet())) //
                 .addData("nammailreceiver", String.join(System.lineSeparator(),
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
                                 "nammailreceiver"))) //
@@ -133,12 +116,34 @@ public class ImixsBPMNEventMailExtension extends ImixsBPMNExtension {
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
                                 "nammailreceiverbcc"))) //
         ;
+    }
+
+    /**
+     * This Helper Method generates a JSON Object with the BPMNElement properties.
+     * <p>
+     * This json object is used on the GLSP Client to generate the JsonForms
+     * <p>
+     * keyupdateacl, keyownershipfields, keyaddwritefields, keyaddreadfields
+     * ,"namownershipnames", namaddreadaccess, namaddwriteaccess
+     */
+    @Override
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+
+        // generate Mail panel
+        BPMNModel model = bpmnElement.getModel();
+
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
 
         /***********
-         * Schema
+         * Data
          */
+        createPropertiesData(bpmnElement, dataBuilder);
 
-        String[] actorItemDefsArray = actorFieldMapper.getItemDefinitions().toArray(String[]::new);
+        /***********
+         * Schema
+         */
+        String[] actorItemDefsArray = actorFieldMapper.getItemDefinitionsArray();
         schemaBuilder //
                 .addProperty("txtmailsubject", "string", "") //
                 .addProperty("rtfmailbody", "string",
@@ -154,12 +159,6 @@ public class ImixsBPMNEventMailExtension extends ImixsBPMNExtension {
         /***********
          * UISchema
          */
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
-        Map<String, String> selectVertical = new HashMap<>();
-        selectVertical.put("format", "selectitem");
-        selectVertical.put("orientation", "vertical");
-
         uiSchemaBuilder //
                 .addCategory("Message") //
                 .addElement("txtmailsubject", "Subject", null) //
@@ -168,16 +167,16 @@ public class ImixsBPMNEventMailExtension extends ImixsBPMNExtension {
         if (actorFieldMapper.getItemDefinitions() != null && actorFieldMapper.getItemDefinitions().size() > 0) {
             uiSchemaBuilder //
                     .addLayout(Layout.HORIZONTAL) //
-                    .addElement("keymailreceiverfields", "To", selectVertical)
-                    .addElement("keymailreceiverfieldscc", "CC", selectVertical)
-                    .addElement("keymailreceiverfieldsbcc", "BCC", selectVertical);
+                    .addElement("keymailreceiverfields", "To", SELECTITEM_VERTICAL_OPTION)
+                    .addElement("keymailreceiverfieldscc", "CC", SELECTITEM_VERTICAL_OPTION)
+                    .addElement("keymailreceiverfieldsbcc", "BCC", SELECTITEM_VERTICAL_OPTION);
         }
 
         uiSchemaBuilder //
                 .addLayout(Layout.HORIZONTAL) //
-                .addElement("nammailreceiver", "Others", multilineOption) //
-                .addElement("nammailreceivercc", "Others", multilineOption) //
-                .addElement("nammailreceiverbcc", "Others", multilineOption);
+                .addElement("nammailreceiver", "Others", MULTILINE_OPTION) //
+                .addElement("nammailreceivercc", "Others", MULTILINE_OPTION) //
+                .addElement("nammailreceiverbcc", "Others", MULTILINE_OPTION);
 
     }
 
@@ -185,22 +184,21 @@ public class ImixsBPMNEventMailExtension extends ImixsBPMNExtension {
      * This method updates the BPMN properties
      */
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
         // we are only interested in category Message
-        if ("Message".equals(category)) {
+        if (handlesCategory(category)) {
 
             BPMNModel model = bpmnElement.getModel();
             Element elementNode = bpmnElement.getElementNode();
 
-            ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
+            ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
 
             // subject / body
             ImixsExtensionUtil.setItemValue(model, elementNode, "txtmailsubject", "xs:string",
                     json.getString("txtmailsubject", ""));
-            ImixsExtensionUtil.setItemValue(model, elementNode, "rtfmailbody", "xs:string",
-                    json.getString("rtfmailbody", ""));
+            setItemContent(model, elementNode, "rtfmailbody", json.getString("rtfmailbody", ""));
 
             // set the Checkbox Key Properties.
             // For each property a for-each loop is used to iterate over the JsonValue
@@ -219,7 +217,7 @@ public class ImixsBPMNEventMailExtension extends ImixsBPMNExtension {
                 }
                 ImixsExtensionUtil.setItemValueList(model, elementNode, property, "xs:string",
                         keyBaseObject,
-                        actorFieldMapper.getValues());
+                        actorFieldMapper.getValueSet());
             }
 
             // Set the other names.
@@ -15,8 +15,6 @@
  ********************************************************************************/
 package org.imixs.openbpmn.extensions;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.json.JsonObject;
@@ -24,7 +22,6 @@ import javax.json.JsonObject;
 import org.eclipse.glsp.graph.GModelElement;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.BPMNTypes;
-import org.openbpmn.bpmn.elements.Event;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.jsonforms.DataBuilder;
 import org.openbpmn.glsp.jsonforms.SchemaBuilder;
@@ -51,6 +48,7 @@ import org.w3c.dom.Element;
 public class ImixsBPMNEventReportExtension extends ImixsBPMNExtension {
 
     private static Logger logger = Logger.getLogger(ImixsBPMNEventRuleExtension.class.getName());
+    private static final String[] TARGET_OPTIONS = { "Attach to Workitem|0", "External|2" };
 
     public ImixsBPMNEventReportExtension() {
         super();
@@ -77,33 +75,25 @@ public class ImixsBPMNEventReportExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
-
-        if (bpmnElement instanceof Event) {
-            Event event = (Event) bpmnElement;
-            if (event.getType().equals(BPMNTypes.CATCH_EVENT)) {
-                if (event.hasAttribute(getNamespace() + ":activityid")) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return ImixsExtensionRegistry.isImixsEvent(bpmnElement);
     }
 
     /**
-     * This Helper Method generates a JSON Object with the BPMNElement properties.
-     * <p>
-     * This json object is used on the GLSP Client to generate the EMF JsonForms
+     * This Extension updates the category Report only
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
-            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+    public boolean handlesCategory(final String category) {
+        return "Report".equals(category);
+    }
 
+    /**
+     * This Helper Method adds the BPMNElement properties to the JSON data of the
+     * properties form.
+     */
+    @Override
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
         BPMNModel model = bpmnElement.getModel();
         Element elementNode = bpmnElement.getElementNode();
-
-        /***********
-         * Data
-         */
         dataBuilder //
                 .addData("txtreportname", ImixsExtensionUtil.getItemValueString(model, elementNode, "txtreportname"))//
                 .addData("txtreportfilepath",
@@ -113,10 +103,24 @@ public class ImixsBPMNEventReportExtension extends ImixsBPMNExtension {
                 .addData("txtreporttarget",
                         ImixsExtensionUtil.getItemValueString(model, elementNode,
                                 "txtreporttarget", "0"));
+    }
+
+    /**
+     * This Helper Method generates a JSON Object with the BPMNElement properties.
+     * <p>
+     * This json object is used on the GLSP Client to generate the EMF JsonForms
+     */
+    @Override
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+
+        /***********
+         * Data
+         */
+        createPropertiesData(bpmnElement, dataBuilder);
         /***********
          * Schema
          */
-        String[] targetOptions = { "Attach to Workitem|0", "External|2" };
         schemaBuilder //
                 .addProperty("txtreportname", "string",
                         "Define an optional report definition. A report definition can be processed by a plugin or adapter class. ")//
@@ -124,23 +128,19 @@ public class ImixsBPMNEventReportExtension extends ImixsBPMNExtension {
                         "Optional path to store the report result.  ") //
                 .addProperty("txtreportoptions", "string", null) //
                 .addProperty("txtreporttarget", "string",
-                        "Target to store the report result object.", targetOptions);
+                        "Target to store the report result object.", TARGET_OPTIONS);
 
         /***********
          * UISchema
          */
-        Map<String, String> selectItemOption = new HashMap<>();
-        selectItemOption.put("format", "selectitem");
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
         uiSchemaBuilder //
                 .addCategory("Report") //
 
                 .addLayout(Layout.VERTICAL) //
                 .addElement("txtreportname", "Report Name", null) //
                 .addElement("txtreportfilepath", "Filename", null) //
-                .addElement("txtreporttarget", "Target", selectItemOption) //
-                .addElement("txtreportoptions", "Options", multilineOption);
+                .addElement("txtreporttarget", "Target", SELECTITEM_OPTION) //
+                .addElement("txtreportoptions", "Options", MULTILINE_OPTION);
 
     }
 
@@ -149,11 +149,11 @@ public class ImixsBPMNEventReportExtension extends ImixsBPMNExtension {
      * The processID is also updated for the frontend.
      */
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
         // we are only interested in category Workflow and History
-        if ("Report".equals(category)) {
+        if (handlesCategory(category)) {
             BPMNModel model = bpmnElement.getModel();
             Element elementNode = bpmnElement.getElementNode();
 
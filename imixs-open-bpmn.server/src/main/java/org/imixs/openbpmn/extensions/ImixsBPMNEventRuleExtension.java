@@ -15,8 +15,6 @@
  ********************************************************************************/
 package org.imixs.openbpmn.extensions;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.json.JsonObject;
@@ -24,7 +22,6 @@ import javax.json.JsonObject;
 import org.eclipse.glsp.graph.GModelElement;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.BPMNTypes;
-import org.openbpmn.bpmn.elements.Event;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.jsonforms.DataBuilder;
 import org.openbpmn.glsp.jsonforms.SchemaBuilder;
@@ -66,16 +63,29 @@ public class ImixsBPMNEventRuleExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
+        return ImixsExtensionRegistry.isImixsEvent(bpmnElement);
+    }
 
-        if (bpmnElement instanceof Event) {
-            Event event = (Event) bpmnElement;
-            if (event.getType().equals(BPMNTypes.CATCH_EVENT)) {
-                if (event.hasAttribute(getNamespace() + ":activityid")) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    /**
+     * This Extension updates the category Business Rule only
+     */
+    @Override
+    public boolean handlesCategory(final String category) {
+        return "Business Rule".equals(category);
+    }
+
+    /**
+     * This Helper Method adds the BPMNElement properties to the JSON data of the
+     * properties form.
+     */
+    @Override
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
+        BPMNModel model = bpmnElement.getModel();
+        Element elementNode = bpmnElement.getElementNode();
+        dataBuilder //
+                .addData("txtbusinessruleengine",
+                        ImixsExtensionUtil.getItemValueString(model, elementNode, "txtbusinessruleengine")) //
+                .addData("txtbusinessrule", getItemContent(model, elementNode, "txtbusinessrule"));
     }
 
     /**
@@ -84,20 +94,13 @@ public class ImixsBPMNEventRuleExtension extends ImixsBPMNExtension {
      * This json object is used on the GLSP Client to generate the EMF JsonForms
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
             final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
 
-        BPMNModel model = bpmnElement.getModel();
-        Element elementNode = bpmnElement.getElementNode();
-
         /***********
          * Data
          */
-        dataBuilder //
-                .addData("txtbusinessruleengine",
-                        ImixsExtensionUtil.getItemValueString(model, elementNode, "txtbusinessruleengine")) //
-                .addData("txtbusinessrule",
-                        ImixsExtensionUtil.getItemValueString(model, elementNode, "txtbusinessrule"));
+        createPropertiesData(bpmnElement, dataBuilder);
 
         /***********
          * Schema
@@ -111,8 +114,6 @@ public class ImixsBPMNEventRuleExtension extends ImixsBPMNExtension {
         /***********
          * UISchema
          */
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
         uiSchemaBuilder //
                 .addCategory("Business Rule") //
                 .addElement("txtbusinessruleengine", "Engine", null) //
@@ -125,18 +126,18 @@ public class ImixsBPMNEventRuleExtension extends ImixsBPMNExtension {
      * The processID is also updated for the frontend.
      */
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
         // we are only interested in category Workflow and History
-        if ("Business Rule".equals(category)) {
+        if (handlesCategory(category)) {
             BPMNModel model = bpmnElement.getModel();
             Element elementNode = bpmnElement.getElementNode();
 
             // Rules
             ImixsExtensionUtil.setItemValue(model, elementNode, "txtbusinessruleengine", "xs:string",
                     json.getString("txtbusinessruleengine", ""));
-            ImixsExtensionUtil.setItemValue(model, elementNode, "txtbusinessrule", "xs:string",
+            setItemContent(model, elementNode, "txtbusinessrule",
                     json.getString("txtbusinessrule", ""));
         }
         return false;
@@ -15,8 +15,6 @@
  ********************************************************************************/
 package org.imixs.openbpmn.extensions;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.json.JsonObject;
@@ -24,7 +22,6 @@ import javax.json.JsonObject;
 import org.eclipse.glsp.graph.GModelElement;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.BPMNTypes;
-import org.openbpmn.bpmn.elements.Event;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.jsonforms.DataBuilder;
 import org.openbpmn.glsp.jsonforms.SchemaBuilder;
@@ -41,6 +38,9 @@ import org.w3c.dom.Element;
 public class ImixsBPMNEventSchedulerExtension extends ImixsBPMNExtension {
 
 	private static Logger logger = Logger.getLogger(ImixsBPMNEventSchedulerExtension.class.getName());
+	private static final String[] ENABLED_OPTIONS = { "Yes|1", "No|0" };
+	private static final String[] REF_OPTIONS = { "Last Event|1", "Last Modified|2", "Creation Date|3", "Reference|4" };
+	private static final String[] KEY_UNITS = { "Minutes|1", "Hours|2", "Days|3", "Workdays|4" };
 
 	public ImixsBPMNEventSchedulerExtension() {
 		super();
@@ -67,36 +67,25 @@ public class ImixsBPMNEventSchedulerExtension extends ImixsBPMNExtension {
 	 */
 	@Override
 	public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
-
-		if (bpmnElement instanceof Event) {
-			Event event = (Event) bpmnElement;
-			if (event.getType().equals(BPMNTypes.CATCH_EVENT)) {
-				if (event.hasAttribute(getNamespace() + ":activityid")) {
-					return true;
-				}
-			}
-		}
-		return false;
+		return ImixsExtensionRegistry.isImixsEvent(bpmnElement);
 	}
 
 	/**
-	 * This Helper Method generates a JSON Object with the BPMNElement properties.
-	 * <p>
-	 * This json object is used on the GLSP Client to generate the EMF JsonForms
-	 * <p>
-	 * keyscheduledactivity, txtscheduledview, numactivitydelay
-	 * ,"keyscheduledbaseobject", keytimecomparefield, keyactivitydelayunit
+	 * This Extension updates the category Scheduler only
 	 */
 	@Override
-	public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
-			final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+	public boolean handlesCategory(final String category) {
+		return "Scheduler".equals(category);
+	}
 
+	/**
+	 * This Helper Method adds the BPMNElement properties to the JSON data of the
+	 * properties form.
+	 */
+	@Override
+	protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
 		BPMNModel model = bpmnElement.getModel();
 		Element elementNode = bpmnElement.getElementNode();
-
-		/***********
-		 * Data
-		 */
 		dataBuilder //
 				.addData("keyscheduledactivity",
 						ImixsExtensionUtil.getItemValueString(model, elementNode,
@@ -116,49 +105,55 @@ public class ImixsBPMNEventSchedulerExtension extends ImixsBPMNExtension {
 				.addData("txtscheduledview",
 						ImixsExtensionUtil.getItemValueString(model, elementNode,
 								"txtscheduledview")); //
+	}
 
-		ImixsItemNameMapper timeFieldMapper = new ImixsItemNameMapper(model, "txttimefieldmapping");
+	/**
+	 * This Helper Method generates a JSON Object with the BPMNElement properties.
+	 * <p>
+	 * This json object is used on the GLSP Client to generate the EMF JsonForms
+	 * <p>
+	 * keyscheduledactivity, txtscheduledview, numactivitydelay
+	 * ,"keyscheduledbaseobject", keytimecomparefield, keyactivitydelayunit
+	 */
+	@Override
+	protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+			final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+
+		BPMNModel model = bpmnElement.getModel();
 
 		/***********
-		 * Schema
+		 * Data
 		 */
-		String[] enabledOption = { "Yes|1", "No|0" };
-		String[] refOption = { "Last Event|1", "Last Modified|2", "Creation Date|3", "Reference|4" };
-		String[] keyUnits = { "Minutes|1", "Hours|2", "Days|3", "Workdays|4" };
-		// String[] timeFields = itemTimeMapping.getLabelsArray();
+		createPropertiesData(bpmnElement, dataBuilder);
+
+		ImixsItemNameMapper timeFieldMapper = ImixsItemNameMapper.getInstance(model, "txttimefieldmapping");
 
-		String[] timeFields = timeFieldMapper.getItemDefinitions().toArray(String[]::new);
+		/***********
+		 * Schema
+		 */
+		String[] timeFields = timeFieldMapper.getItemDefinitionsArray();
 		schemaBuilder //
-				.addProperty("keyscheduledactivity", "string", "", enabledOption)
+				.addProperty("keyscheduledactivity", "string", "", ENABLED_OPTIONS)
 				.addProperty("numactivitydelay", "string", "") //
-				.addProperty("keyactivitydelayunit", "string", "", keyUnits) //
-				.addProperty("keyscheduledbaseobject", "string", "", refOption) //
+				.addProperty("keyactivitydelayunit", "string", "", KEY_UNITS) //
+				.addProperty("keyscheduledbaseobject", "string", "", REF_OPTIONS) //
 				.addProperty("keytimecomparefield", "string", "", timeFields) //
 				.addProperty("txtscheduledview", "string", ""); //
 
 		/***********
 		 * UISchema
 		 */
-		Map<String, String> selectVertical = new HashMap<>();
-		selectVertical.put("format", "selectitem");
-		// selectVertical.put("orientation", "vertical");
-		Map<String, String> selectHorizontal = new HashMap<>();
-		selectHorizontal.put("format", "selectitem");
-
-		Map<String, String> selectCombo = new HashMap<>();
-		selectCombo.put("format", "selectitemcombo");
-
 		// Map<String, String> comboOption = new HashMap<>();
 		// comboOption.put("format", "combo");
 		uiSchemaBuilder //
 				.addCategory("Scheduler") //
 				.addLayout(Layout.HORIZONTAL) //
-				.addElement("keyscheduledactivity", "Enabled", selectHorizontal)
+				.addElement("keyscheduledactivity", "Enabled", SELECTITEM_OPTION)
 				.addElement("numactivitydelay", "Delay", null)
-				.addElement("keyactivitydelayunit", "Unit", selectCombo)
+				.addElement("keyactivitydelayunit", "Unit", SELECTITEM_COMBO_OPTION)
 				.addLayout(Layout.HORIZONTAL) //
-				.addElement("keyscheduledbaseobject", "A Time Base Object", selectVertical) //
-				.addElement("keytimecomparefield", "Item Reference", selectCombo) //
+				.addElement("keyscheduledbaseobject", "A Time Base Object", SELECTITEM_OPTION) //
+				.addElement("keytimecomparefield", "Item Reference", SELECTITEM_COMBO_OPTION) //
 				.addLayout(Layout.HORIZONTAL) //
 				.addElement("txtscheduledview", "Selection", null);
 	}
@@ -167,11 +162,11 @@ public class ImixsBPMNEventSchedulerExtension extends ImixsBPMNExtension {
 	 * This method updates the BPMN properties
 	 */
 	@Override
-	public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-			final GModelElement gNodeElement) {
+	protected boolean applyPropertiesData(final JsonObject json, final String category,
+			final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
 		// we are only interested in category Workflow and History
-		if ("Scheduler".equals(category)) {
+		if (handlesCategory(category)) {
 			BPMNModel model = bpmnElement.getModel();
 			Element elementNode = bpmnElement.getElementNode();
 
@@ -15,15 +15,23 @@
  ********************************************************************************/
 package org.imixs.openbpmn.extensions;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
+import javax.json.JsonObject;
+
+import org.eclipse.glsp.graph.GModelElement;
+import org.imixs.openbpmn.metrics.ImixsMetrics;
 import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.ModelNotification;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.extensions.BPMNElementExtension;
+import org.openbpmn.glsp.jsonforms.DataBuilder;
+import org.openbpmn.glsp.jsonforms.SchemaBuilder;
+import org.openbpmn.glsp.jsonforms.UISchemaBuilder;
 import org.w3c.dom.Element;
 
 /**
@@ -36,6 +44,14 @@ public abstract class ImixsBPMNExtension implements BPMNElementExtension {
 
     private static Logger logger = Logger.getLogger(ImixsBPMNExtension.class.getName());
 
+    // immutable JSONForms UI Schema options shared by all extensions
+    static final Map<String, String> MULTILINE_OPTION = Map.of("multi", "true");
+    static final Map<String, String> FILE_EDITOR_OPTION = Map.of("format", "textFileEditor");
+    static final Map<String, String> SELECTITEM_OPTION = Map.of("format", "selectitem");
+    static final Map<String, String> SELECTITEM_VERTICAL_OPTION = Map.of("format", "selectitem", "orientation",
+            "vertical");
+    static final Map<String, String> SELECTITEM_COMBO_OPTION = Map.of("format", "selectitemcombo");
+
     public ImixsBPMNExtension() {
         super();
     }
@@ -109,15 +125,154 @@ public abstract class ImixsBPMNExtension implements BPMNElementExtension {
 
     }
 
+    /**
+     * Adds the properties form of this extension for the given element. The form
+     * is built by the method {@link #createPropertiesForm}. Latency and DOM
+     * lookups are recorded by the {@link ImixsMetrics}.
+     */
+    @Override
+    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+        long start = System.nanoTime();
+        long lookups = ImixsMetrics.getDomLookups();
+        createPropertiesForm(bpmnElement, dataBuilder, schemaBuilder, uiSchemaBuilder);
+        ImixsMetrics.getInstance().record(getClass().getSimpleName() + ".buildPropertiesForm", start, lookups);
+    }
+
+    /**
+     * This Helper Method generates the JSON Objects with the BPMNElement
+     * properties.
+     * <p>
+     * The form must only depend on the element and the extensionElements of the
+     * model definitions, as the built form is cached by the
+     * {@link ImixsFormCache}.
+     */
+    protected abstract void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder);
+
+    /**
+     * Adds only the property data of this extension for the given element,
+     * without the schema and uischema. The data is built by the method
+     * {@link #createPropertiesData}. This method is used to merge a partial
+     * update with the current data of an element.
+     */
+    public void buildPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
+        long start = System.nanoTime();
+        long lookups = ImixsMetrics.getDomLookups();
+        createPropertiesData(bpmnElement, dataBuilder);
+        ImixsMetrics.getInstance().record(getClass().getSimpleName() + ".buildPropertiesData", start, lookups);
+    }
+
+    /**
+     * This Helper Method generates the JSON data with the BPMNElement properties.
+     * The data must match the data added by the method
+     * {@link #createPropertiesForm}.
+     */
+    protected abstract void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder);
+
+    /**
+     * Updates the BPMN element with the JSON data of the properties form. The
+     * update is done by the method {@link #applyPropertiesData}. If the caller
+     * opened an {@link ImixsChangeSet}, the changes are recorded in the change
+     * set. Latency and DOM lookups are recorded by the {@link ImixsMetrics}.
+     */
+    @Override
+    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
+            final GModelElement gNodeElement) {
+        long start = System.nanoTime();
+        long lookups = ImixsMetrics.getDomLookups();
+        try {
+            return applyPropertiesData(json, category, bpmnElement, gNodeElement);
+        } finally {
+            ImixsMetrics.getInstance().record(getClass().getSimpleName() + ".updatePropertiesData", start, lookups);
+        }
+    }
+
+    /**
+     * This method updates the BPMN element with the JSON data of a properties
+     * category.
+     *
+     * @return true if the GModel of the element needs to be refreshed
+     */
+    protected abstract boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement);
+
+    /**
+     * Returns true if the extension updates the given category of the properties
+     * form. Extensions not handling a category can be skipped before the
+     * properties form is built.
+     * 
+     * @param category - category of the properties form
+     */
+    public abstract boolean handlesCategory(final String category);
+
+    /**
+     * Helper method updates the {@link ImixsIdIndex} after the imixs:processid or
+     * imixs:activityid of an element was changed. If the new id is already used
+     * in the same scope, a warning is added to the model notifications.
+     * 
+     * @param bpmnElement - task or event
+     */
+    void updateIdIndex(final BPMNElement bpmnElement) {
+        BPMNModel model = bpmnElement.getModel();
+        ImixsIdIndex.keyChanged(model, bpmnElement.getElementNode());
+        if (ImixsIdIndex.getInstance(model).isDuplicate(bpmnElement.getId())) {
+            logger.warning("...duplicate id in element '" + bpmnElement.getId() + "'");
+            model.getNotifications().add(new ModelNotification(ModelNotification.Severity.WARNING,
+                    "Duplicate Id!", "The Id of the element '" + bpmnElement.getName() + "' is already in use!"));
+        }
+    }
+
+    /**
+     * Helper method returns the content of an item which can link to a file. If
+     * the item value is a file:// link, the linked content is resolved by the
+     * {@link ImixsLinkedContent}. If the file can not be read, the method returns
+     * the link.
+     * 
+     * @param model
+     * @param elementNode
+     * @param itemName
+     * @return the content
+     */
+    String getItemContent(final BPMNModel model, final Element elementNode, final String itemName) {
+        try {
+            return ImixsLinkedContent.getInstance().getItemContent(model, elementNode, itemName);
+        } catch (IOException e) {
+            logger.warning("...unable to read linked content of item '" + itemName + "': " + e.getMessage());
+            return ImixsExtensionUtil.getItemValueString(model, elementNode, itemName);
+        }
+    }
+
+    /**
+     * Helper method updates an item which can link to a file. If the item links
+     * to a file and the content was not changed, the link is kept. A changed
+     * content is inlined and stays linked by the open-bpmn:file-link attribute.
+     * 
+     * @param model
+     * @param elementNode
+     * @param itemName
+     * @param content     - the new content or file:// link
+     * @return true if the DOM was changed
+     */
+    boolean setItemContent(final BPMNModel model, final Element elementNode, final String itemName,
+            final String content) {
+        if (!ImixsLinkedContent.isFileLink(content)
+                && ImixsExtensionUtil.getItemFileLink(model, elementNode, itemName) != null) {
+            if (content.equals(getItemContent(model, elementNode, itemName))) {
+                return false;
+            }
+            return ImixsExtensionUtil.setItemFileContent(model, elementNode, itemName, content);
+        }
+        return ImixsExtensionUtil.setItemValue(model, elementNode, itemName, "xs:string", content);
+    }
+
     /**
      * Helper method that returns a Multiline Option for the JSONForms UI Schema
      * 
      * @return
      */
     Map<String, String> getMultilineOption() {
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
-        return multilineOption;
+        return MULTILINE_OPTION;
     }
 
     /**
@@ -128,8 +283,6 @@ public abstract class ImixsBPMNExtension implements BPMNElementExtension {
      */
     Map<String, String> getFileEditorOption() {
         // custom fileEditor...
-        Map<String, String> fileEditor = new HashMap<>();
-        fileEditor.put("format", "textFileEditor");
-        return fileEditor;
+        return FILE_EDITOR_OPTION;
     }
 }
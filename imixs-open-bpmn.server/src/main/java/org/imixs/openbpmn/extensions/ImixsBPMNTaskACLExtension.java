@@ -20,8 +20,6 @@ import java.util.logging.Logger;
 import javax.json.JsonObject;
 
 import org.eclipse.glsp.graph.GModelElement;
-import org.openbpmn.bpmn.BPMNTypes;
-import org.openbpmn.bpmn.elements.Activity;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.jsonforms.DataBuilder;
 import org.openbpmn.glsp.jsonforms.SchemaBuilder;
@@ -51,15 +49,7 @@ public class ImixsBPMNTaskACLExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesElementTypeId(final String elementTypeId) {
-        return (BPMNTypes.USER_TASK.equals(elementTypeId)
-                || BPMNTypes.TASK.equals(elementTypeId)
-                || BPMNTypes.USER_TASK.equals(elementTypeId)
-                || BPMNTypes.MANUAL_TASK.equals(elementTypeId)
-                || BPMNTypes.SCRIPT_TASK.equals(elementTypeId)
-                || BPMNTypes.BUSINESSRULE_TASK.equals(elementTypeId)
-                || BPMNTypes.SERVICE_TASK.equals(elementTypeId)
-                || BPMNTypes.SEND_TASK.equals(elementTypeId)
-                || BPMNTypes.RECEIVE_TASK.equals(elementTypeId));
+        return ImixsExtensionRegistry.isTaskType(elementTypeId);
     }
 
     /**
@@ -70,15 +60,24 @@ public class ImixsBPMNTaskACLExtension extends ImixsBPMNExtension {
      */
     @Override
     public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
-        if (bpmnElement instanceof Activity) {
-            Activity task = (Activity) bpmnElement;
-            if (handlesElementTypeId(task.getType())) {
-                if (task.hasAttribute(getNamespace() + ":processid")) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return ImixsExtensionRegistry.isImixsTask(bpmnElement);
+    }
+
+    /**
+     * This Extension updates the category ACL only
+     */
+    @Override
+    public boolean handlesCategory(final String category) {
+        return "ACL".equals(category);
+    }
+
+    /**
+     * This Helper Method adds the ACL properties to the JSON data of the
+     * properties form.
+     */
+    @Override
+    protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
+        ImixsExtensionACLHelper.generateACLData(bpmnElement, dataBuilder);
     }
 
     /**
@@ -90,7 +89,7 @@ public class ImixsBPMNTaskACLExtension extends ImixsBPMNExtension {
      * ,"namownershipnames", namaddreadaccess, namaddwriteaccess
      */
     @Override
-    public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+    protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
             final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
 
         // generate ACL panel
@@ -101,11 +100,11 @@ public class ImixsBPMNTaskACLExtension extends ImixsBPMNExtension {
      * This method updates the BPMN properties
      */
     @Override
-    public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-            final GModelElement gNodeElement) {
+    protected boolean applyPropertiesData(final JsonObject json, final String category,
+            final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
         // we are only interested in category Workflow and History
-        if ("ACL".equals(category)) {
+        if (handlesCategory(category)) {
             ImixsExtensionACLHelper.updatePropertiesData(json, category, bpmnElement, gNodeElement);
         }
         return false;
@@ -15,14 +15,10 @@
  ********************************************************************************/
 package org.imixs.openbpmn.extensions;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import javax.json.JsonObject;
 
 import org.eclipse.glsp.graph.GModelElement;
 import org.openbpmn.bpmn.BPMNModel;
-import org.openbpmn.bpmn.BPMNTypes;
 import org.openbpmn.bpmn.elements.Activity;
 import org.openbpmn.bpmn.elements.core.BPMNElement;
 import org.openbpmn.glsp.bpmn.BPMNGNode;
@@ -54,15 +50,7 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
          */
         @Override
         public boolean handlesElementTypeId(final String elementTypeId) {
-                return (BPMNTypes.USER_TASK.equals(elementTypeId)
-                                || BPMNTypes.TASK.equals(elementTypeId)
-                                || BPMNTypes.USER_TASK.equals(elementTypeId)
-                                || BPMNTypes.MANUAL_TASK.equals(elementTypeId)
-                                || BPMNTypes.SCRIPT_TASK.equals(elementTypeId)
-                                || BPMNTypes.BUSINESSRULE_TASK.equals(elementTypeId)
-                                || BPMNTypes.SERVICE_TASK.equals(elementTypeId)
-                                || BPMNTypes.SEND_TASK.equals(elementTypeId)
-                                || BPMNTypes.RECEIVE_TASK.equals(elementTypeId));
+                return ImixsExtensionRegistry.isTaskType(elementTypeId);
         }
 
         /**
@@ -73,24 +61,27 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
          */
         @Override
         public boolean handlesBPMNElement(final BPMNElement bpmnElement) {
-                if (bpmnElement instanceof Activity) {
-                        Activity task = (Activity) bpmnElement;
-                        if (handlesElementTypeId(task.getType())) {
-                                if (task.hasAttribute(getNamespace() + ":processid")) {
-                                        return true;
-                                }
-                        }
-                }
-                return false;
+                return ImixsExtensionRegistry.isImixsTask(bpmnElement);
         }
 
         /**
-         * This method adds a unique identifier to the corresponding BPMNElement
+         * This Extension updates the category Workflow and App only
+         */
+        @Override
+        public boolean handlesCategory(final String category) {
+                return "Workflow".equals(category) || "App".equals(category);
+        }
+
+        /**
+         * This method adds a unique identifier to the corresponding BPMNElement. The
+         * processid is the next free processid of the model.
          */
         @Override
         public void addExtension(final BPMNElement bpmnElement) {
                 if (bpmnElement instanceof Activity) {
-                        bpmnElement.setExtensionAttribute(getNamespace(), "processid", "100");
+                        int processId = ImixsIdIndex.getInstance(bpmnElement.getModel()).nextProcessId();
+                        bpmnElement.setExtensionAttribute(getNamespace(), "processid", "" + processId);
+                        ImixsIdIndex.keyChanged(bpmnElement.getModel(), bpmnElement.getElementNode());
                 }
         }
 
@@ -103,20 +94,13 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
         }
 
         /**
-         * This Helper Method generates a JSON Object with the BPMNElement properties.
-         * <p>
-         * This json object is used on the GLSP Client to generate the EMF JsonForms
+         * This Helper Method adds the BPMNElement properties to the JSON data of the
+         * properties form.
          */
         @Override
-        public void buildPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
-                        final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
-
+        protected void createPropertiesData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
                 BPMNModel model = bpmnElement.getModel();
                 Element elementNode = bpmnElement.getElementNode();
-
-                /***********
-                 * Data
-                 */
                 dataBuilder //
 
                                 .addData("processid", bpmnElement.getExtensionAttribute(getNamespace(), "processid")) //
@@ -128,15 +112,28 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
                                 .addData("txteditorid",
                                                 ImixsExtensionUtil.getItemValueString(model, elementNode,
                                                                 "txteditorid")) //
-                                .addData("form_definition",
-                                                ImixsExtensionUtil.getItemValueString(model, elementNode,
-                                                                "form.definition")) //
+                                .addData("form_definition", getItemContent(model, elementNode, "form.definition")) //
                                 .addData("txtworkflowsummary",
                                                 ImixsExtensionUtil.getItemValueString(model, elementNode,
                                                                 "txtworkflowsummary")) //
                                 .addData("txtworkflowabstract",
                                                 ImixsExtensionUtil.getItemValueString(model, elementNode,
                                                                 "txtworkflowabstract"));
+        }
+
+        /**
+         * This Helper Method generates a JSON Object with the BPMNElement properties.
+         * <p>
+         * This json object is used on the GLSP Client to generate the EMF JsonForms
+         */
+        @Override
+        protected void createPropertiesForm(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+                        final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+
+                /***********
+                 * Data
+                 */
+                createPropertiesData(bpmnElement, dataBuilder);
 
                 /***********
                  * Schema
@@ -154,9 +151,6 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
                                 addProperty("txtworkflowsummary", "string", null). //
                                 addProperty("txtworkflowabstract", "string", null);
 
-                Map<String, String> multilineOption = new HashMap<>();
-                multilineOption.put("multi", "true");
-
                 /***********
                  * UISchema
                  */
@@ -170,7 +164,7 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
 
                                 addLayout(Layout.VERTICAL). //
                                 addElement("txtworkflowsummary", "Summary", null). //
-                                addElement("txtworkflowabstract", "Abstract", multilineOption). //
+                                addElement("txtworkflowabstract", "Abstract", MULTILINE_OPTION). //
                                 addCategory("App"). //
                                 addElement("txteditorid", "Input Form ID", null). //
                                 addElement("form_definition", "Input Form Definition", this.getFileEditorOption());
@@ -182,11 +176,11 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
          * The processID is also updated for the frontend.
          */
         @Override
-        public boolean updatePropertiesData(final JsonObject json, final String category, final BPMNElement bpmnElement,
-                        final GModelElement gNodeElement) {
+        protected boolean applyPropertiesData(final JsonObject json, final String category,
+                        final BPMNElement bpmnElement, final GModelElement gNodeElement) {
 
                 // we are only interested in category Workflow and App
-                if ("Workflow".equals(category) || "App".equals(category)) {
+                if (handlesCategory(category)) {
                         BPMNModel model = bpmnElement.getModel();
                         Element elementNode = bpmnElement.getElementNode();
 
@@ -197,6 +191,9 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
                                                 json.getString("processid", "0"));
                                 // update gNode info attribute...
                                 gNodeElement.getArgs().put("bpmnExtensionInfo", "Id: " + newTaskId);
+                                updateIdIndex(bpmnElement);
+                                ImixsChangeSet.keyChanged(model, elementNode);
+                                ImixsChangeSet.infoChanged(model, elementNode);
                         }
 
                         ImixsExtensionUtil.setItemValue(model, elementNode, "txttype", "xs:string",
@@ -209,7 +206,7 @@ public class ImixsBPMNTaskExtension extends ImixsBPMNExtension {
                                         json.getString("txtworkflowabstract", ""));
                         ImixsExtensionUtil.setItemValue(model, elementNode, "txteditorid", "xs:string",
                                         json.getString("txteditorid", ""));
-                        ImixsExtensionUtil.setItemValue(model, elementNode, "form.definition", "xs:string",
+                        setItemContent(model, elementNode, "form.definition",
                                         json.getString("form_definition", ""));
                 }
                 return false;
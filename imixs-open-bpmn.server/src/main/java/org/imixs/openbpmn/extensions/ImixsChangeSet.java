@@ -0,0 +1,210 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.openbpmn.bpmn.BPMNModel;
+import org.w3c.dom.Element;
+
+/**
+ * The ImixsChangeSet records the changes made by the Imixs BPMN extensions
+ * during an update of the properties data. For each changed element the change
+ * set holds the item names touched, and whether the imixs:processid /
+ * imixs:activityid attribute or the bpmnExtensionInfo of the GModel element
+ * changed.
+ * <p>
+ * A change set is opened with {@link #begin} and closed with {@link #end}. The
+ * changes are only recorded while a change set is open. Change sets can be
+ * nested - only the outermost {@link #end} closes the change set, so an
+ * operation updating several elements collects the changes of all updates. The GLSP layer can use
+ * the change set to update only the affected GModel elements instead of a full
+ * refresh.
+ *
+ * <pre>
+ * ImixsChangeSet.begin(model);
+ * extension.updatePropertiesData(json, category, bpmnElement, gNodeElement);
+ * ImixsChangeSet changeSet = ImixsChangeSet.end(model);
+ * </pre>
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsChangeSet {
+
+    public static final String CHANGESET = "imixs.changeset";
+
+    private final Map<String, Change> changes = new LinkedHashMap<String, Change>();
+    private int depth = 0;
+
+    /**
+     * Opens a change set for the given model. If a change set is already open,
+     * the method returns the open change set and increases its nesting depth.
+     *
+     * @param model
+     * @return the open change set
+     */
+    public static ImixsChangeSet begin(final BPMNModel model) {
+        Element definitionsElementNode = model.getDefinitions();
+        ImixsChangeSet changeSet = (ImixsChangeSet) definitionsElementNode.getUserData(CHANGESET);
+        if (changeSet == null) {
+            changeSet = new ImixsChangeSet();
+            definitionsElementNode.setUserData(CHANGESET, changeSet, null);
+        }
+        changeSet.depth++;
+        return changeSet;
+    }
+
+    /**
+     * Closes the change set of the given model and returns the recorded changes.
+     * A nested change set stays open until the outermost begin is closed.
+     *
+     * @param model
+     * @return the change set or an empty change set if no change set was open
+     */
+    public static ImixsChangeSet end(final BPMNModel model) {
+        Element definitionsElementNode = model.getDefinitions();
+        ImixsChangeSet changeSet = (ImixsChangeSet) definitionsElementNode.getUserData(CHANGESET);
+        if (changeSet == null) {
+            return new ImixsChangeSet();
+        }
+        if (--changeSet.depth == 0) {
+            definitionsElementNode.setUserData(CHANGESET, null, null);
+        }
+        return changeSet;
+    }
+
+    /**
+     * Records a changed item of an element. This method is called by the
+     * {@link ImixsExtensionUtil}.
+     *
+     * @param model
+     * @param elementNode
+     * @param itemName
+     */
+    static void itemChanged(final BPMNModel model, final Element elementNode, final String itemName) {
+        Change change = getChange(model, elementNode);
+        if (change != null) {
+            change.itemNames.add(itemName);
+        }
+    }
+
+    /**
+     * Records a changed imixs:processid or imixs:activityid of an element.
+     *
+     * @param model
+     * @param elementNode
+     */
+    public static void keyChanged(final BPMNModel model, final Element elementNode) {
+        Change change = getChange(model, elementNode);
+        if (change != null) {
+            change.keyChanged = true;
+        }
+    }
+
+    /**
+     * Records a changed bpmnExtensionInfo of the GModel element of an element.
+     *
+     * @param model
+     * @param elementNode
+     */
+    public static void infoChanged(final BPMNModel model, final Element elementNode) {
+        Change change = getChange(model, elementNode);
+        if (change != null) {
+            change.infoChanged = true;
+        }
+    }
+
+    /**
+     * Returns all recorded changes
+     */
+    public Collection<Change> getChanges() {
+        return Collections.unmodifiableCollection(changes.values());
+    }
+
+    /**
+     * Returns the recorded change of an element or null if the element was not
+     * changed
+     */
+    public Change getChange(String elementId) {
+        return changes.get(elementId);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Helper method returns the change entry of an element in the open change
+     * set, or null if no change set is open
+     */
+    private static Change getChange(final BPMNModel model, final Element elementNode) {
+        Element definitionsElementNode = model.getDefinitions();
+        if (definitionsElementNode == null) {
+            return null;
+        }
+        ImixsChangeSet changeSet = (ImixsChangeSet) definitionsElementNode.getUserData(CHANGESET);
+        if (changeSet == null) {
+            return null;
+        }
+        String elementId = elementNode.getAttribute("id");
+        return changeSet.changes.computeIfAbsent(elementId, Change::new);
+    }
+
+    /**
+     * The changes of a single element
+     */
+    public static class Change {
+        private final String elementId;
+        private final Set<String> itemNames = new LinkedHashSet<String>();
+        private boolean keyChanged = false;
+        private boolean infoChanged = false;
+
+        Change(String elementId) {
+            this.elementId = elementId;
+        }
+
+        public String getElementId() {
+            return elementId;
+        }
+
+        /**
+         * Returns the names of the items changed
+         */
+        public Set<String> getItemNames() {
+            return Collections.unmodifiableSet(itemNames);
+        }
+
+        /**
+         * Returns true if the imixs:processid or imixs:activityid changed
+         */
+        public boolean isKeyChanged() {
+            return keyChanged;
+        }
+
+        /**
+         * Returns true if the bpmnExtensionInfo of the GModel element changed
+         */
+        public boolean isInfoChanged() {
+            return infoChanged;
+        }
+    }
+}
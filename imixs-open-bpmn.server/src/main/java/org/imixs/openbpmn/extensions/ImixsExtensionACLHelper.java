@@ -2,9 +2,7 @@ package org.imixs.openbpmn.extensions;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.json.JsonArray;
@@ -29,35 +27,29 @@ import org.w3c.dom.Element;
 public class ImixsExtensionACLHelper {
 
     private static Logger logger = Logger.getLogger(ImixsExtensionACLHelper.class.getName());
+    private static final String[] ENABLED_OPTIONS = { "Yes|true", "No|false" };
 
     /**
-     * Helper Method to generate the ACL Property panel for Events and Tasks
+     * Helper Method to generate the ACL Property data for Events and Tasks
      */
-    public static void generateACLSchemata(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
-            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
-
+    public static void generateACLData(final BPMNElement bpmnElement, final DataBuilder dataBuilder) {
         BPMNModel model = bpmnElement.getModel();
         Element elementNode = bpmnElement.getElementNode();
-        ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
 
-        /***********
-         * Data
-         */
         // fetch the allowed actor mappings
-        // ImixsExtensionAC
-
         dataBuilder //
                 .addData("keyupdateacl",
                         ImixsExtensionUtil.getItemValueString(model, elementNode,
                                 "keyupdateacl", "false")) //
                 .addDataList("keyownershipfields",
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
-                                "keyownershipfields", actorFieldMapper.getValues())) //
+                                "keyownershipfields", actorFieldMapper.getValueSet())) //
                 .addDataList("keyaddreadfields", ImixsExtensionUtil.getItemValueList(model, elementNode,
-                        "keyaddreadfields", actorFieldMapper.getValues()))
+                        "keyaddreadfields", actorFieldMapper.getValueSet()))
                 .addDataList("keyaddwritefields",
                         ImixsExtensionUtil.getItemValueList(model, elementNode,
-                                "keyaddwritefields", actorFieldMapper.getValues())) //
+                                "keyaddwritefields", actorFieldMapper.getValueSet())) //
                 .addData("namownershipnames",
                         String.join(System.lineSeparator(),
                                 ImixsExtensionUtil.getItemValueList(model, elementNode,
@@ -70,15 +62,28 @@ public class ImixsExtensionACLHelper {
                         String.join(System.lineSeparator(),
                                 ImixsExtensionUtil.getItemValueList(model, elementNode,
                                         "namaddwriteaccess", null)));
+    }
+
+    /**
+     * Helper Method to generate the ACL Property panel for Events and Tasks
+     */
+    public static void generateACLSchemata(final BPMNElement bpmnElement, final DataBuilder dataBuilder,
+            final SchemaBuilder schemaBuilder, final UISchemaBuilder uiSchemaBuilder) {
+
+        BPMNModel model = bpmnElement.getModel();
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
 
         /***********
-         * Schema
+         * Data
          */
-        String[] enabledOption = { "Yes|true", "No|false" };
+        generateACLData(bpmnElement, dataBuilder);
 
-        String[] actorItemDefsArray = actorFieldMapper.getItemDefinitions().toArray(String[]::new);
+        /***********
+         * Schema
+         */
+        String[] actorItemDefsArray = actorFieldMapper.getItemDefinitionsArray();
         schemaBuilder //
-                .addProperty("keyupdateacl", "string", "", enabledOption) //
+                .addProperty("keyupdateacl", "string", "", ENABLED_OPTIONS) //
                 .addProperty("keyownershipfields", "string", "", actorItemDefsArray) //
                 .addProperty("keyaddreadfields", "string", "", actorItemDefsArray) //
                 .addProperty("keyaddwritefields", "string", "", actorItemDefsArray) //
@@ -91,29 +96,22 @@ public class ImixsExtensionACLHelper {
         /***********
          * UISchema
          */
-        Map<String, String> selectVertical = new HashMap<>();
-        selectVertical.put("format", "selectitem");
-        selectVertical.put("orientation", "vertical");
-        Map<String, String> selectHorizontal = new HashMap<>();
-        selectHorizontal.put("format", "selectitem");
-        Map<String, String> multilineOption = new HashMap<>();
-        multilineOption.put("multi", "true");
         uiSchemaBuilder //
                 .addCategory("ACL") //
                 .addLayout(Layout.HORIZONTAL) //
-                .addElement("keyupdateacl", "Active", selectHorizontal);
+                .addElement("keyupdateacl", "Active", ImixsBPMNExtension.SELECTITEM_OPTION);
         if (actorFieldMapper.getItemDefinitions() != null && actorFieldMapper.getItemDefinitions().size() > 0) {
             uiSchemaBuilder //
                     .addLayout(Layout.HORIZONTAL) //
-                    .addElement("keyownershipfields", "Owner", selectVertical)
-                    .addElement("keyaddreadfields", "Read Access", selectVertical)
-                    .addElement("keyaddwritefields", "Write Access", selectVertical);
+                    .addElement("keyownershipfields", "Owner", ImixsBPMNExtension.SELECTITEM_VERTICAL_OPTION)
+                    .addElement("keyaddreadfields", "Read Access", ImixsBPMNExtension.SELECTITEM_VERTICAL_OPTION)
+                    .addElement("keyaddwritefields", "Write Access", ImixsBPMNExtension.SELECTITEM_VERTICAL_OPTION);
         }
         uiSchemaBuilder //
                 .addLayout(Layout.HORIZONTAL) //
-                .addElement("namownershipnames", "Others", multilineOption)
-                .addElement("namaddreadaccess", "Others", multilineOption)
-                .addElement("namaddwriteaccess", "Others", multilineOption);
+                .addElement("namownershipnames", "Others", ImixsBPMNExtension.MULTILINE_OPTION)
+                .addElement("namaddreadaccess", "Others", ImixsBPMNExtension.MULTILINE_OPTION)
+                .addElement("namaddwriteaccess", "Others", ImixsBPMNExtension.MULTILINE_OPTION);
     }
 
     /**
@@ -127,7 +125,7 @@ public class ImixsExtensionACLHelper {
         BPMNModel model = bpmnElement.getModel();
         Element elementNode = bpmnElement.getElementNode();
 
-        ImixsItemNameMapper actorFieldMapper = new ImixsItemNameMapper(model, "txtfieldmapping");
+        ImixsItemNameMapper actorFieldMapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
 
         // base settings
         ImixsExtensionUtil.setItemValue(model, elementNode, "keyupdateacl", "xs:string",
@@ -149,7 +147,7 @@ public class ImixsExtensionACLHelper {
                 keyBaseObject.add(jsonStringValue);
             }
             ImixsExtensionUtil.setItemValueList(model, elementNode, property, "xs:string", keyBaseObject,
-                    actorFieldMapper.getValues());
+                    actorFieldMapper.getValueSet());
         }
 
         // Set the other names.
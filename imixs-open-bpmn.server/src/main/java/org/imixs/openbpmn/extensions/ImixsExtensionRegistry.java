@@ -0,0 +1,231 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.imixs.openbpmn.model.ImixsModelListener;
+import org.openbpmn.bpmn.BPMNTypes;
+import org.openbpmn.bpmn.elements.Activity;
+import org.openbpmn.bpmn.elements.BPMNProcess;
+import org.openbpmn.bpmn.elements.core.BPMNElement;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.extensions.BPMNElementExtension;
+import org.w3c.dom.Element;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The ImixsExtensionRegistry maps the element type ids to the ordered list of
+ * the Imixs extensions handling this type. The registry is built once when it
+ * is injected, so the Imixs extensions applying to an element can be resolved
+ * without asking each registered extension.
+ * <p>
+ * The registry also caches the Imixs marker of an element. The marker is the
+ * attribute imixs:processid of a task or imixs:activityid of an event. It is
+ * added by the method addExtension and verified by the method
+ * handlesBPMNElement of each Imixs extension. The result is stored as user data
+ * of the element node - one entry per marker - and is discarded by the
+ * {@link ImixsModelListener} if an attribute of the element is modified.
+ *
+ * @author rsoika
+ *
+ */
+@Singleton
+public class ImixsExtensionRegistry {
+    private static Logger logger = Logger.getLogger(ImixsExtensionRegistry.class.getName());
+
+    public static final String MARKER_CACHE = "imixs.marker.";
+    private static final String[] MARKERS = { "processid", "activityid" };
+
+    // element type ids of the BPMN tasks supported by Imixs
+    public static final Set<String> TASK_TYPES = Set.of(BPMNTypes.TASK, BPMNTypes.USER_TASK,
+            BPMNTypes.MANUAL_TASK, BPMNTypes.SCRIPT_TASK, BPMNTypes.BUSINESSRULE_TASK, BPMNTypes.SERVICE_TASK,
+            BPMNTypes.SEND_TASK, BPMNTypes.RECEIVE_TASK);
+
+    private static final MarkerHandler markerHandler = new MarkerHandler();
+
+    private final List<BPMNElementExtension> imixsExtensions;
+    private final Map<String, List<BPMNElementExtension>> extensionsByType = //
+            new ConcurrentHashMap<String, List<BPMNElementExtension>>();
+
+    /**
+     * Builds the registry for the Imixs extensions contained in the given set of
+     * extensions.
+     *
+     * @param extensions - all registered BPMN element extensions
+     */
+    @Inject
+    public ImixsExtensionRegistry(final Set<BPMNElementExtension> extensions) {
+        List<BPMNElementExtension> result = new ArrayList<BPMNElementExtension>();
+        for (BPMNElementExtension extension : extensions) {
+            if (ImixsExtensionUtil.getNamespace().equals(extension.getNamespace())) {
+                result.add(extension);
+            }
+        }
+        result.sort(Comparator.comparingInt(BPMNElementExtension::getPriority));
+        imixsExtensions = Collections.unmodifiableList(result);
+        for (String elementTypeId : TASK_TYPES) {
+            getExtensions(elementTypeId);
+        }
+        getExtensions(BPMNTypes.CATCH_EVENT);
+        getExtensions(BPMNTypes.PROCESS_TYPE_PUBLIC);
+        logger.fine("...registered " + imixsExtensions.size() + " Imixs extensions for "
+                + extensionsByType.size() + " element types");
+    }
+
+    /**
+     * Returns all Imixs extensions ordered by priority.
+     */
+    public List<BPMNElementExtension> getExtensions() {
+        return imixsExtensions;
+    }
+
+    /**
+     * Returns the Imixs extensions handling the given element type id, ordered
+     * by priority.
+     *
+     * @param elementTypeId
+     */
+    public List<BPMNElementExtension> getExtensions(final String elementTypeId) {
+        return extensionsByType.computeIfAbsent(elementTypeId, type -> {
+            List<BPMNElementExtension> result = new ArrayList<BPMNElementExtension>();
+            for (BPMNElementExtension extension : imixsExtensions) {
+                if (extension.handlesElementTypeId(type)) {
+                    result.add(extension);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * Returns the Imixs extensions handling the given element type id and
+     * updating the given category of the properties form, ordered by priority.
+     *
+     * @param elementTypeId
+     * @param category
+     */
+    public List<BPMNElementExtension> getExtensions(final String elementTypeId, final String category) {
+        List<BPMNElementExtension> result = new ArrayList<BPMNElementExtension>();
+        for (BPMNElementExtension extension : getExtensions(elementTypeId)) {
+            if (!(extension instanceof ImixsBPMNExtension)
+                    || ((ImixsBPMNExtension) extension).handlesCategory(category)) {
+                result.add(extension);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the Imixs extensions handling the given element, ordered by
+     * priority.
+     *
+     * @param bpmnElement
+     */
+    public List<BPMNElementExtension> getExtensions(final BPMNElement bpmnElement) {
+        List<BPMNElementExtension> candidates = imixsExtensions;
+        if (bpmnElement instanceof BPMNElementNode) {
+            candidates = getExtensions(((BPMNElementNode) bpmnElement).getType());
+        } else if (bpmnElement instanceof BPMNProcess) {
+            candidates = getExtensions(((BPMNProcess) bpmnElement).getProcessType());
+        }
+        List<BPMNElementExtension> result = new ArrayList<BPMNElementExtension>(candidates.size());
+        for (BPMNElementExtension extension : candidates) {
+            if (extension.handlesBPMNElement(bpmnElement)) {
+                result.add(extension);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the element type id is one of the BPMN task types.
+     *
+     * @param elementTypeId
+     */
+    public static boolean isTaskType(final String elementTypeId) {
+        return elementTypeId != null && TASK_TYPES.contains(elementTypeId);
+    }
+
+    /**
+     * Returns true if the element is a BPMN task with an imixs:processid.
+     *
+     * @param bpmnElement
+     */
+    public static boolean isImixsTask(final BPMNElement bpmnElement) {
+        return bpmnElement instanceof Activity
+                && isTaskType(((Activity) bpmnElement).getType())
+                && hasMarker(bpmnElement.getElementNode(), "processid");
+    }
+
+    /**
+     * Returns true if the element is an intermediate catch event with an
+     * imixs:activityid.
+     *
+     * @param bpmnElement
+     */
+    public static boolean isImixsEvent(final BPMNElement bpmnElement) {
+        return bpmnElement instanceof org.openbpmn.bpmn.elements.Event
+                && BPMNTypes.CATCH_EVENT.equals(((BPMNElementNode) bpmnElement).getType())
+                && hasMarker(bpmnElement.getElementNode(), "activityid");
+    }
+
+    /**
+     * Returns true if the element node has the Imixs marker attribute. The result
+     * is cached until an attribute of the element is modified.
+     */
+    private static boolean hasMarker(final Element elementNode, final String marker) {
+        if (elementNode == null) {
+            return false;
+        }
+        Boolean result = (Boolean) elementNode.getUserData(MARKER_CACHE + marker);
+        if (result == null) {
+            result = ImixsExtensionUtil.hasExtensionAttribute(elementNode, marker);
+            // we can only cache the marker if we get informed about DOM changes
+            ImixsModelListener listener = ImixsModelListener
+                    .getInstance(elementNode.getOwnerDocument().getDocumentElement());
+            if (listener.isSupported()) {
+                listener.addHandler(markerHandler);
+                elementNode.setUserData(MARKER_CACHE + marker, result, null);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discards the cached markers of an element if one of its attributes was
+     * modified.
+     */
+    private static class MarkerHandler implements ImixsModelListener.Handler {
+        @Override
+        public void modelChanged(ImixsModelListener.Change change) {
+            if (ImixsModelListener.ATTR_MODIFIED.equals(change.getType()) && change.getNode() instanceof Element) {
+                for (String marker : MARKERS) {
+                    change.getNode().setUserData(MARKER_CACHE + marker, null, null);
+                }
+            }
+        }
+    }
+}
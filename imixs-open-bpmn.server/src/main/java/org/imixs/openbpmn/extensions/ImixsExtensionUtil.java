@@ -1,16 +1,25 @@
 package org.imixs.openbpmn.extensions;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.imixs.openbpmn.metrics.ImixsMetrics;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.BPMNNS;
 import org.w3c.dom.CDATASection;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.w3c.dom.events.Event;
+import org.w3c.dom.events.EventListener;
+import org.w3c.dom.events.EventTarget;
 
 /**
  * This helper class sets extension tags within a BPMN Element
@@ -25,9 +34,17 @@ import org.w3c.dom.NodeList;
       </bpmn2:extensionElements>
         }</pre>
  * 
+ * To avoid scanning the extensionElements for each single item lookup, the
+ * class holds an item index per BPMN element. The index maps each item name to
+ * its imixs:item node and the parsed value list. It is built on the first read,
+ * updated by the set/remove methods and discarded as soon as the
+ * extensionElements are modified by any other code.
+ * 
  */
 public class ImixsExtensionUtil {
 
+    public static final String ITEM_INDEX = "imixs.itemindex";
+
     public static String getNamespace() {
         return "imixs";
     }
@@ -36,6 +53,36 @@ public class ImixsExtensionUtil {
         return "http://www.imixs.org/bpmn2";
     }
 
+    /**
+     * Returns the value of an Imixs extension attribute (e.g. imixs:processid)
+     * of a BPMN element node, or an empty string if the element has no such
+     * attribute.
+     * <p>
+     * The attribute is resolved by its qualified name in the same way as
+     * BPMNElement.getExtensionAttribute does. Attributes set by
+     * setExtensionAttribute are not namespace aware and can not be found with
+     * getAttributeNS.
+     * 
+     * @param elementNode
+     * @param name        - attribute name without prefix (e.g. processid)
+     * @return the attribute value
+     */
+    public static String getExtensionAttribute(final Element elementNode, final String name) {
+        return elementNode.getAttribute(getNamespace() + ":" + name);
+    }
+
+    /**
+     * Returns true if the BPMN element node has the given Imixs extension
+     * attribute.
+     * 
+     * @see #getExtensionAttribute(Element, String)
+     * @param elementNode
+     * @param name        - attribute name without prefix (e.g. processid)
+     */
+    public static boolean hasExtensionAttribute(final Element elementNode, final String name) {
+        return elementNode.hasAttribute(getNamespace() + ":" + name);
+    }
+
     /**
      * This method returns a Imixs ItemValue List from the Model Definition.
      * Such a list can contains label|value pairs.
@@ -81,18 +128,32 @@ public class ImixsExtensionUtil {
      * <p
      * If the itemName is null or empty an existing item extension node will be
      * removed.
+     * <p>
+     * If the item already holds the given value and type, the DOM is not changed
+     * and the method returns false.
      * 
      * @param bpmnElement
      * @param itemName
      * @param type
      * @param value
+     * @return true if the DOM was changed
      */
-    public static void setItemValue(final BPMNModel model, final Element elementNode, final String itemName,
+    public static boolean setItemValue(final BPMNModel model, final Element elementNode, final String itemName,
             final String type,
             final String value) {
 
-        Element extensionElement = model.findChildNodeByName(elementNode,
-                BPMNNS.BPMN2, "extensionElements");
+        ItemIndex index = getItemIndex(model, elementNode);
+        Element extensionElement = (index != null) ? index.extensionElement : null;
+
+        // compare before write
+        Element existingItem = (index != null) ? index.items.get(itemName) : null;
+        if (value == null || value.isEmpty()) {
+            if (existingItem == null) {
+                return false;
+            }
+        } else if (existingItem != null && hasItemValues(existingItem, type, List.of(value), true)) {
+            return false;
+        }
 
         boolean isNew = false;
         // if no extensionElement exists we create one
@@ -101,46 +162,62 @@ public class ImixsExtensionUtil {
             isNew = true;
         }
 
-        // now search for the matching item....
-        Element item = findItemByName(extensionElement, itemName);
-        if (item != null) {
-            // if the value is null or empty the item node will be removed
-            if (value == null || value.isEmpty()) {
-                extensionElement.removeChild(item);
-            }
-        } else {
-            // item does not exits
-            // we only create one if a value is given
-            if (value != null && !value.isEmpty()) {
-                // <imixs:item name="user.name" type="xs:string">John</imixs:item>
-                item = model.getDoc().createElementNS(getNamespaceURI(), getNamespace() + ":item");
-                extensionElement.appendChild(item);
-            }
+        if (index != null) {
+            index.updating = true;
         }
+        try {
+            // now search for the matching item....
+            Element item = (index != null) ? index.items.get(itemName) : null;
+            if (item != null) {
+                // if the value is null or empty the item node will be removed
+                if (value == null || value.isEmpty()) {
+                    extensionElement.removeChild(item);
+                    item = null;
+                }
+            } else {
+                // item does not exits
+                // we only create one if a value is given
+                if (value != null && !value.isEmpty()) {
+                    // <imixs:item name="user.name" type="xs:string">John</imixs:item>
+                    item = model.getDoc().createElementNS(getNamespaceURI(), getNamespace() + ":item");
+                    extensionElement.appendChild(item);
+                }
+            }
 
-        // update the item...
-        if (item != null) {
-            item.setAttribute("name", itemName);
-            item.setAttribute("type", type);
+            // update the item...
+            if (item != null) {
+                item.setAttribute("name", itemName);
+                item.setAttribute("type", type);
 
-            // remove all childs
-            while (item.hasChildNodes()) {
-                item.removeChild(item.getFirstChild());
-            }
+                // remove all childs
+                while (item.hasChildNodes()) {
+                    item.removeChild(item.getFirstChild());
+                }
 
-            Element valueElement = createItemValueElement(model);
-            // update the item content
-            CDATASection cdataSection = model.getDoc().createCDATASection(value);
-            valueElement.appendChild(cdataSection);
-            item.appendChild(valueElement);
+                Element valueElement = createItemValueElement(model);
+                // update the item content
+                CDATASection cdataSection = model.getDoc().createCDATASection(value);
+                valueElement.appendChild(cdataSection);
+                item.appendChild(valueElement);
+
+                // if we have a file:// link than we create an additional open-bpmn attribute
+                if (value.startsWith("file://")) {
+                    valueElement.setAttribute("open-bpmn:file-link", value);
+                } else {
+                    valueElement.removeAttribute("open-bpmn:file-link");
+                }
 
-            // if we have a file:// link than we create an additional open-bpmn attribute
-            if (value.startsWith("file://")) {
-                valueElement.setAttribute("open-bpmn:file-link", value);
-            } else {
-                valueElement.removeAttribute("open-bpmn:file-link");
             }
 
+            // update the item index
+            if (index != null) {
+                index.put(itemName, item, (item != null) ? List.of(value) : null);
+            }
+            ImixsChangeSet.itemChanged(model, elementNode, itemName);
+        } finally {
+            if (index != null) {
+                index.updating = false;
+            }
         }
 
         if (isNew) {
@@ -149,6 +226,7 @@ public class ImixsExtensionUtil {
 
             elementNode.insertBefore(extensionElement, elementNode.getFirstChild());
         }
+        return true;
     }
 
     /**
@@ -169,17 +247,56 @@ public class ImixsExtensionUtil {
      * be set! This is to avoid holding old field mappings. See Issue #18
      * 
      * 
+     * If the item already holds the given values and type, the DOM is not
+     * changed and the method returns false.
+     * 
      * @param elementNode
      * @param itemName
      * @param type
      * @param valueList     - new valueList
      * @param referenceList - optional list of allowed values
+     * @return true if the DOM was changed
+     */
+    public static boolean setItemValueList(final BPMNModel model, final Element elementNode, final String itemName,
+            final String type, final List<String> valueList, Collection<String> referenceList) {
+        return setItemValueList(model, elementNode, itemName, type, valueList, toSet(referenceList));
+    }
+
+    /**
+     * Sets a value list with a prebuilt Set of allowed values (e.g.
+     * {@link ImixsItemNameMapper#getValueSet()}). Each value is verified in
+     * constant time.
+     * 
+     * @see #setItemValueList(BPMNModel, Element, String, String, List, Collection)
+     * @param referenceSet - optional set of allowed values
+     * @return true if the DOM was changed
      */
-    public static void setItemValueList(final BPMNModel model, final Element elementNode, final String itemName,
-            final String type, final List<String> valueList, List<String> referenceList) {
+    public static boolean setItemValueList(final BPMNModel model, final Element elementNode, final String itemName,
+            final String type, final List<String> valueList, Set<String> referenceSet) {
+
+        ItemIndex index = getItemIndex(model, elementNode);
+        Element extensionElement = (index != null) ? index.extensionElement : null;
+
+        // filter the values not part of the reference list
+        List<String> storedValues = null;
+        if (valueList != null && !valueList.isEmpty()) {
+            storedValues = new ArrayList<>(valueList.size());
+            for (String value : valueList) {
+                if (referenceSet == null || referenceSet.contains(value)) {
+                    storedValues.add(value);
+                }
+            }
+        }
 
-        Element extensionElement = model.findChildNodeByName(elementNode,
-                BPMNNS.BPMN2, "extensionElements");
+        // compare before write
+        Element existingItem = (index != null) ? index.items.get(itemName) : null;
+        if (storedValues == null) {
+            if (existingItem == null) {
+                return false;
+            }
+        } else if (existingItem != null && hasItemValues(existingItem, type, storedValues, false)) {
+            return false;
+        }
 
         boolean isNew = false;
         // if no extensionElement exists we create one
@@ -188,45 +305,57 @@ public class ImixsExtensionUtil {
             isNew = true;
         }
 
-        // now search for the matching item....
-        Element item = findItemByName(extensionElement, itemName);
-        if (item != null) {
-            // if the value is null or empty the item node will be removed
-            if (valueList == null || valueList.isEmpty()) {
-                extensionElement.removeChild(item);
-            }
-        } else {
-            // item does not exits
-            // we only create one if a value is given
-            if (valueList != null && !valueList.isEmpty()) {
-                // <imixs:item name="user.name" type="xs:string">John</imixs:item>
-                item = model.getDoc().createElementNS(getNamespaceURI(), getNamespace() + ":item");
-                extensionElement.appendChild(item);
-            }
+        if (index != null) {
+            index.updating = true;
         }
+        try {
+            // now search for the matching item....
+            Element item = (index != null) ? index.items.get(itemName) : null;
+            if (item != null) {
+                // if the value is null or empty the item node will be removed
+                if (valueList == null || valueList.isEmpty()) {
+                    extensionElement.removeChild(item);
+                    item = null;
+                }
+            } else {
+                // item does not exits
+                // we only create one if a value is given
+                if (valueList != null && !valueList.isEmpty()) {
+                    // <imixs:item name="user.name" type="xs:string">John</imixs:item>
+                    item = model.getDoc().createElementNS(getNamespaceURI(), getNamespace() + ":item");
+                    extensionElement.appendChild(item);
+                }
+            }
 
-        // update the item...
-        if (item != null) {
-            item.setAttribute("name", itemName);
-            item.setAttribute("type", type);
+            // update the item...
+            if (item != null) {
+                item.setAttribute("name", itemName);
+                item.setAttribute("type", type);
 
-            // remove all childs
-            while (item.hasChildNodes()) {
-                item.removeChild(item.getFirstChild());
-            }
+                // remove all childs
+                while (item.hasChildNodes()) {
+                    item.removeChild(item.getFirstChild());
+                }
 
-            // create a imixs:value tag for each value in the list
-            for (String value : valueList) {
-                if (referenceList != null && !referenceList.contains(value)) {
-                    // not in our reference list!
-                    continue;
+                // create a imixs:value tag for each value in the list
+                for (String value : storedValues) {
+                    Element valueElement = createItemValueElement(model);
+                    // update the item content
+                    CDATASection cdataSection = model.getDoc().createCDATASection(value);
+                    valueElement.appendChild(cdataSection);
+                    // valueElement.setTextContent(value);
+                    item.appendChild(valueElement);
                 }
-                Element valueElement = createItemValueElement(model);
-                // update the item content
-                CDATASection cdataSection = model.getDoc().createCDATASection(value);
-                valueElement.appendChild(cdataSection);
-                // valueElement.setTextContent(value);
-                item.appendChild(valueElement);
+            }
+
+            // update the item index
+            if (index != null) {
+                index.put(itemName, item, storedValues);
+            }
+            ImixsChangeSet.itemChanged(model, elementNode, itemName);
+        } finally {
+            if (index != null) {
+                index.updating = false;
             }
         }
 
@@ -236,6 +365,7 @@ public class ImixsExtensionUtil {
 
             elementNode.insertBefore(extensionElement, elementNode.getFirstChild());
         }
+        return true;
     }
 
     /**
@@ -248,23 +378,32 @@ public class ImixsExtensionUtil {
      * @param itemName
      * @param type
      * @param value
+     * @return true if the item was removed
      */
-    public static void removeItemValue(final BPMNModel model, final Element elementNode, final String itemName) {
+    public static boolean removeItemValue(final BPMNModel model, final Element elementNode, final String itemName) {
 
-        Element extensionElement = model.findChildNodeByName(elementNode,
-                BPMNNS.BPMN2, "extensionElements");
+        ItemIndex index = getItemIndex(model, elementNode);
 
         // if no extensionElement exists exit
-        if (extensionElement == null) {
-            return;
+        if (index == null) {
+            return false;
         }
 
         // now search for the matching item....
-        Element item = findItemByName(extensionElement, itemName);
+        Element item = index.items.get(itemName);
         if (item != null) {
             // remove the item node
-            extensionElement.removeChild(item);
+            index.updating = true;
+            try {
+                index.extensionElement.removeChild(item);
+                index.put(itemName, null, null);
+                ImixsChangeSet.itemChanged(model, elementNode, itemName);
+            } finally {
+                index.updating = false;
+            }
+            return true;
         }
+        return false;
     }
 
     /**
@@ -299,61 +438,70 @@ public class ImixsExtensionUtil {
      * @return the itemValue list.
      */
     public static List<String> getItemValueList(final BPMNModel model, final Element elementNode, String itemName,
-            List<String> referenceList) {
-        Element extensionElement = model.findChildNodeByName(elementNode, BPMNNS.BPMN2, "extensionElements");
-        List<String> uniqueValueList = new ArrayList<>();
+            Collection<String> referenceList) {
+        return getItemValueList(model, elementNode, itemName, toSet(referenceList));
+    }
 
+    /**
+     * Returns a value list with a prebuilt Set of allowed values (e.g.
+     * {@link ImixsItemNameMapper#getValueSet()}). Each value is verified in
+     * constant time.
+     * 
+     * @see #getItemValueList(BPMNModel, Element, String, Collection)
+     * @param itemName     - name of the item
+     * @param referenceSet - optional set of allowed values
+     * @return the itemValue list.
+     */
+    public static List<String> getItemValueList(final BPMNModel model, final Element elementNode, String itemName,
+            Set<String> referenceSet) {
         List<String> result = new ArrayList<>();
-        if (extensionElement != null) {
-            // first find the matching imixs:item
-            Element imixsItemElement = findItemByName(extensionElement, itemName);
-            if (imixsItemElement != null) {
-                // now iterate over all item:values and add each value into the list
-                // <imixs:value><![CDATA[form_basic]]></imixs:value>
-                Set<Element> imixsValueElements = findAllImixsElements(imixsItemElement, "value");
-                if (imixsValueElements != null) {
-                    for (Element imixsItemValue : imixsValueElements) {
-                        String value = null;
-                        // we expect a CDATA, bu we can not be sure
-                        Node cdata = findCDATA(imixsItemValue);
-                        if (cdata != null) {
-                            String cdValue = cdata.getNodeValue();
-                            if (cdValue != null) {
-                                value = cdValue;
-                            }
-                        } else {
-                            // normal text node
-                            value = imixsItemValue.getTextContent();
-                        }
-
-                        // avoid duplicates
-                        if (value.contains("|")) {
-                            String valuePart = value.substring(value.indexOf("|") + 1).trim();
-                            if (uniqueValueList.contains(valuePart)) {
-                                continue;
-                            }
-                            uniqueValueList.add(valuePart);
-                        } else {
-                            if (uniqueValueList.contains(value)) {
-                                continue;
-                            }
-                            uniqueValueList.add(value);
-                        }
-
-                        // add value - it is now unique!
-                        if (referenceList == null || referenceList.contains(value)) {
-                            result.add(value);
-                        }
+        ItemIndex index = getItemIndex(model, elementNode);
+        if (index != null) {
+            List<String> uniqueValues = index.values.get(itemName);
+            if (uniqueValues != null) {
+                for (String value : uniqueValues) {
+                    if (referenceSet == null || referenceSet.contains(value)) {
+                        result.add(value);
                     }
-
                 }
-
             }
         }
         // no item found with this item name - return an empty list
         return result;
     }
 
+    /**
+     * Returns the names of all imixs:item elements of a BPMN element in document
+     * order. If the element has no extensionElements, the method returns an empty
+     * list.
+     * 
+     * @param model
+     * @param elementNode
+     * @return list of item names
+     */
+    public static List<String> getItemNames(final BPMNModel model, final Element elementNode) {
+        ItemIndex index = getItemIndex(model, elementNode);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(index.items.keySet());
+    }
+
+    /**
+     * Returns the type of an imixs:item (e.g. xs:string). If no item with the
+     * given name exists, the method returns an empty string.
+     * 
+     * @param model
+     * @param elementNode
+     * @param itemName
+     * @return the item type
+     */
+    public static String getItemType(final BPMNModel model, final Element elementNode, String itemName) {
+        ItemIndex index = getItemIndex(model, elementNode);
+        Element item = (index != null) ? index.items.get(itemName) : null;
+        return (item != null) ? item.getAttribute("type") : "";
+    }
+
     /**
      * This helper method returns the first imixs:value within a imixs:item as a
      * String. If no item with the given name exists, or the item has no values, the
@@ -395,26 +543,306 @@ public class ImixsExtensionUtil {
     }
 
     /**
-     * Helper method that finds a extension item by name
-     * <p>
+     * This helper method returns the file:// link of the first imixs:value within
+     * a imixs:item. The link is either the value itself or the
+     * open-bpmn:file-link attribute if the linked content was already inlined.
+     * If the item has no file link, the method returns null.
      * 
-     * <pre>{@code<imixs:item name="ITEMNAME" type="xs:string">}</pre>
+     * @param itemName
+     * @return the file link or null
+     * @see ImixsLinkedContent
+     */
+    public static String getItemFileLink(final BPMNModel model, final Element elementNode, String itemName) {
+        ItemIndex index = getItemIndex(model, elementNode);
+        Element item = (index != null) ? index.items.get(itemName) : null;
+        return (item != null) ? getFileLink(item) : null;
+    }
+
+    /**
+     * This helper method returns the file:// links of all items of an element.
+     * 
+     * @return map of item names and file links - can be empty
+     * @see #getItemFileLink(BPMNModel, Element, String)
+     */
+    public static Map<String, String> getItemFileLinks(final BPMNModel model, final Element elementNode) {
+        Map<String, String> result = new LinkedHashMap<>();
+        ItemIndex index = getItemIndex(model, elementNode);
+        if (index != null) {
+            for (Map.Entry<String, Element> entry : index.items.entrySet()) {
+                String fileLink = getFileLink(entry.getValue());
+                if (fileLink != null) {
+                    result.put(entry.getKey(), fileLink);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This method replaces the inlined content of a file linked imixs:value. The
+     * open-bpmn:file-link attribute is not changed. If the item has no file link,
+     * or already holds the given content, the DOM is not changed and the method
+     * returns false.
      * 
-     * @param extensionElement
      * @param itemName
-     * @return
+     * @param content  - the new content of the linked file
+     * @return true if the DOM was changed
      */
-    private static Element findItemByName(Element extensionElement, String itemName) {
-
-        Set<Element> itemElements = findAllImixsElements(extensionElement, "item");
-        // iterate through set and verify the name attribute
-        for (Element item : itemElements) {
-            if (itemName.equals(item.getAttribute("name"))) {
-                // match!
-                return item;
+    public static boolean setItemFileContent(final BPMNModel model, final Element elementNode, final String itemName,
+            final String content) {
+        ItemIndex index = getItemIndex(model, elementNode);
+        Element item = (index != null) ? index.items.get(itemName) : null;
+        if (item == null || getFileLink(item) == null) {
+            return false;
+        }
+        Element valueElement = findAllImixsElements(item, "value").iterator().next();
+        if (!valueElement.hasAttribute("open-bpmn:file-link") || content.equals(getValue(valueElement))) {
+            return false;
+        }
+        index.updating = true;
+        try {
+            while (valueElement.hasChildNodes()) {
+                valueElement.removeChild(valueElement.getFirstChild());
+            }
+            valueElement.appendChild(model.getDoc().createCDATASection(content));
+            List<String> valueList = parseItemValues(item);
+            index.put(itemName, item, valueList);
+            ImixsChangeSet.itemChanged(model, elementNode, itemName);
+        } finally {
+            index.updating = false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the item index for the extensionElements of a given BPMN element.
+     * If no index exists or the existing index is outdated, the method builds a
+     * new one. If the element has no extensionElements the method returns null.
+     * 
+     * @param model
+     * @param elementNode
+     * @return the item index or null
+     */
+    private static ItemIndex getItemIndex(final BPMNModel model, final Element elementNode) {
+        ImixsMetrics.domLookup();
+        ItemIndex index = (ItemIndex) elementNode.getUserData(ITEM_INDEX);
+        if (index != null && index.extensionElement.getParentNode() == elementNode) {
+            return index;
+        }
+        if (index != null) {
+            // the extensionElements were replaced
+            index.dispose();
+        }
+        Element extensionElement = model.findChildNodeByName(elementNode, BPMNNS.BPMN2, "extensionElements");
+        if (extensionElement == null) {
+            return null;
+        }
+        ImixsMetrics.getInstance().count("ImixsExtensionUtil.indexBuilds", 1);
+        return new ItemIndex(elementNode, extensionElement);
+    }
+
+    /**
+     * Discards the item index of a given BPMN element. The index will be rebuilt
+     * on the next read access.
+     * 
+     * @param elementNode
+     */
+    public static void invalidateItemIndex(final Element elementNode) {
+        ItemIndex index = (ItemIndex) elementNode.getUserData(ITEM_INDEX);
+        if (index != null) {
+            index.dispose();
+        }
+    }
+
+    /**
+     * Helper method that parses the imixs:value elements of an imixs:item into a
+     * value list.
+     * 
+     * @param imixsItemElement
+     * @return the unique value list
+     */
+    private static List<String> parseItemValues(Element imixsItemElement) {
+        List<String> valueList = new ArrayList<>();
+        // now iterate over all item:values and add each value into the list
+        // <imixs:value><![CDATA[form_basic]]></imixs:value>
+        Set<Element> imixsValueElements = findAllImixsElements(imixsItemElement, "value");
+        for (Element imixsItemValue : imixsValueElements) {
+            valueList.add(getValue(imixsItemValue));
+        }
+        return uniqueValues(valueList);
+    }
+
+    /**
+     * Helper method returns the file:// link of the first imixs:value of an item,
+     * or null if the item is not linked.
+     */
+    private static String getFileLink(Element imixsItemElement) {
+        Iterator<Element> values = findAllImixsElements(imixsItemElement, "value").iterator();
+        if (!values.hasNext()) {
+            return null;
+        }
+        Element valueElement = values.next();
+        String value = getValue(valueElement);
+        if (value.startsWith("file://")) {
+            return value;
+        }
+        String fileLink = valueElement.getAttribute("open-bpmn:file-link");
+        return fileLink.startsWith("file://") ? fileLink : null;
+    }
+
+    /**
+     * Helper method returns the content of a imixs:value element
+     */
+    private static String getValue(Element imixsItemValue) {
+        // we expect a CDATA, bu we can not be sure
+        Node cdata = findCDATA(imixsItemValue);
+        if (cdata != null) {
+            return cdata.getNodeValue();
+        }
+        // normal text node
+        return imixsItemValue.getTextContent();
+    }
+
+    /**
+     * Helper method verifies if an imixs:item already holds the given type and
+     * exactly the given values in the same order. Whitespace between the
+     * imixs:value elements is ignored. If 'fileLink' is true, the
+     * open-bpmn:file-link attribute is verified too.
+     * <p>
+     * The method compares the DOM without creating any objects.
+     */
+    private static boolean hasItemValues(Element imixsItemElement, String type, List<String> values,
+            boolean fileLink) {
+        if (!imixsItemElement.getAttribute("type").equals(type)) {
+            return false;
+        }
+        String tagName = getNamespace() + ":value";
+        int count = 0;
+        for (Node child = imixsItemElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                if (count >= values.size() || !tagName.equals(child.getNodeName())) {
+                    return false;
+                }
+                Element valueElement = (Element) child;
+                String value = values.get(count++);
+                if (value == null || !value.equals(getValue(valueElement))) {
+                    return false;
+                }
+                if (fileLink && valueElement.hasAttribute("open-bpmn:file-link") != value.startsWith("file://")) {
+                    return false;
+                }
+            } else if (child.getNodeType() != Node.TEXT_NODE || !child.getNodeValue().isBlank()) {
+                return false;
+            }
+        }
+        return count == values.size();
+    }
+
+    /**
+     * Helper method that removes duplicates from a value list. Values with a
+     * label (label|value) are unique by their value part. This is needed as
+     * duplicates can not be handled by the react component.
+     * 
+     * @param valueList
+     * @return the unique value list
+     */
+    private static List<String> uniqueValues(List<String> valueList) {
+        Set<String> uniqueValueSet = new HashSet<>();
+        List<String> result = new ArrayList<>(valueList.size());
+        for (String value : valueList) {
+            // avoid duplicates
+            int pos = value.indexOf('|');
+            String valuePart = (pos > -1) ? value.substring(pos + 1).trim() : value;
+            if (uniqueValueSet.add(valuePart)) {
+                // add value - it is now unique!
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method converts an optional reference list into a Set. A Set is
+     * returned as is.
+     */
+    private static Set<String> toSet(Collection<String> referenceList) {
+        if (referenceList == null || referenceList instanceof Set) {
+            return (Set<String>) referenceList;
+        }
+        return new HashSet<>(referenceList);
+    }
+
+    /**
+     * The ItemIndex maps the item names of a extensionElements node to the
+     * corresponding imixs:item elements and their parsed values.
+     * <p>
+     * The index is stored as user data of the BPMN element node and so it shares
+     * the lifecycle of the DOM. A mutation listener registered on the
+     * extensionElements node discards the index if the content is changed outside
+     * of this class.
+     */
+    private static class ItemIndex implements EventListener {
+        final Element elementNode;
+        final Element extensionElement;
+        final Map<String, Element> items = new LinkedHashMap<>();
+        final Map<String, List<String>> values = new LinkedHashMap<>();
+        boolean updating = false;
+
+        ItemIndex(Element elementNode, Element extensionElement) {
+            this.elementNode = elementNode;
+            this.extensionElement = extensionElement;
+            for (Element item : findAllImixsElements(extensionElement, "item")) {
+                String name = item.getAttribute("name");
+                // first match wins
+                if (!items.containsKey(name)) {
+                    items.put(name, item);
+                    values.put(name, parseItemValues(item));
+                }
+            }
+            // we can only cache the index if we get informed about DOM changes
+            if (extensionElement instanceof EventTarget) {
+                ((EventTarget) extensionElement).addEventListener("DOMSubtreeModified", this, false);
+                elementNode.setUserData(ITEM_INDEX, this, null);
+            }
+        }
+
+        /**
+         * Updates the index for a single item. If the item is null the entry will be
+         * removed.
+         */
+        void put(String itemName, Element item, List<String> valueList) {
+            if (item == null) {
+                items.remove(itemName);
+                values.remove(itemName);
+            } else {
+                items.put(itemName, item);
+                values.put(itemName, uniqueValues(valueList));
+            }
+        }
+
+        /**
+         * Removes the index from the element node and unregisters the mutation
+         * listener.
+         */
+        void dispose() {
+            if (elementNode.getUserData(ITEM_INDEX) == this) {
+                elementNode.setUserData(ITEM_INDEX, null, null);
+            }
+            if (extensionElement instanceof EventTarget) {
+                ((EventTarget) extensionElement).removeEventListener("DOMSubtreeModified", this, false);
+            }
+        }
+
+        /**
+         * Called for each DOM mutation within the extensionElements. Changes not
+         * made by the ImixsExtensionUtil itself invalidate the index.
+         */
+        @Override
+        public void handleEvent(Event evt) {
+            if (!updating) {
+                dispose();
             }
         }
-        return null;
     }
 
     /**
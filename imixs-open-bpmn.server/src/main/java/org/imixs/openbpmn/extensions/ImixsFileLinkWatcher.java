@@ -0,0 +1,425 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.w3c.dom.Element;
+
+/**
+ * The ImixsFileLinkWatcher tracks the files behind the file:// links of all
+ * registered models with a {@link WatchService}. If a linked file changes (e.g.
+ * a business rule script or a mail template) the affected items are marked as
+ * pending.
+ * <p>
+ * File changes often come in bursts (an editor writes a temp file, renames and
+ * touches it). The watcher collects all changes until no further change was
+ * reported for the debounce time (default 300ms, system property
+ * {@code imixs.filelink.debounce}). After that the {@link Listener}s
+ * registered for a model are informed once.
+ * <p>
+ * The DOM of a model is not thread-safe. For that reason the watcher thread
+ * never changes a model. The pending changes are applied by the method
+ * {@link #refresh(BPMNModel)} in the thread owning the model. The method only
+ * updates the affected items and returns an {@link ImixsChangeSet} of the
+ * refreshed elements. A file:// link stays a link - its content is resolved on
+ * demand by the {@link ImixsLinkedContent}.
+ * <p>
+ * Models and their listeners are registered by the
+ * {@link ImixsLinkedContentExtension} on load and save. A model is only weakly
+ * referenced and so it is released together with its diagram and listeners.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsFileLinkWatcher implements Runnable {
+    private static Logger logger = Logger.getLogger(ImixsFileLinkWatcher.class.getName());
+
+    public static final long DEBOUNCE = Long.getLong("imixs.filelink.debounce", 300);
+
+    private static ImixsFileLinkWatcher instance = null;
+
+    /**
+     * A Listener is informed about changed linked files of a model. The method is
+     * called by the watcher thread. A listener must not hold a strong reference
+     * to its model.
+     */
+    public interface Listener {
+        /**
+         * @param model      - the affected model
+         * @param elementIds - ids of the elements with pending changes
+         */
+        void linkedFilesChanged(BPMNModel model, Set<String> elementIds);
+    }
+
+    private WatchService watchService = null;
+    private Thread thread = null;
+    private final Map<Path, WatchKey> directories = new HashMap<Path, WatchKey>();
+    // linked file -> links
+    private final Map<Path, List<FileLink>> links = new HashMap<Path, List<FileLink>>();
+    // model -> element id -> item names
+    private final Map<BPMNModel, Map<String, Set<String>>> pending = new WeakHashMap<BPMNModel, Map<String, Set<String>>>();
+    // model -> listeners
+    private final Map<BPMNModel, List<Listener>> listeners = new WeakHashMap<BPMNModel, List<Listener>>();
+
+    /**
+     * Returns the shared watcher instance
+     */
+    public static synchronized ImixsFileLinkWatcher getInstance() {
+        if (instance == null) {
+            instance = new ImixsFileLinkWatcher();
+        }
+        return instance;
+    }
+
+    /**
+     * Adds a listener informed about changed linked files of the given model. A
+     * listener is only added once.
+     */
+    public synchronized void addListener(final BPMNModel model, final Listener listener) {
+        List<Listener> modelListeners = listeners.computeIfAbsent(model, k -> new ArrayList<Listener>());
+        if (!modelListeners.contains(listener)) {
+            modelListeners.add(listener);
+        }
+    }
+
+    public synchronized void removeListener(final BPMNModel model, final Listener listener) {
+        List<Listener> modelListeners = listeners.get(model);
+        if (modelListeners != null) {
+            modelListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Registers all file:// links of the definitions, tasks and events of a
+     * model. Existing registrations of the model are replaced. The model path
+     * must be known by the {@link ImixsLinkedContent}.
+     *
+     * @param model
+     */
+    public void register(final BPMNModel model) {
+        if (ImixsLinkedContent.getModelPath(model) == null) {
+            return;
+        }
+        // collect the links in the calling thread
+        List<FileLink> modelLinks = new ArrayList<FileLink>();
+        collectLinks(model, model.getDefinitions(), modelLinks);
+        Set<BPMNElementNode> elements = new LinkedHashSet<BPMNElementNode>();
+        elements.addAll(model.findAllActivities());
+        elements.addAll(model.findAllEvents());
+        for (BPMNElementNode element : elements) {
+            collectLinks(model, element.getElementNode(), modelLinks);
+        }
+
+        synchronized (this) {
+            removeLinks(model);
+            for (FileLink link : modelLinks) {
+                links.computeIfAbsent(link.file, k -> new ArrayList<FileLink>()).add(link);
+            }
+            // watch all linked directories - also after a restart of the watch service
+            for (Path file : links.keySet()) {
+                Path dir = file.getParent();
+                if (dir != null && !directories.containsKey(dir)) {
+                    try {
+                        directories.put(dir, dir.register(getWatchService(), StandardWatchEventKinds.ENTRY_CREATE,
+                                StandardWatchEventKinds.ENTRY_MODIFY));
+                    } catch (IOException e) {
+                        logger.warning("...unable to watch directory " + dir + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        logger.fine("..." + modelLinks.size() + " file links registered");
+    }
+
+    /**
+     * Removes all registrations and listeners of a model
+     */
+    public synchronized void unregister(final BPMNModel model) {
+        removeLinks(model);
+        pending.remove(model);
+        listeners.remove(model);
+    }
+
+    /**
+     * Returns true if linked files of the model have changed since the last call
+     * of {@link #refresh(BPMNModel)}.
+     */
+    public synchronized boolean hasPendingChanges(final BPMNModel model) {
+        return pending.containsKey(model);
+    }
+
+    /**
+     * Reloads the content of all changed linked files of a model. Only the
+     * affected items are updated. Items holding a file:// link are not changed
+     * but are listed in the change set, and the cached forms of the affected
+     * elements are discarded. This method must be called in the thread owning
+     * the model.
+     *
+     * @param model
+     * @return the change set of the refreshed elements
+     */
+    public ImixsChangeSet refresh(final BPMNModel model) {
+        Map<String, Set<String>> changes;
+        synchronized (this) {
+            changes = pending.remove(model);
+        }
+        ImixsChangeSet changeSet;
+        ImixsChangeSet.begin(model);
+        try {
+            if (changes != null) {
+                ImixsLinkedContent linkedContent = ImixsLinkedContent.getInstance();
+                ImixsFormCache formCache = ImixsFormCache.getInstance(model);
+                for (Map.Entry<String, Set<String>> entry : changes.entrySet()) {
+                    Element elementNode = findElementNode(model, entry.getKey());
+                    if (elementNode == null) {
+                        continue;
+                    }
+                    for (String itemName : entry.getValue()) {
+                        String link = ImixsExtensionUtil.getItemFileLink(model, elementNode, itemName);
+                        if (link == null) {
+                            continue;
+                        }
+                        if (ImixsLinkedContent.isFileLink(
+                                ImixsExtensionUtil.getItemValueString(model, elementNode, itemName))) {
+                            // the link is kept - the content is resolved on demand
+                            ImixsChangeSet.itemChanged(model, elementNode, itemName);
+                            continue;
+                        }
+                        // update the content inlined by open-bpmn
+                        try {
+                            String content = linkedContent.getContent(ImixsLinkedContent.resolve(model, link));
+                            ImixsExtensionUtil.setItemFileContent(model, elementNode, itemName, content);
+                        } catch (IOException e) {
+                            logger.warning("...unable to read linked file " + link + ": " + e.getMessage());
+                        }
+                    }
+                    // the file content is not tracked by the DOM
+                    formCache.removeForm(entry.getKey());
+                }
+            }
+        } finally {
+            changeSet = ImixsChangeSet.end(model);
+        }
+        return changeSet;
+    }
+
+    /**
+     * The watcher thread collects the changed files until the debounce time
+     * elapsed without a new change. A failing dispatch does not stop the thread.
+     * If the thread stops, the watch service is reset and restarted with the next
+     * registration.
+     */
+    @Override
+    public void run() {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changedFiles = new LinkedHashSet<Path>();
+                WatchKey key = service.take();
+                while (key != null) {
+                    Path dir = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path) {
+                            changedFiles.add(dir.resolve((Path) event.context()).toAbsolutePath().normalize());
+                        }
+                    }
+                    key.reset();
+                    key = service.poll(DEBOUNCE, TimeUnit.MILLISECONDS);
+                }
+                try {
+                    dispatch(changedFiles);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "...failed to dispatch changed linked files: " + e.getMessage(), e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            logger.fine("...file link watcher closed");
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "...file link watcher stopped: " + e.getMessage(), e);
+        } finally {
+            reset(service);
+        }
+    }
+
+    /**
+     * Helper method discards a stopped watch service. The watched directories
+     * are registered again by the next call of {@link #register(BPMNModel)}.
+     */
+    private synchronized void reset(WatchService service) {
+        if (watchService != service) {
+            return;
+        }
+        try {
+            service.close();
+        } catch (IOException e) {
+            logger.fine("...unable to close watch service: " + e.getMessage());
+        }
+        watchService = null;
+        thread = null;
+        directories.clear();
+    }
+
+    /**
+     * Marks the links of the changed files as pending and informs the listeners
+     * once per model.
+     */
+    void dispatch(Set<Path> changedFiles) {
+        Map<BPMNModel, Set<String>> changedModels = new LinkedHashMap<BPMNModel, Set<String>>();
+        synchronized (this) {
+            for (Path file : changedFiles) {
+                List<FileLink> fileLinks = links.get(file);
+                if (fileLinks == null) {
+                    continue;
+                }
+                ImixsLinkedContent.getInstance().invalidate(file);
+                for (Iterator<FileLink> iterator = fileLinks.iterator(); iterator.hasNext();) {
+                    FileLink link = iterator.next();
+                    BPMNModel model = link.model.get();
+                    if (model == null) {
+                        iterator.remove();
+                        continue;
+                    }
+                    pending.computeIfAbsent(model, k -> new LinkedHashMap<String, Set<String>>())
+                            .computeIfAbsent(link.elementId, k -> new LinkedHashSet<String>()).add(link.itemName);
+                    changedModels.computeIfAbsent(model, k -> new LinkedHashSet<String>()).add(link.elementId);
+                }
+                if (fileLinks.isEmpty()) {
+                    links.remove(file);
+                }
+            }
+        }
+        for (Map.Entry<BPMNModel, Set<String>> entry : changedModels.entrySet()) {
+            logger.fine("...linked files changed for " + entry.getValue().size() + " elements");
+            List<Listener> modelListeners;
+            synchronized (this) {
+                modelListeners = new ArrayList<Listener>(listeners.getOrDefault(entry.getKey(), List.of()));
+            }
+            for (Listener listener : modelListeners) {
+                listener.linkedFilesChanged(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the watch service and starts the watcher thread on the first call
+     */
+    private WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            thread = new Thread(this, "imixs-filelink-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return watchService;
+    }
+
+    /**
+     * Helper method removes all links of a model. Directories without links are
+     * no longer watched.
+     */
+    private void removeLinks(BPMNModel model) {
+        for (Iterator<List<FileLink>> iterator = links.values().iterator(); iterator.hasNext();) {
+            List<FileLink> fileLinks = iterator.next();
+            fileLinks.removeIf(link -> link.model.get() == null || link.model.get() == model);
+            if (fileLinks.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        Set<Path> linkedDirectories = new LinkedHashSet<Path>();
+        for (Path file : links.keySet()) {
+            linkedDirectories.add(file.getParent());
+        }
+        for (Iterator<Map.Entry<Path, WatchKey>> iterator = directories.entrySet().iterator(); iterator
+                .hasNext();) {
+            Map.Entry<Path, WatchKey> entry = iterator.next();
+            if (!linkedDirectories.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Helper method collects the file links of an element
+     */
+    private void collectLinks(BPMNModel model, Element elementNode, List<FileLink> result) {
+        if (elementNode == null) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : ImixsExtensionUtil.getItemFileLinks(model, elementNode).entrySet()) {
+            Path file = ImixsLinkedContent.resolve(model, entry.getValue()).toAbsolutePath().normalize();
+            result.add(new FileLink(model, elementNode.getAttribute("id"), entry.getKey(), file));
+        }
+    }
+
+    /**
+     * Helper method returns the element node of a task or event, or the
+     * definitions.
+     */
+    private Element findElementNode(BPMNModel model, String elementId) {
+        Element definitions = model.getDefinitions();
+        if (definitions != null && elementId.equals(definitions.getAttribute("id"))) {
+            return definitions;
+        }
+        BPMNElementNode element = model.findElementNodeById(elementId);
+        return (element != null) ? element.getElementNode() : null;
+    }
+
+    /**
+     * A file link of an item
+     */
+    private static class FileLink {
+        final WeakReference<BPMNModel> model;
+        final String elementId;
+        final String itemName;
+        final Path file;
+
+        FileLink(BPMNModel model, String elementId, String itemName, Path file) {
+            this.model = new WeakReference<BPMNModel>(model);
+            this.elementId = elementId;
+            this.itemName = itemName;
+            this.file = file;
+        }
+    }
+}
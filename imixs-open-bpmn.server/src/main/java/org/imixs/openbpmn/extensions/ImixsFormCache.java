@@ -0,0 +1,229 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.imixs.openbpmn.metrics.ImixsMetrics;
+import org.imixs.openbpmn.model.ImixsGModelFactory;
+import org.imixs.openbpmn.model.ImixsModelListener;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElement;
+import org.w3c.dom.Element;
+
+/**
+ * The ImixsFormCache caches the properties forms of the BPMN elements of a
+ * model. A form is stored as the JSONForms args (data, schema and uischema)
+ * built by all extensions of an element. If the GModel is created again, the
+ * {@link ImixsGModelFactory} takes the args from the cache without calling the
+ * extensions.
+ * <p>
+ * The cache is informed about changes by the {@link ImixsModelListener}. A
+ * modification within the extensionElements of an element discards the forms
+ * of the element and of all its parent elements. Modifications within the
+ * extensionElements of the definitions (e.g. the actor or time field mapping)
+ * discard all forms. Any other modification of the model discards all forms
+ * too, because the forms built by open-bpmn can depend on other elements, like
+ * the signal and message definitions. Modifications within the diagram are
+ * ignored.
+ * <p>
+ * The forms of elements with file:// linked items are not cached, so the
+ * cache holds no copies of linked content.
+ * <p>
+ * The number of cached forms is limited. The least recently used form is
+ * discarded first. The limit can be changed with the system property
+ * {@code imixs.formcache.size}.
+ * <p>
+ * The cache should be fetched by the method {@link #getInstance}. It is stored
+ * together with the model definitions. Hits and misses of all caches are also
+ * counted by the {@link ImixsMetrics}.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsFormCache implements ImixsModelListener.Handler {
+    private static Logger logger = Logger.getLogger(ImixsFormCache.class.getName());
+
+    public static final String FORM_CACHE = "imixs.formcache";
+
+    public static final int DEFAULT_SIZE = 500;
+
+    private final ImixsModelListener listener;
+    private final int maxSize;
+    // element id -> args
+    private final Map<String, Map<String, Object>> forms;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Creates a new empty form cache for the given model.
+     *
+     * @param model
+     */
+    public ImixsFormCache(final BPMNModel model) {
+        this(model, Integer.getInteger("imixs.formcache.size", DEFAULT_SIZE));
+    }
+
+    /**
+     * Creates a new empty form cache for the given model holding at most maxSize
+     * forms.
+     *
+     * @param model
+     * @param maxSize
+     */
+    @SuppressWarnings("serial")
+    public ImixsFormCache(final BPMNModel model, final int maxSize) {
+        this.maxSize = maxSize;
+        forms = new LinkedHashMap<String, Map<String, Object>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+                return size() > ImixsFormCache.this.maxSize;
+            }
+        };
+        listener = ImixsModelListener.getInstance(model);
+        listener.addHandler(this);
+    }
+
+    /**
+     * Returns the ImixsFormCache for a given model. The cache is created on the
+     * first call.
+     *
+     * @param model
+     * @return the shared cache instance
+     */
+    public static ImixsFormCache getInstance(final BPMNModel model) {
+        Element definitionsElementNode = model.getDefinitions();
+        ImixsFormCache cache = (ImixsFormCache) definitionsElementNode.getUserData(FORM_CACHE);
+        if (cache == null) {
+            cache = new ImixsFormCache(model);
+            definitionsElementNode.setUserData(FORM_CACHE, cache, null);
+        }
+        return cache;
+    }
+
+    /**
+     * Discards the cache of a given model.
+     *
+     * @param model
+     */
+    public static void invalidate(final BPMNModel model) {
+        ImixsFormCache cache = (ImixsFormCache) model.getDefinitions().getUserData(FORM_CACHE);
+        if (cache != null) {
+            cache.dispose();
+            model.getDefinitions().setUserData(FORM_CACHE, null, null);
+        }
+    }
+
+    /**
+     * Returns the cached form args of a BPMN element or null if no valid form is
+     * cached.
+     *
+     * @param bpmnElement
+     * @return the JSONForms args or null
+     */
+    public Map<String, Object> getForm(final BPMNElement bpmnElement) {
+        Map<String, Object> args = isCacheable(bpmnElement) ? forms.get(bpmnElement.getId()) : null;
+        if (args != null) {
+            hits++;
+            ImixsMetrics.getInstance().count("ImixsFormCache.hits", 1);
+        } else {
+            misses++;
+            ImixsMetrics.getInstance().count("ImixsFormCache.misses", 1);
+        }
+        return args;
+    }
+
+    /**
+     * Stores the form args built for a BPMN element. The args are only stored if
+     * the cache gets informed about changes of the model and if the element has
+     * no file:// linked items.
+     *
+     * @param bpmnElement
+     * @param args        - JSONForms args
+     */
+    public void putForm(final BPMNElement bpmnElement, final Map<String, Object> args) {
+        if (isCacheable(bpmnElement) && !hasFileLinks(bpmnElement)) {
+            forms.put(bpmnElement.getId(), Collections.unmodifiableMap(new LinkedHashMap<String, Object>(args)));
+        }
+    }
+
+    /**
+     * Discards the cached form of an element. This is needed for changes not
+     * reported by the DOM, like the content of a linked file.
+     *
+     * @param elementId
+     */
+    public void removeForm(final String elementId) {
+        forms.remove(elementId);
+    }
+
+    /**
+     * Returns the number of cached forms.
+     */
+    public int size() {
+        return forms.size();
+    }
+
+    /**
+     * Returns the number of forms served from the cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of forms built by the extensions.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Discards the forms of all elements containing a modified node within
+     * extensionElements. A modification of the definitions extensionElements or
+     * outside of extensionElements discards all forms.
+     */
+    @Override
+    public void modelChanged(ImixsModelListener.Change change) {
+        if (change.isDefinitionsExtension() || !change.isExtensionElements()) {
+            forms.clear();
+            return;
+        }
+        for (String id : change.getElementIds()) {
+            forms.remove(id);
+        }
+    }
+
+    private boolean isCacheable(final BPMNElement bpmnElement) {
+        // we can only cache the form if we get informed about DOM changes
+        String id = bpmnElement.getId();
+        return id != null && !id.isEmpty() && listener.isSupported();
+    }
+
+    private boolean hasFileLinks(final BPMNElement bpmnElement) {
+        Element elementNode = bpmnElement.getElementNode();
+        return elementNode != null
+                && !ImixsExtensionUtil.getItemFileLinks(bpmnElement.getModel(), elementNode).isEmpty();
+    }
+
+    private void dispose() {
+        listener.removeHandler(this);
+        logger.fine("...form cache disposed - " + hits + " hits, " + misses + " misses");
+    }
+}
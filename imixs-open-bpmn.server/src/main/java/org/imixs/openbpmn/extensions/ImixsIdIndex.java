@@ -0,0 +1,564 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.imixs.openbpmn.model.ImixsModelListener;
+import org.imixs.openbpmn.model.ImixsTransitionGraph;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.ModelNotification;
+import org.openbpmn.bpmn.elements.BPMNProcess;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * The ImixsIdIndex is a hashed index of the imixs:processid of all tasks and of
+ * the imixs:activityid of all events of a model. The activityids are scoped to
+ * their source task. The events of a task are the direct successors of the
+ * task, also via an event based gateway.
+ * <p>
+ * The index is used to detect duplicate ids and to compute the next free
+ * processid or activityid without walking the whole model.
+ * <p>
+ * The index should be fetched by the method {@link #getInstance}. It is built
+ * once per model from the process elements and stored together with the model
+ * definitions. Changes of an id, added or removed flow nodes and added, removed
+ * or reconnected sequence flows are applied incrementally. Only if a process is
+ * added or removed the index is rebuilt on the next call of getInstance.
+ * <p>
+ * If an event is connected to its first source task and its activityid is
+ * already used by another event of this task, the event gets the next free
+ * activityid. If an event already connected to a task gets a duplicate
+ * activityid by a new sequence flow, a warning is added to the model
+ * notifications.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsIdIndex implements ImixsModelListener.Handler {
+    private static Logger logger = Logger.getLogger(ImixsIdIndex.class.getName());
+
+    public static final String INDEX_CACHE = "imixs.idindex";
+
+    private final BPMNModel model;
+    private final ImixsModelListener listener;
+    private boolean stale = false;
+
+    // task, event and event based gateway id -> element
+    private final Map<String, Element> nodes = new HashMap<String, Element>();
+    // sequence flow id -> sourceRef, targetRef
+    private final Map<String, String[]> flows = new HashMap<String, String[]>();
+    // node id -> source node ids of the incoming sequence flows
+    private final Map<String, List<String>> incoming = new HashMap<String, List<String>>();
+    // node id -> target node ids of the outgoing sequence flows
+    private final Map<String, List<String>> outgoing = new HashMap<String, List<String>>();
+
+    // task id -> processid
+    private final Map<String, Integer> processIds = new HashMap<String, Integer>();
+    // processid -> task ids
+    private final Map<Integer, Set<String>> tasks = new HashMap<Integer, Set<String>>();
+    private int maxProcessId = 0;
+    // event id -> activityid
+    private final Map<String, Integer> activityIds = new HashMap<String, Integer>();
+    // event id -> source task ids
+    private final Map<String, Set<String>> sources = new HashMap<String, Set<String>>();
+    // task id -> activityid -> event ids
+    private final Map<String, Map<Integer, Set<String>>> events = new HashMap<String, Map<Integer, Set<String>>>();
+
+    /**
+     * Builds the id index for all tasks and events of the given model.
+     *
+     * @param model
+     */
+    public ImixsIdIndex(final BPMNModel model) {
+        long l = System.currentTimeMillis();
+        this.model = model;
+        listener = ImixsModelListener.getInstance(model);
+        List<Element> flowElements = new ArrayList<Element>();
+        for (BPMNProcess process : model.getProcesses()) {
+            for (Node child = process.getElementNode().getFirstChild(); child != null; child = child
+                    .getNextSibling()) {
+                if (child.getNodeType() != Node.ELEMENT_NODE) {
+                    continue;
+                }
+                Element element = (Element) child;
+                if ("sequenceFlow".equals(element.getLocalName())) {
+                    flowElements.add(element);
+                } else if (typeOf(element) != ImixsTransitionGraph.OTHER) {
+                    putNode(element);
+                }
+            }
+        }
+        for (Element flowElement : flowElements) {
+            putFlow(flowElement);
+        }
+        listener.addHandler(this);
+        logger.fine("...id index built for " + processIds.size() + " tasks and " + activityIds.size()
+                + " events in " + (System.currentTimeMillis() - l) + "ms");
+    }
+
+    /**
+     * Returns the ImixsIdIndex for a given model. The index is built on the first
+     * call and rebuilt if a process was added or removed since then.
+     *
+     * @param model
+     * @return the shared index instance
+     */
+    public static ImixsIdIndex getInstance(final BPMNModel model) {
+        Element definitionsElementNode = model.getDefinitions();
+        ImixsIdIndex index = (ImixsIdIndex) definitionsElementNode.getUserData(INDEX_CACHE);
+        if (index == null || index.stale) {
+            if (index != null) {
+                index.dispose();
+            }
+            index = new ImixsIdIndex(model);
+            definitionsElementNode.setUserData(INDEX_CACHE, index, null);
+        }
+        return index;
+    }
+
+    /**
+     * Discards the index of a given model.
+     *
+     * @param model
+     */
+    public static void invalidate(final BPMNModel model) {
+        ImixsIdIndex index = (ImixsIdIndex) model.getDefinitions().getUserData(INDEX_CACHE);
+        if (index != null) {
+            index.dispose();
+            model.getDefinitions().setUserData(INDEX_CACHE, null, null);
+        }
+    }
+
+    /**
+     * Updates the index of a model after the imixs:processid of a task or the
+     * imixs:activityid of an event was changed. If no index exists, the method
+     * changes nothing.
+     * <p>
+     * This method is called by the Imixs extensions.
+     *
+     * @param model
+     * @param elementNode - task or event element
+     */
+    static void keyChanged(final BPMNModel model, final Element elementNode) {
+        if (model.getDefinitions() == null) {
+            return;
+        }
+        ImixsIdIndex index = (ImixsIdIndex) model.getDefinitions().getUserData(INDEX_CACHE);
+        if (index == null || index.stale) {
+            return;
+        }
+        index.updateKey(elementNode);
+    }
+
+    /**
+     * Applies added or removed tasks, events, event based gateways and sequence
+     * flows, reconnected sequence flows and modified ids to the index. If a
+     * process is added or removed the index is marked as stale. Modifications
+     * within the diagram or within extension elements are ignored.
+     */
+    @Override
+    public void modelChanged(ImixsModelListener.Change change) {
+        if (stale || change.isExtensionElements() || !(change.getNode() instanceof Element)) {
+            return;
+        }
+        Element element = (Element) change.getNode();
+        String localName = element.getLocalName();
+        if (ImixsModelListener.ATTR_MODIFIED.equals(change.getType())) {
+            String id = element.getAttribute("id");
+            if (flows.containsKey(id)
+                    && ("sourceRef".equals(change.getAttrName()) || "targetRef".equals(change.getAttrName()))) {
+                removeFlow(id);
+                putFlow(element);
+            } else if (nodes.get(id) == element) {
+                updateKey(element);
+            }
+            return;
+        }
+        if ("process".equals(localName)) {
+            stale = true;
+            dispose();
+            return;
+        }
+        Node parent = element.getParentNode();
+        if (parent == null || !"process".equals(parent.getLocalName())) {
+            return;
+        }
+        boolean inserted = ImixsModelListener.NODE_INSERTED.equals(change.getType());
+        if ("sequenceFlow".equals(localName)) {
+            if (inserted) {
+                putFlow(element);
+            } else {
+                removeFlow(element.getAttribute("id"));
+            }
+        } else if (typeOf(element) != ImixsTransitionGraph.OTHER) {
+            if (inserted) {
+                putNode(element);
+            } else {
+                removeNode(element.getAttribute("id"));
+            }
+        }
+    }
+
+    private void dispose() {
+        listener.removeHandler(this);
+    }
+
+    /**
+     * Returns the next free processid. This is the next hundred above the highest
+     * processid of the model.
+     */
+    public int nextProcessId() {
+        if (maxProcessId < 0) {
+            maxProcessId = 0;
+            for (Integer processId : tasks.keySet()) {
+                maxProcessId = Math.max(maxProcessId, processId);
+            }
+        }
+        return (maxProcessId / 100 + 1) * 100;
+    }
+
+    /**
+     * Returns the next free activityid for a task or an event. For an event all
+     * source tasks are considered. This is the next ten above the highest
+     * activityid of the task events.
+     *
+     * @param elementId - task or event id
+     */
+    public int nextActivityId(final String elementId) {
+        Set<String> taskIds = processIds.containsKey(elementId) ? Collections.singleton(elementId)
+                : sources.getOrDefault(elementId, Collections.emptySet());
+        int max = 0;
+        for (String taskId : taskIds) {
+            for (Integer activityId : events.getOrDefault(taskId, Collections.emptyMap()).keySet()) {
+                max = Math.max(max, activityId);
+            }
+        }
+        return (max / 10 + 1) * 10;
+    }
+
+    /**
+     * Returns the ids of all tasks with the given processid.
+     */
+    public Set<String> getTasks(final int processId) {
+        return Collections.unmodifiableSet(tasks.getOrDefault(processId, Collections.emptySet()));
+    }
+
+    /**
+     * Returns true if the processid of the given task or the activityid of the
+     * given event is used by another element in the same scope.
+     *
+     * @param elementId - task or event id
+     */
+    public boolean isDuplicate(final String elementId) {
+        Integer processId = processIds.get(elementId);
+        if (processId != null) {
+            return tasks.get(processId).size() > 1;
+        }
+        Integer activityId = activityIds.get(elementId);
+        if (activityId != null) {
+            for (String taskId : sources.getOrDefault(elementId, Collections.emptySet())) {
+                if (events.get(taskId).get(activityId).size() > 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ids of all tasks and events with a duplicate id.
+     */
+    public Set<String> findDuplicates() {
+        Set<String> result = new LinkedHashSet<String>();
+        for (Set<String> taskIds : tasks.values()) {
+            if (taskIds.size() > 1) {
+                result.addAll(taskIds);
+            }
+        }
+        for (Map<Integer, Set<String>> taskEvents : events.values()) {
+            for (Set<String> eventIds : taskEvents.values()) {
+                if (eventIds.size() > 1) {
+                    result.addAll(eventIds);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method adds a task, event or event based gateway to the index
+     */
+    private void putNode(Element element) {
+        String id = element.getAttribute("id");
+        nodes.put(id, element);
+        byte type = typeOf(element);
+        if (type == ImixsTransitionGraph.TASK) {
+            int processId = readKey(element, "processid");
+            if (processId != ImixsTransitionGraph.NO_KEY) {
+                putProcessId(id, processId);
+            }
+        } else if (type == ImixsTransitionGraph.CATCH_EVENT) {
+            int activityId = readKey(element, "activityid");
+            if (activityId != ImixsTransitionGraph.NO_KEY) {
+                putActivityId(id, activityId);
+            }
+        }
+        updateScopes(id, true);
+        for (String target : new ArrayList<String>(outgoing.getOrDefault(id, Collections.emptyList()))) {
+            updateScopes(target, true);
+        }
+    }
+
+    /**
+     * Helper method removes a task, event or event based gateway from the index.
+     * The sequence flows of the node are removed separately.
+     */
+    private void removeNode(String id) {
+        Element element = nodes.remove(id);
+        if (element == null) {
+            return;
+        }
+        removeProcessId(id);
+        removeActivityId(id);
+        sources.remove(id);
+        for (String target : new ArrayList<String>(outgoing.getOrDefault(id, Collections.emptyList()))) {
+            updateScopes(target, false);
+        }
+        events.remove(id);
+    }
+
+    /**
+     * Helper method adds a sequence flow to the index and updates the scope of
+     * the events connected by the flow.
+     */
+    private void putFlow(Element element) {
+        String source = element.getAttribute("sourceRef");
+        String target = element.getAttribute("targetRef");
+        flows.put(element.getAttribute("id"), new String[] { source, target });
+        outgoing.computeIfAbsent(source, k -> new ArrayList<String>()).add(target);
+        incoming.computeIfAbsent(target, k -> new ArrayList<String>()).add(source);
+        updateScopes(target, true);
+    }
+
+    /**
+     * Helper method removes a sequence flow from the index and updates the scope
+     * of the events connected by the flow.
+     */
+    private void removeFlow(String id) {
+        String[] flow = flows.remove(id);
+        if (flow == null) {
+            return;
+        }
+        removeEdge(outgoing, flow[0], flow[1]);
+        removeEdge(incoming, flow[1], flow[0]);
+        updateScopes(flow[1], false);
+    }
+
+    private static void removeEdge(Map<String, List<String>> edges, String from, String to) {
+        List<String> nodeIds = edges.get(from);
+        if (nodeIds != null) {
+            nodeIds.remove(to);
+            if (nodeIds.isEmpty()) {
+                edges.remove(from);
+            }
+        }
+    }
+
+    /**
+     * Helper method updates the scope of the given event or of all events
+     * following the given event based gateway.
+     *
+     * @param connected - true if a source may have been added
+     */
+    private void updateScopes(String nodeId, boolean connected) {
+        Element element = nodes.get(nodeId);
+        if (element == null) {
+            return;
+        }
+        byte type = typeOf(element);
+        if (type == ImixsTransitionGraph.CATCH_EVENT) {
+            updateScope(nodeId, connected);
+        } else if (type == ImixsTransitionGraph.EVENTBASED_GATEWAY) {
+            for (String target : new ArrayList<String>(outgoing.getOrDefault(nodeId, Collections.emptyList()))) {
+                if (nodes.containsKey(target) && typeOf(nodes.get(target)) == ImixsTransitionGraph.CATCH_EVENT) {
+                    updateScope(target, connected);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method recomputes the source tasks of an event. If the event was
+     * connected to its first source task and the activityid is already in use,
+     * the event gets the next free activityid. If the event was already connected
+     * a duplicate activityid is reported in the model notifications.
+     */
+    private void updateScope(String eventId, boolean connected) {
+        Set<String> oldSources = sources.getOrDefault(eventId, Collections.emptySet());
+        Set<String> newSources = new LinkedHashSet<String>();
+        for (String source : incoming.getOrDefault(eventId, Collections.emptyList())) {
+            Element element = nodes.get(source);
+            if (element == null) {
+                continue;
+            }
+            byte type = typeOf(element);
+            if (type == ImixsTransitionGraph.TASK) {
+                newSources.add(source);
+            } else if (type == ImixsTransitionGraph.EVENTBASED_GATEWAY) {
+                for (String task : incoming.getOrDefault(source, Collections.emptyList())) {
+                    if (nodes.containsKey(task) && typeOf(nodes.get(task)) == ImixsTransitionGraph.TASK) {
+                        newSources.add(task);
+                    }
+                }
+            }
+        }
+        if (newSources.equals(oldSources)) {
+            return;
+        }
+        Integer activityId = activityIds.get(eventId);
+        removeActivityId(eventId);
+        if (newSources.isEmpty()) {
+            sources.remove(eventId);
+        } else {
+            sources.put(eventId, newSources);
+        }
+        if (activityId == null) {
+            return;
+        }
+        putActivityId(eventId, activityId);
+        if (connected && isDuplicate(eventId)) {
+            Element eventElement = nodes.get(eventId);
+            if (oldSources.isEmpty()) {
+                // the event was not connected yet - assign the next free activityid
+                int nextActivityId = nextActivityId(eventId);
+                logger.fine("...event '" + eventId + "' connected - activityid " + activityId + " changed to "
+                        + nextActivityId);
+                eventElement.setAttribute(ImixsExtensionUtil.getNamespace() + ":activityid", "" + nextActivityId);
+                updateKey(eventElement);
+            } else {
+                logger.warning("...duplicate id in element '" + eventId + "'");
+                model.getNotifications().add(new ModelNotification(ModelNotification.Severity.WARNING,
+                        "Duplicate Id!",
+                        "The Id of the element '" + eventElement.getAttribute("name") + "' is already in use!"));
+            }
+        }
+    }
+
+    /**
+     * Helper method reads the imixs:processid or imixs:activityid of an element
+     * into the index
+     */
+    private void updateKey(Element elementNode) {
+        String id = elementNode.getAttribute("id");
+        if (ImixsExtensionUtil.hasExtensionAttribute(elementNode, "processid")) {
+            int processId = readKey(elementNode, "processid");
+            if (!Integer.valueOf(processId).equals(processIds.get(id))) {
+                removeProcessId(id);
+                if (processId != ImixsTransitionGraph.NO_KEY) {
+                    putProcessId(id, processId);
+                }
+            }
+        } else if (ImixsExtensionUtil.hasExtensionAttribute(elementNode, "activityid")) {
+            int activityId = readKey(elementNode, "activityid");
+            if (!Integer.valueOf(activityId).equals(activityIds.get(id))) {
+                removeActivityId(id);
+                if (activityId != ImixsTransitionGraph.NO_KEY) {
+                    putActivityId(id, activityId);
+                }
+            }
+        }
+    }
+
+    private void putProcessId(String taskId, int processId) {
+        processIds.put(taskId, processId);
+        tasks.computeIfAbsent(processId, k -> new LinkedHashSet<String>()).add(taskId);
+        if (maxProcessId >= 0) {
+            maxProcessId = Math.max(maxProcessId, processId);
+        }
+    }
+
+    private void removeProcessId(String taskId) {
+        Integer processId = processIds.remove(taskId);
+        if (processId == null) {
+            return;
+        }
+        Set<String> taskIds = tasks.get(processId);
+        taskIds.remove(taskId);
+        if (taskIds.isEmpty()) {
+            tasks.remove(processId);
+            if (processId == maxProcessId) {
+                // recompute on the next call of nextProcessId
+                maxProcessId = -1;
+            }
+        }
+    }
+
+    private void putActivityId(String eventId, int activityId) {
+        activityIds.put(eventId, activityId);
+        for (String taskId : sources.getOrDefault(eventId, Collections.emptySet())) {
+            events.computeIfAbsent(taskId, k -> new HashMap<Integer, Set<String>>())
+                    .computeIfAbsent(activityId, k -> new LinkedHashSet<String>()).add(eventId);
+        }
+    }
+
+    private void removeActivityId(String eventId) {
+        Integer activityId = activityIds.remove(eventId);
+        if (activityId == null) {
+            return;
+        }
+        for (String taskId : sources.getOrDefault(eventId, Collections.emptySet())) {
+            Map<Integer, Set<String>> taskEvents = events.get(taskId);
+            Set<String> eventIds = taskEvents.get(activityId);
+            eventIds.remove(eventId);
+            if (eventIds.isEmpty()) {
+                taskEvents.remove(activityId);
+            }
+        }
+    }
+
+    /**
+     * Helper method returns the graph type of a flow node - TASK, CATCH_EVENT or
+     * EVENTBASED_GATEWAY. All other elements are of the type OTHER.
+     */
+    private static byte typeOf(Element element) {
+        byte type = ImixsTransitionGraph.typeOf(element.getLocalName());
+        return (type == ImixsTransitionGraph.EXCLUSIVE_GATEWAY) ? ImixsTransitionGraph.OTHER : type;
+    }
+
+    /**
+     * Helper method reads the imixs:processid or imixs:activityid of an element
+     */
+    private static int readKey(Element elementNode, String name) {
+        String value = ImixsExtensionUtil.getExtensionAttribute(elementNode, name);
+        if (value.isEmpty()) {
+            return ImixsTransitionGraph.NO_KEY;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return ImixsTransitionGraph.NO_KEY;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ImixsItemDefinitionDiff compares two versions of an item definition list
+ * like the txtfieldmapping, the txttimefieldmapping or the txtplugins of the
+ * model definitions. An item definition has the format 'label|value'. The diff
+ * contains the values which were added, removed or got a new label. If a value
+ * is defined more than once, the first definition wins.
+ * <p>
+ * A changed order of the definitions is not a structural change.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsItemDefinitionDiff {
+
+    private final Set<String> added = new LinkedHashSet<String>();
+    private final Set<String> removed = new LinkedHashSet<String>();
+    private final Set<String> relabelled = new LinkedHashSet<String>();
+
+    private ImixsItemDefinitionDiff() {
+    }
+
+    /**
+     * Compares the old and the new version of an item definition list.
+     *
+     * @param oldDefinitions - the stored definitions, can be null
+     * @param newDefinitions - the new definitions, can be null
+     * @return the diff
+     */
+    public static ImixsItemDefinitionDiff compare(final List<String> oldDefinitions,
+            final List<String> newDefinitions) {
+        ImixsItemDefinitionDiff diff = new ImixsItemDefinitionDiff();
+        Map<String, String> oldLabels = labelsByValue(oldDefinitions);
+        Map<String, String> newLabels = labelsByValue(newDefinitions);
+        for (Map.Entry<String, String> entry : oldLabels.entrySet()) {
+            String newLabel = newLabels.get(entry.getKey());
+            if (newLabel == null) {
+                diff.removed.add(entry.getKey());
+            } else if (!newLabel.equals(entry.getValue())) {
+                diff.relabelled.add(entry.getKey());
+            }
+        }
+        for (String value : newLabels.keySet()) {
+            if (!oldLabels.containsKey(value)) {
+                diff.added.add(value);
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Returns the values only contained in the new definitions.
+     */
+    public Set<String> getAdded() {
+        return Collections.unmodifiableSet(added);
+    }
+
+    /**
+     * Returns the values only contained in the old definitions.
+     */
+    public Set<String> getRemoved() {
+        return Collections.unmodifiableSet(removed);
+    }
+
+    /**
+     * Returns the values contained in both definitions with a different label.
+     */
+    public Set<String> getRelabelled() {
+        return Collections.unmodifiableSet(relabelled);
+    }
+
+    /**
+     * Returns all values which were added, removed or relabelled.
+     */
+    public Set<String> getChangedValues() {
+        Set<String> result = new LinkedHashSet<String>(added);
+        result.addAll(removed);
+        result.addAll(relabelled);
+        return result;
+    }
+
+    /**
+     * Returns true if no value was added, removed or relabelled.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && relabelled.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "added=" + added + " removed=" + removed + " relabelled=" + relabelled;
+    }
+
+    private static Map<String, String> labelsByValue(final List<String> definitions) {
+        Map<String, String> result = new LinkedHashMap<String, String>();
+        if (definitions != null) {
+            for (String definition : definitions) {
+                String[] parts = ImixsItemNameMapper.splitItemDefinition(definition);
+                result.putIfAbsent(parts[1], parts[0]);
+            }
+        }
+        return result;
+    }
+}
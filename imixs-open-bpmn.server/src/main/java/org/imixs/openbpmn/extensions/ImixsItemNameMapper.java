@@ -2,9 +2,15 @@ package org.imixs.openbpmn.extensions;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
+import org.imixs.openbpmn.model.ImixsModelListener;
 import org.openbpmn.bpmn.BPMNModel;
 import org.w3c.dom.Element;
 
@@ -17,12 +23,24 @@ import org.w3c.dom.Element;
  * {@code Label|value}
  * 
  * and provides methods to resolve a value by a label and vice versar.
+ * <p>
+ * A mapper should be fetched by the method {@link #getInstance}. The mapper
+ * instances are cached per model and field mapping. A change of the
+ * definitions extensionElements reported by the {@link ImixsModelListener}
+ * discards the cached mappers.
  * 
  */
 public class ImixsItemNameMapper {
+    public static final String MAPPER_CACHE = "imixs.itemnamemapper";
+
     List<String> labels = null;
     List<String> values = null;
     List<String> itemDefinitions = null;
+    String[] itemDefinitionsArray = null;
+    String[] labelsArray = null;
+    Set<String> valueSet = null;
+    Map<String, String> labelsByValue = null;
+    Map<String, String> valuesByLabel = null;
 
     private static Logger logger = Logger.getLogger(ImixsBPMNTaskExtension.class.getName());
 
@@ -45,20 +63,97 @@ public class ImixsItemNameMapper {
 
         // resolve Item References and store the parts in object lists
         Element definitionsElementNode = model.getDefinitions();
-        itemDefinitions = ImixsExtensionUtil.getItemValueList(model, definitionsElementNode, fieldMapping);
-        labels = new ArrayList<String>();
-        values = new ArrayList<String>();
+        itemDefinitions = Collections.unmodifiableList(
+                ImixsExtensionUtil.getItemValueList(model, definitionsElementNode, fieldMapping));
+        List<String> labelList = new ArrayList<String>(itemDefinitions.size());
+        List<String> valueList = new ArrayList<String>(itemDefinitions.size());
+        labelsByValue = new HashMap<String, String>();
+        valuesByLabel = new HashMap<String, String>();
         for (String _itemDef : itemDefinitions) {
-            String[] defParts = _itemDef.split("\\|");
-            if (defParts.length > 1) {
-                labels.add(defParts[0].trim());
-                values.add(defParts[1].trim());
-            } else {
-                labels.add(_itemDef.trim());
-                values.add(_itemDef.trim());
+            String[] parts = splitItemDefinition(_itemDef);
+            String label = parts[0];
+            String value = parts[1];
+            labelList.add(label);
+            valueList.add(value);
+            // the first definition wins
+            labelsByValue.putIfAbsent(value, label);
+            valuesByLabel.putIfAbsent(label, value);
+        }
+        labels = Collections.unmodifiableList(labelList);
+        values = Collections.unmodifiableList(valueList);
+        valueSet = Collections.unmodifiableSet(new HashSet<String>(valueList));
+        itemDefinitionsArray = itemDefinitions.toArray(String[]::new);
+        labelsArray = labels.toArray(String[]::new);
+
+    }
+
+    /**
+     * Splits an item definition 'label|value' into its label and value part. If
+     * the definition has no value part, label and value are the same.
+     * 
+     * @param itemDefinition
+     * @return String array {label, value}
+     */
+    public static String[] splitItemDefinition(String itemDefinition) {
+        String label = itemDefinition.trim();
+        String value = label;
+        int separator = itemDefinition.indexOf('|');
+        if (separator > -1) {
+            // the value part ends with the next separator
+            String rest = itemDefinition.substring(separator + 1);
+            if (!rest.replace("|", "").isEmpty()) {
+                int end = rest.indexOf('|');
+                label = itemDefinition.substring(0, separator).trim();
+                value = (end > -1 ? rest.substring(0, end) : rest).trim();
             }
         }
+        return new String[] { label, value };
+    }
 
+    /**
+     * Returns the cached ImixsItemNameMapper for a given model and fieldMapping.
+     * The mapper is created on the first call and stored together with the model
+     * definitions. If the DOM does not support mutation events, a new mapper is
+     * returned for each call.
+     * 
+     * @param model
+     * @param fieldMapping
+     * @return the shared mapper instance
+     */
+    public static ImixsItemNameMapper getInstance(final BPMNModel model, final String fieldMapping) {
+        Element definitionsElementNode = model.getDefinitions();
+        Cache cache = (Cache) definitionsElementNode.getUserData(MAPPER_CACHE);
+        if (cache == null) {
+            ImixsModelListener listener = ImixsModelListener.getInstance(model);
+            // we can only cache the mapper if we get informed about DOM changes
+            if (!listener.isSupported()) {
+                return new ImixsItemNameMapper(model, fieldMapping);
+            }
+            cache = new Cache();
+            listener.addHandler(cache);
+            definitionsElementNode.setUserData(MAPPER_CACHE, cache, null);
+        }
+        ImixsItemNameMapper mapper = cache.mappers.get(fieldMapping);
+        if (mapper == null) {
+            mapper = new ImixsItemNameMapper(model, fieldMapping);
+            cache.mappers.put(fieldMapping, mapper);
+        }
+        return mapper;
+    }
+
+    /**
+     * Discards the cached ImixsItemNameMapper for a given fieldMapping. Changes of
+     * the field mapping discard the mapper automatically, so this method is only
+     * needed if the definitions were replaced.
+     * 
+     * @param model
+     * @param fieldMapping
+     */
+    public static void invalidate(final BPMNModel model, final String fieldMapping) {
+        Cache cache = (Cache) model.getDefinitions().getUserData(MAPPER_CACHE);
+        if (cache != null) {
+            cache.mappers.remove(fieldMapping);
+        }
     }
 
     /**
@@ -79,6 +174,16 @@ public class ImixsItemNameMapper {
         return values;
     }
 
+    /**
+     * Returns the values as a Set. This is useful to verify values against the
+     * field mapping.
+     * 
+     * @return
+     */
+    public Set<String> getValueSet() {
+        return valueSet;
+    }
+
     /**
      * Returns the ItemDefinition list containing label|value
      * 
@@ -88,6 +193,17 @@ public class ImixsItemNameMapper {
         return itemDefinitions;
     }
 
+    /**
+     * Returns the ItemDefinitions as a String Array. It can be used as the enum
+     * option list of a JSONForms schema property. The array is a copy of the
+     * cached definitions.
+     * 
+     * @return String array with all item definitions (label|value)
+     */
+    public String[] getItemDefinitionsArray() {
+        return itemDefinitionsArray.clone();
+    }
+
     /**
      * Resolves the label for a given value
      * 
@@ -95,12 +211,8 @@ public class ImixsItemNameMapper {
      * @return
      */
     public String resolveLabel(String _ref) {
-        int refIndex = values.indexOf(_ref);
-        if (refIndex > -1) {
-            return labels.get(refIndex);
-        }
         // not found
-        return "";
+        return labelsByValue.getOrDefault(_ref, "");
     }
 
     /**
@@ -110,12 +222,8 @@ public class ImixsItemNameMapper {
      * @return
      */
     public String resolveValue(String _ref) {
-        int refIndex = labels.indexOf(_ref);
-        if (refIndex > -1) {
-            return values.get(refIndex);
-        }
         // not found
-        return "";
+        return valuesByLabel.getOrDefault(_ref, "");
     }
 
     /**
@@ -124,10 +232,25 @@ public class ImixsItemNameMapper {
      * @return String array with all labels
      */
     public String[] getLabelsArray() {
-        if (labels != null) {
-            return labels.toArray(String[]::new);
+        if (labelsArray != null) {
+            return labelsArray.clone();
         }
         // no defintion
         return new String[] { "" };
     }
+
+    /**
+     * Holds the mappers of a model by their field mapping. A modification of the
+     * definitions extensionElements discards all mappers.
+     */
+    private static class Cache implements ImixsModelListener.Handler {
+        final Map<String, ImixsItemNameMapper> mappers = new HashMap<String, ImixsItemNameMapper>();
+
+        @Override
+        public void modelChanged(ImixsModelListener.Change change) {
+            if (change.isDefinitionsExtension()) {
+                mappers.clear();
+            }
+        }
+    }
 }
@@ -0,0 +1,273 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.openbpmn.bpmn.BPMNModel;
+import org.w3c.dom.Element;
+
+/**
+ * The ImixsLinkedContent resolves the content of file:// links on demand.
+ * Items like 'txtbusinessrule', 'rtfmailbody', 'form.definition' or
+ * 'rtfresultlog' can link to large external scripts and templates. A link is
+ * resolved relative to the model file.
+ * <p>
+ * The content is held in a bounded LRU cache keyed by the file path. A cache
+ * entry is only valid as long as the last modified time and the size of the
+ * file did not change. The cache is limited by the total size of the cached
+ * content (default 16 MB, system property
+ * {@code imixs.linkedcontent.cachesize}). A file exceeding the whole cache is
+ * not cached.
+ * <p>
+ * Files larger than the inline size (default 1 MB, system property
+ * {@code imixs.linkedcontent.inlinesize}) are not resolved by
+ * {@link #getItemContent}. The properties form shows the link instead of the
+ * content.
+ * <p>
+ * The model path is registered by the {@link ImixsLinkedContentExtension} on
+ * load and save of a model.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsLinkedContent {
+    private static Logger logger = Logger.getLogger(ImixsLinkedContent.class.getName());
+
+    public static final String MODEL_PATH = "imixs.modelpath";
+    public static final String FILE_LINK_PREFIX = "file://";
+
+    private static final long DEFAULT_INLINE_SIZE = Long.getLong("imixs.linkedcontent.inlinesize", 1024 * 1024);
+
+    private static final ImixsLinkedContent instance = new ImixsLinkedContent(
+            Long.getLong("imixs.linkedcontent.cachesize", 16 * 1024 * 1024), DEFAULT_INLINE_SIZE);
+
+    private final long maxCacheSize;
+    private final long maxInlineSize;
+    private long cacheSize = 0;
+    private final LinkedHashMap<Path, CacheEntry> cache = new LinkedHashMap<Path, CacheEntry>(16, 0.75f, true);
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxCacheSize - maximum size of all cached content in bytes
+     */
+    public ImixsLinkedContent(long maxCacheSize) {
+        this(maxCacheSize, DEFAULT_INLINE_SIZE);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxCacheSize  - maximum size of all cached content in bytes
+     * @param maxInlineSize - maximum size of a file resolved by getItemContent
+     */
+    public ImixsLinkedContent(long maxCacheSize, long maxInlineSize) {
+        this.maxCacheSize = maxCacheSize;
+        this.maxInlineSize = maxInlineSize;
+    }
+
+    /**
+     * Returns the shared instance
+     */
+    public static ImixsLinkedContent getInstance() {
+        return instance;
+    }
+
+    /**
+     * Stores the file path of a model together with the model definitions.
+     *
+     * @param model
+     * @param path  - model file
+     */
+    public static void setModelPath(final BPMNModel model, final Path path) {
+        if (model.getDefinitions() != null) {
+            model.getDefinitions().setUserData(MODEL_PATH, path, null);
+        }
+    }
+
+    /**
+     * Returns the file path of a model or null if unknown.
+     */
+    public static Path getModelPath(final BPMNModel model) {
+        if (model.getDefinitions() == null) {
+            return null;
+        }
+        return (Path) model.getDefinitions().getUserData(MODEL_PATH);
+    }
+
+    /**
+     * Returns true if the value is a file:// link
+     */
+    public static boolean isFileLink(final String value) {
+        return value != null && value.startsWith(FILE_LINK_PREFIX);
+    }
+
+    /**
+     * Resolves a file:// link relative to the model file. If the model path is
+     * unknown, the link is resolved relative to the working directory.
+     *
+     * @param model
+     * @param link  - file:// link
+     * @return the file path
+     */
+    public static Path resolve(final BPMNModel model, final String link) {
+        String fileName = link.substring(FILE_LINK_PREFIX.length());
+        Path modelPath = getModelPath(model);
+        Path parent = (modelPath != null) ? modelPath.toAbsolutePath().getParent() : null;
+        return (parent != null) ? parent.resolve(fileName) : Path.of(fileName);
+    }
+
+    /**
+     * Returns the content of an item. If the item value is a file:// link, the
+     * method returns the content of the linked file. Otherwise the method
+     * returns the item value, which is also the case for linked content already
+     * inlined by open-bpmn. A link to a file exceeding the inline size is not
+     * resolved and the method returns the link.
+     *
+     * @param model
+     * @param elementNode
+     * @param itemName
+     * @return the content
+     * @throws IOException if the linked file can not be read
+     */
+    public String getItemContent(final BPMNModel model, final Element elementNode, final String itemName)
+            throws IOException {
+        String value = ImixsExtensionUtil.getItemValueString(model, elementNode, itemName);
+        if (!isFileLink(value)) {
+            return value;
+        }
+        Path file = resolve(model, value);
+        if (Files.size(file) > maxInlineSize) {
+            logger.fine("...linked content " + file + " exceeds the inline size");
+            return value;
+        }
+        return getContent(file);
+    }
+
+    /**
+     * Returns the content of a file in UTF-8. The file is read only once as long
+     * as it is not modified and fits into the cache.
+     *
+     * @param file
+     * @return the content
+     */
+    public String getContent(final Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        Path key = file.toAbsolutePath().normalize();
+        synchronized (cache) {
+            CacheEntry entry = cache.get(key);
+            if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+                return entry.content;
+            }
+        }
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        CacheEntry entry = new CacheEntry(lastModified, size, content);
+        if (entry.weight <= maxCacheSize) {
+            put(key, entry);
+        } else {
+            logger.fine("...linked content " + key + " exceeds the cache size");
+        }
+        return content;
+    }
+
+    /**
+     * Removes a file from the cache
+     */
+    public void invalidate(final Path file) {
+        synchronized (cache) {
+            CacheEntry entry = cache.remove(file.toAbsolutePath().normalize());
+            if (entry != null) {
+                cacheSize -= entry.weight;
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            cacheSize = 0;
+        }
+    }
+
+    /**
+     * Returns the size of the cached content in bytes
+     */
+    public long getCacheSize() {
+        synchronized (cache) {
+            return cacheSize;
+        }
+    }
+
+    /**
+     * Returns the number of cached files
+     */
+    public int getCacheCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Helper method adds an entry and evicts the least recently used entries
+     * until the cache fits into the maximum size.
+     */
+    private void put(Path key, CacheEntry entry) {
+        synchronized (cache) {
+            CacheEntry oldEntry = cache.put(key, entry);
+            cacheSize += entry.weight - (oldEntry != null ? oldEntry.weight : 0);
+            Iterator<Map.Entry<Path, CacheEntry>> iterator = cache.entrySet().iterator();
+            while (cacheSize > maxCacheSize && iterator.hasNext()) {
+                Map.Entry<Path, CacheEntry> eldest = iterator.next();
+                cacheSize -= eldest.getValue().weight;
+                iterator.remove();
+                logger.finest("...evicted linked content " + eldest.getKey());
+            }
+        }
+    }
+
+    /**
+     * A cached file content
+     */
+    private static class CacheEntry {
+        final long lastModified;
+        final long size;
+        final String content;
+        // approximate heap size of the content
+        final long weight;
+
+        CacheEntry(long lastModified, long size, String content) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.content = content;
+            this.weight = 2L * content.length();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.extensions;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.eclipse.glsp.server.actions.ActionDispatcher;
+import org.imixs.openbpmn.operations.ImixsRefreshLinkedFilesOperation;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.extensions.BPMNModelExtension;
+
+import com.google.inject.Inject;
+
+/**
+ * The ImixsLinkedContentExtension registers the file path of a model on the
+ * load and save event. The path is needed by the {@link ImixsLinkedContent} to
+ * resolve file:// links on demand.
+ * <p>
+ * The file links of the model are registered by the
+ * {@link ImixsFileLinkWatcher}. If a linked file changes, the extension
+ * dispatches an {@link ImixsRefreshLinkedFilesOperation}, so the changes are
+ * applied in the thread owning the model. The watcher can be disabled with the
+ * system property {@code imixs.filelink.watch=false}.
+ * 
+ * @author rsoika
+ */
+public class ImixsLinkedContentExtension implements BPMNModelExtension {
+
+    private boolean watch = Boolean.parseBoolean(System.getProperty("imixs.filelink.watch", "true"));
+
+    @Inject
+    protected ActionDispatcher actionDispatcher;
+
+    private final ImixsFileLinkWatcher.Listener listener = this::linkedFilesChanged;
+
+    @Override
+    public int getPriority() {
+        return 103;
+    }
+
+    @Override
+    public void onLoad(BPMNModel model, Path path) {
+        ImixsLinkedContent.setModelPath(model, path);
+        if (watch) {
+            ImixsFileLinkWatcher watcher = ImixsFileLinkWatcher.getInstance();
+            watcher.register(model);
+            watcher.addListener(model, listener);
+        }
+    }
+
+    @Override
+    public void onSave(BPMNModel model, Path path) {
+        ImixsLinkedContent.setModelPath(model, path);
+        if (watch) {
+            ImixsFileLinkWatcher.getInstance().register(model);
+        }
+    }
+
+    /**
+     * Dispatches the refresh of the changed linked files. The method is called by
+     * the watcher thread.
+     */
+    private void linkedFilesChanged(BPMNModel model, Set<String> elementIds) {
+        if (actionDispatcher != null) {
+            actionDispatcher.dispatch(new ImixsRefreshLinkedFilesOperation());
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The ImixsMetrics collect timings and counts of the Imixs extensions. A
+ * histogram records the latency of a method in microseconds, or the number of
+ * DOM lookups of a single request. A counter sums up a value, e.g. the number
+ * of elements validated.
+ * <p>
+ * The metrics are exposed by the {@link ImixsMetricsMXBean} registered in the
+ * platform MBeanServer, and are written as a summary to the log in a fixed
+ * interval. The interval in seconds can be set with the system property
+ * {@code imixs.metrics.interval} (default 300). A value of 0 disables the log
+ * summary. The summary is only written if new values were recorded.
+ * <p>
+ * The metrics should be fetched by the method {@link #getInstance}. Values are
+ * always recorded, but the MBean and the log summary are only started by the
+ * method {@link #start}, which is called by the server launcher. The linter
+ * and the tests do not publish the metrics.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsMetrics implements ImixsMetricsMXBean {
+    private static Logger logger = Logger.getLogger(ImixsMetrics.class.getName());
+
+    public static final String OBJECT_NAME = "org.imixs.openbpmn:type=ImixsMetrics";
+
+    private static final ImixsMetrics INSTANCE = new ImixsMetrics();
+
+    // DOM lookups of the current thread
+    private static final ThreadLocal<long[]> domLookups = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<String, LongAdder>();
+    private final AtomicLong updates = new AtomicLong();
+    private long lastSummary = 0;
+    private boolean started = false;
+
+    ImixsMetrics() {
+    }
+
+    /**
+     * Returns the shared metrics instance.
+     */
+    public static ImixsMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the MBean of the shared instance and starts the log summary. The
+     * method has no effect if the metrics were already started.
+     */
+    public static void start() {
+        INSTANCE.publish();
+    }
+
+    private synchronized void publish() {
+        if (started) {
+            return;
+        }
+        started = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (Exception | LinkageError e) {
+            logger.log(Level.WARNING, "...failed to register metrics MBean: " + e.getMessage());
+        }
+        long interval = Long.getLong("imixs.metrics.interval", 300);
+        if (interval > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "imixs-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::logSummary, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Counts a DOM lookup of the current thread. This method is called by the
+     * ImixsExtensionUtil.
+     */
+    public static void domLookup() {
+        domLookups.get()[0]++;
+    }
+
+    /**
+     * Returns the number of DOM lookups of the current thread. The difference of
+     * two calls is the number of lookups in between.
+     */
+    public static long getDomLookups() {
+        return domLookups.get()[0];
+    }
+
+    /**
+     * Records the latency of a request started at the given time and the DOM
+     * lookups since then. The DOM lookups are recorded in the histogram
+     * 'name.domLookups'.
+     *
+     * @param name          - metric name
+     * @param startNanos    - System.nanoTime() at the start of the request
+     * @param startLookups  - getDomLookups() at the start of the request
+     */
+    public void record(final String name, final long startNanos, final long startLookups) {
+        record(name, startNanos);
+        histogram(name + ".domLookups").update(getDomLookups() - startLookups);
+    }
+
+    /**
+     * Records the latency of a request started at the given time.
+     *
+     * @param name       - metric name
+     * @param startNanos - System.nanoTime() at the start of the request
+     */
+    public void record(final String name, final long startNanos) {
+        histogram(name).update((System.nanoTime() - startNanos) / 1000);
+    }
+
+    /**
+     * Adds a value to a counter.
+     *
+     * @param name  - counter name
+     * @param delta - value to add
+     */
+    public void count(final String name, final long delta) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+        updates.incrementAndGet();
+    }
+
+    /**
+     * Returns the current value of a counter.
+     */
+    public long getCounter(final String name) {
+        LongAdder counter = counters.get(name);
+        return (counter == null) ? 0 : counter.sum();
+    }
+
+    /**
+     * Returns a snapshot of a histogram or null if no value was recorded.
+     */
+    public Snapshot getHistogram(final String name) {
+        Histogram histogram = histograms.get(name);
+        return (histogram == null) ? null : histogram.snapshot();
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<String, Long>();
+        counters.forEach((name, counter) -> result.put(name, counter.sum()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Snapshot> getHistograms() {
+        Map<String, Snapshot> result = new TreeMap<String, Snapshot>();
+        histograms.forEach((name, histogram) -> result.put(name, histogram.snapshot()));
+        return result;
+    }
+
+    @Override
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        getHistograms().forEach((name, snapshot) -> summary.append(name).append(": ").append(snapshot)
+                .append(System.lineSeparator()));
+        getCounters().forEach((name, value) -> summary.append(name).append(": ").append(value)
+                .append(System.lineSeparator()));
+        return summary.toString();
+    }
+
+    @Override
+    public void reset() {
+        histograms.clear();
+        counters.clear();
+    }
+
+    /**
+     * Writes the summary to the log if new values were recorded since the last
+     * summary.
+     */
+    void logSummary() {
+        long current = updates.get();
+        if (current == lastSummary) {
+            return;
+        }
+        lastSummary = current;
+        logger.info("...metrics summary (latency in microseconds):" + System.lineSeparator() + getSummary());
+    }
+
+    private Histogram histogram(final String name) {
+        updates.incrementAndGet();
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    /**
+     * A histogram with exponential buckets. Bucket i holds the values from 2^(i-1)
+     * to 2^i-1. Percentiles are estimated by the upper bound of a bucket.
+     */
+    static class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void update(long value) {
+            value = Math.max(0, value);
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+            count.increment();
+            sum.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        Snapshot snapshot() {
+            long[] values = new long[buckets.length()];
+            long total = 0;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buckets.get(i);
+                total += values[i];
+            }
+            long maxValue = max.get();
+            return new Snapshot(total, (total == 0) ? 0 : sum.sum() / total, percentile(values, total, 0.5, maxValue),
+                    percentile(values, total, 0.95, maxValue), percentile(values, total, 0.99, maxValue), maxValue);
+        }
+
+        private static long percentile(long[] values, long total, double quantile, long maxValue) {
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < values.length; i++) {
+                seen += values[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min((i == 0) ? 0 : (1L << i) - 1, maxValue);
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * The values of a histogram at a point of time.
+     */
+    public static class Snapshot {
+        private final long count;
+        private final long mean;
+        private final long p50;
+        private final long p95;
+        private final long p99;
+        private final long max;
+
+        public Snapshot(long count, long mean, long p50, long p95, long p99, long max) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + " mean=" + mean + " p50=" + p50 + " p95=" + p95 + " p99=" + p99 + " max="
+                    + max;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link ImixsMetrics} registered in the
+ * platform MBeanServer under the name {@link ImixsMetrics#OBJECT_NAME}.
+ *
+ * @author rsoika
+ *
+ */
+public interface ImixsMetricsMXBean {
+
+    /**
+     * Returns the current value of all counters.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns a snapshot of all histograms.
+     */
+    Map<String, ImixsMetrics.Snapshot> getHistograms();
+
+    /**
+     * Returns a text summary of all counters and histograms.
+     */
+    String getSummary();
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+}
@@ -0,0 +1,265 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.model;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.openbpmn.bpmn.elements.Event;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+
+/**
+ * The ImixsBPMNEventIterator iterates over the events processed by a workitem
+ * starting with a given catch event. The iteration follows the outgoing
+ * sequence flow of each event until a task is reached:
+ * <ul>
+ * <li>a catch event is a follow-up event and continues the iteration</li>
+ * <li>an exclusive gateway is resolved by the conditions of its outgoing
+ * flows, or by its default flow</li>
+ * <li>an event-based gateway continues with the first target event triggered,
+ * otherwise the iteration ends and the workitem waits at the gateway</li>
+ * <li>a task ends the iteration. The task is returned by
+ * {@link #getTargetTask()}</li>
+ * </ul>
+ * If an event or gateway is reached twice within one iteration, the iterator
+ * throws an IllegalStateException.
+ * <p>
+ * The iterator navigates on the precomputed {@link ImixsTransitionGraph} of the
+ * model. Each step is a lookup in the graph and does not allocate any
+ * objects.
+ *
+ * <pre>
+ * ImixsBPMNEventIterator eventIterator = new ImixsBPMNEventIterator(event, evaluator);
+ * while (eventIterator.hasNext()) {
+ *     Event event = eventIterator.next();
+ *     ....
+ * }
+ * BPMNElementNode task = eventIterator.getTargetTask();
+ * </pre>
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsBPMNEventIterator implements Iterator<Event> {
+
+    /**
+     * The ConditionEvaluator is used to resolve gateways. The default evaluator
+     * evaluates all conditions to false so that an exclusive gateway always
+     * follows its default flow.
+     */
+    public interface ConditionEvaluator {
+
+        /**
+         * Returns true if the condition of a sequence flow is fulfilled
+         */
+        boolean evaluate(String condition);
+
+        /**
+         * Returns true if the given target event of an event-based gateway was
+         * triggered.
+         */
+        default boolean isTriggered(Event event) {
+            return false;
+        }
+    }
+
+    public static final ConditionEvaluator DEFAULT_EVALUATOR = condition -> false;
+
+    private final ImixsTransitionGraph graph;
+    private final ConditionEvaluator evaluator;
+    private int next = -1;
+    private int current = -1;
+    private boolean resolved = true;
+    private int targetTask = -1;
+    private int gateway = -1;
+    // nodes visited during the iteration to detect cycles
+    private int[] path = new int[8];
+    private int pathSize = 0;
+
+    public ImixsBPMNEventIterator(final Event event) {
+        this(event, DEFAULT_EVALUATOR);
+    }
+
+    /**
+     * Creates a new iterator starting with the given catch event.
+     *
+     * @param event     - the catch event to start with
+     * @param evaluator - evaluator to resolve gateways
+     */
+    public ImixsBPMNEventIterator(final Event event, final ConditionEvaluator evaluator) {
+        if (event == null || event.getModel() == null) {
+            throw new IllegalArgumentException("ImixsBPMNEventIterator requires an event of a BPMN model!");
+        }
+        this.evaluator = (evaluator != null) ? evaluator : DEFAULT_EVALUATOR;
+        this.graph = ImixsTransitionGraph.getInstance(event.getModel());
+        int index = graph.indexOf(event.getId());
+        if (index < 0 || graph.getType(index) != ImixsTransitionGraph.CATCH_EVENT) {
+            throw new IllegalArgumentException("Element '" + event.getId() + "' is not a catch event!");
+        }
+        visit(index);
+        next = index;
+    }
+
+    /**
+     * Returns {@code true} if the iteration has still an event to be processed.
+     * (In other words, returns {@code true} if {@link #next} would return a valid
+     * event rather than throwing an exception.)
+     * <p>
+     * Gateways are resolved on the first call after an event was returned by
+     * {@link #next}, so the evaluator can see the result of the processing of
+     * that event.
+     *
+     * @return {@code true} if the iteration has more events
+     */
+    @Override
+    public boolean hasNext() {
+        if (!resolved) {
+            resolved = true;
+            resolve();
+        }
+        return next >= 0;
+    }
+
+    /**
+     * Returns the next event in the iteration.
+     */
+    @Override
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more Events defined!");
+        }
+        // An imixs event must have exactly one outgoing flow
+        if (graph.getTargetCount(next) != 1) {
+            throw new IllegalStateException("An Imixs Event '" + graph.getNode(next).getId()
+                    + "' must have exactly one outgoing SequenceFlow!");
+        }
+        current = next;
+        next = -1;
+        resolved = false;
+        return (Event) graph.getNode(current);
+    }
+
+    /**
+     * Returns the task reached at the end of the iteration or null if the
+     * iteration is not yet completed or ended without a task (e.g. at an end
+     * event or an event-based gateway).
+     */
+    public BPMNElementNode getTargetTask() {
+        return (targetTask >= 0) ? graph.getNode(targetTask) : null;
+    }
+
+    /**
+     * Returns the event-based gateway the iteration ended at, because none of
+     * its target events was triggered. Otherwise the method returns null.
+     */
+    public BPMNElementNode getWaitingGateway() {
+        return (gateway >= 0) ? graph.getNode(gateway) : null;
+    }
+
+    /**
+     * Follows the outgoing flow of the current event to the next event or the
+     * end of the iteration
+     */
+    private void resolve() {
+        int node = graph.getTarget(current, 0);
+        while (true) {
+            switch (graph.getType(node)) {
+            case ImixsTransitionGraph.CATCH_EVENT:
+                visit(node);
+                next = node;
+                return;
+            case ImixsTransitionGraph.TASK:
+                targetTask = node;
+                return;
+            case ImixsTransitionGraph.EXCLUSIVE_GATEWAY:
+                visit(node);
+                node = resolveExclusiveGateway(node);
+                break;
+            case ImixsTransitionGraph.EVENTBASED_GATEWAY:
+                visit(node);
+                node = resolveEventBasedGateway(node);
+                if (node < 0) {
+                    gateway = path[pathSize - 1];
+                    return;
+                }
+                break;
+            default:
+                // end event or an unsupported element
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the target of the first outgoing flow with a fulfilled condition.
+     * A flow without a condition is always fulfilled. If no condition matches,
+     * the default flow is returned.
+     */
+    private int resolveExclusiveGateway(int node) {
+        int defaultTarget = graph.getDefaultTarget(node);
+        int count = graph.getTargetCount(node);
+        for (int i = 0; i < count; i++) {
+            int target = graph.getTarget(node, i);
+            if (target == defaultTarget) {
+                continue;
+            }
+            String condition = graph.getCondition(node, i);
+            if (condition == null || evaluator.evaluate(condition)) {
+                return target;
+            }
+        }
+        if (defaultTarget < 0) {
+            throw new IllegalStateException(
+                    "Gateway '" + graph.getNode(node).getId() + "' has no matching condition and no default flow!");
+        }
+        return defaultTarget;
+    }
+
+    /**
+     * Returns the first triggered target event of an event-based gateway or -1
+     */
+    private int resolveEventBasedGateway(int node) {
+        int count = graph.getTargetCount(node);
+        for (int i = 0; i < count; i++) {
+            int target = graph.getTarget(node, i);
+            if (graph.getType(target) == ImixsTransitionGraph.CATCH_EVENT
+                    && evaluator.isTriggered((Event) graph.getNode(target))) {
+                return target;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a node to the path of the iteration. If the node was already visited
+     * the method throws an IllegalStateException. The path is typically only a
+     * few elements long.
+     */
+    private void visit(int node) {
+        for (int i = 0; i < pathSize; i++) {
+            if (path[i] == node) {
+                throw new IllegalStateException(
+                        "Cycle detected - element '" + graph.getNode(node).getId() + "' was reached twice!");
+            }
+        }
+        if (pathSize == path.length) {
+            int[] newPath = new int[path.length * 2];
+            System.arraycopy(path, 0, newPath, 0, pathSize);
+            path = newPath;
+        }
+        path[pathSize++] = node;
+    }
+}
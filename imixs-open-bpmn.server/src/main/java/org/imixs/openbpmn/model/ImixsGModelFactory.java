@@ -0,0 +1,72 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.model;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.glsp.graph.GModelElement;
+import org.imixs.openbpmn.extensions.ImixsExtensionRegistry;
+import org.imixs.openbpmn.extensions.ImixsFormCache;
+import org.openbpmn.bpmn.elements.core.BPMNElement;
+import org.openbpmn.glsp.model.BPMNGModelFactory;
+
+import com.google.inject.Inject;
+
+/**
+ * The ImixsGModelFactory extends the BPMNGModelFactory and caches the
+ * properties forms of the BPMN elements in the {@link ImixsFormCache}.
+ * <p>
+ * The GModel is created again after each model operation. If an element was
+ * not modified since then, the JSONForms args of the element are taken from
+ * the cache and the extensions are not called. Only the forms of elements
+ * handled by an Imixs extension are cached. The Imixs extensions of an element
+ * are resolved by the {@link ImixsExtensionRegistry}. The forms of all other
+ * elements are built by open-bpmn each time.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsGModelFactory extends BPMNGModelFactory {
+
+    @Inject
+    protected ImixsExtensionRegistry extensionRegistry;
+
+    @Override
+    public void applyBPMNElementExtensions(final GModelElement gNodeElement, final BPMNElement bpmnElement) {
+        if (extensionRegistry.getExtensions(bpmnElement).isEmpty()) {
+            super.applyBPMNElementExtensions(gNodeElement, bpmnElement);
+            return;
+        }
+        ImixsFormCache formCache = ImixsFormCache.getInstance(bpmnElement.getModel());
+        Map<String, Object> form = formCache.getForm(bpmnElement);
+        if (form != null) {
+            gNodeElement.getArgs().putAll(form);
+            return;
+        }
+        Map<String, Object> args = new HashMap<String, Object>(gNodeElement.getArgs());
+        super.applyBPMNElementExtensions(gNodeElement, bpmnElement);
+        // cache all args set by the extensions
+        form = new LinkedHashMap<String, Object>();
+        for (Map.Entry<String, Object> entry : gNodeElement.getArgs().entrySet()) {
+            if (!args.containsKey(entry.getKey()) || args.get(entry.getKey()) != entry.getValue()) {
+                form.put(entry.getKey(), entry.getValue());
+            }
+        }
+        formCache.putForm(bpmnElement, form);
+    }
+}
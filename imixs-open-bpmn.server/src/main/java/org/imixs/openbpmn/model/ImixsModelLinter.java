@@ -0,0 +1,287 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.imixs.openbpmn.extensions.ActorValidatorExtension;
+import org.imixs.openbpmn.extensions.ImixsItemNameMapper;
+
+/**
+ * The ImixsModelLinter verifies a .bpmn file against the Imixs validation rules
+ * without loading the model into the GLSP server:
+ * <ul>
+ * <li>{@link #RULE_ACL} - ACL and mail actors not defined in the actor field
+ * mapping (see {@link ActorValidatorExtension})</li>
+ * <li>{@link #RULE_DUPLICATE_PROCESSID} - a imixs:processid used by more than
+ * one task</li>
+ * <li>{@link #RULE_DUPLICATE_ACTIVITYID} - a imixs:activityid used by more than
+ * one event of the same task</li>
+ * <li>{@link #RULE_OUTGOING_FLOW} - a catch event without exactly one outgoing
+ * sequenceFlow or a gateway without outgoing sequenceFlow (see
+ * {@link ImixsBPMNEventIterator})</li>
+ * <li>{@link #RULE_FILE_LINK} - a file:// link to a file which does not
+ * exist</li>
+ * </ul>
+ * The model is read by the {@link ImixsModelStreamReader}, so no DOM is built.
+ * Only the flow structure and the actor references are held in memory. The
+ * linter has no state and can be used for many files in parallel.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsModelLinter {
+
+    public static final String RULE_PARSE = "parse";
+    public static final String RULE_ACL = "acl";
+    public static final String RULE_DUPLICATE_PROCESSID = "duplicate-processid";
+    public static final String RULE_DUPLICATE_ACTIVITYID = "duplicate-activityid";
+    public static final String RULE_OUTGOING_FLOW = "outgoing-flow";
+    public static final String RULE_FILE_LINK = "file-link";
+
+    private static final Set<String> ACL_ITEMS = new HashSet<String>(
+            Arrays.asList(ActorValidatorExtension.KEY_PROPERTIES));
+
+    /**
+     * Verifies a .bpmn file. A file which can not be read results in a single
+     * finding of the rule {@link #RULE_PARSE}.
+     *
+     * @param path - model file
+     * @return list of findings - empty if the model is valid
+     */
+    public List<Finding> lint(final Path path) {
+        ModelCollector collector = new ModelCollector(path);
+        try {
+            ImixsModelStreamReader.read(path, collector);
+        } catch (IOException | XMLStreamException e) {
+            List<Finding> result = new ArrayList<Finding>();
+            result.add(new Finding(RULE_PARSE, null, e.getMessage()));
+            return result;
+        }
+        collector.verify();
+        return collector.findings;
+    }
+
+    /**
+     * A Finding describes a single rule violation.
+     */
+    public static class Finding {
+        private final String rule;
+        private final String elementId;
+        private final String message;
+
+        public Finding(String rule, String elementId, String message) {
+            this.rule = rule;
+            this.elementId = elementId;
+            this.message = message;
+        }
+
+        public String getRule() {
+            return rule;
+        }
+
+        /**
+         * Returns the id of the element violating the rule, or null if the rule
+         * applies to the whole model.
+         */
+        public String getElementId() {
+            return elementId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return rule + (elementId != null ? " [" + elementId + "]" : "") + ": " + message;
+        }
+    }
+
+    /**
+     * The ModelCollector collects the data of the stream reader. Rules which
+     * depend on the whole model are verified after the model was read.
+     */
+    private static class ModelCollector implements ImixsModelStreamReader.Handler {
+        final Path path;
+        final List<Finding> findings = new ArrayList<Finding>();
+        String definitionsId = null;
+        Set<String> actorValues = null;
+        // element id -> local name of tasks, events and gateways
+        final Map<String, String> types = new LinkedHashMap<String, String>();
+        final Map<Integer, String> processIds = new HashMap<Integer, String>();
+        final Map<String, Integer> activityIds = new HashMap<String, Integer>();
+        final Map<String, List<String>> outgoing = new HashMap<String, List<String>>();
+        // {element id, item name, value}
+        final List<String[]> actorReferences = new ArrayList<String[]>();
+
+        ModelCollector(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public void startElement(String type, String id, String name) {
+            if ("definitions".equals(type)) {
+                definitionsId = id;
+            } else if (isTask(type) || type.endsWith("Event") || type.endsWith("Gateway")) {
+                types.put(id, type);
+            }
+        }
+
+        @Override
+        public void processId(String elementId, int processId) {
+            String otherId = processIds.putIfAbsent(processId, elementId);
+            if (otherId != null) {
+                findings.add(new Finding(RULE_DUPLICATE_PROCESSID, elementId,
+                        "processid " + processId + " is already used by task '" + otherId + "'"));
+            }
+        }
+
+        @Override
+        public void activityId(String elementId, int activityId) {
+            activityIds.put(elementId, activityId);
+        }
+
+        @Override
+        public void sequenceFlow(String id, String sourceRef, String targetRef) {
+            if (sourceRef != null && targetRef != null) {
+                outgoing.computeIfAbsent(sourceRef, k -> new ArrayList<String>(1)).add(targetRef);
+            }
+        }
+
+        @Override
+        public void item(String elementId, String itemName, String type, List<String> values) {
+            if (Objects.equals(elementId, definitionsId) && "txtfieldmapping".equals(itemName)) {
+                actorValues = new HashSet<String>();
+                for (String itemDefinition : values) {
+                    actorValues.add(ImixsItemNameMapper.splitItemDefinition(itemDefinition)[1]);
+                }
+            } else if (ACL_ITEMS.contains(itemName)) {
+                for (String value : values) {
+                    actorReferences.add(new String[] { elementId, itemName, value });
+                }
+            }
+            for (String value : values) {
+                if (value.startsWith("file://")) {
+                    verifyFileLink(elementId, itemName, value);
+                }
+            }
+        }
+
+        /**
+         * Verifies the rules depending on the whole model.
+         */
+        void verify() {
+            // acl
+            for (String[] reference : actorReferences) {
+                if (actorValues == null || !actorValues.contains(reference[2])) {
+                    findings.add(new Finding(RULE_ACL, reference[0],
+                            reference[1] + " - actor '" + reference[2] + "' is not defined in the actor mapping"));
+                }
+            }
+            // outgoing flows
+            for (Map.Entry<String, String> entry : types.entrySet()) {
+                int count = outgoing.getOrDefault(entry.getKey(), List.of()).size();
+                if ("intermediateCatchEvent".equals(entry.getValue()) && count != 1) {
+                    findings.add(new Finding(RULE_OUTGOING_FLOW, entry.getKey(),
+                            "catch event must have exactly one outgoing sequenceFlow but has " + count));
+                } else if (entry.getValue().endsWith("Gateway") && count == 0) {
+                    findings.add(new Finding(RULE_OUTGOING_FLOW, entry.getKey(),
+                            "gateway has no outgoing sequenceFlow"));
+                }
+            }
+            // activity ids
+            for (Map.Entry<String, String> entry : types.entrySet()) {
+                if (isTask(entry.getValue())) {
+                    verifyActivityIds(entry.getKey());
+                }
+            }
+        }
+
+        /**
+         * Verifies that the events of a task have distinct activityids. The events
+         * of a task are the direct successors of the task, also via an event based
+         * gateway. Follow-up events behind another event or an exclusive gateway
+         * are not triggered by the task itself and so they are not verified.
+         */
+        private void verifyActivityIds(String taskId) {
+            Map<Integer, String> eventsByActivityId = new HashMap<Integer, String>();
+            Set<String> visited = new HashSet<String>();
+            Deque<String> stack = new ArrayDeque<String>(outgoing.getOrDefault(taskId, List.of()));
+            while (!stack.isEmpty()) {
+                String id = stack.pop();
+                String type = types.get(id);
+                if (type == null || !visited.add(id)) {
+                    continue;
+                }
+                if ("eventBasedGateway".equals(type)) {
+                    stack.addAll(outgoing.getOrDefault(id, List.of()));
+                    continue;
+                }
+                Integer activityId = activityIds.get(id);
+                if (activityId != null) {
+                    String otherId = eventsByActivityId.putIfAbsent(activityId, id);
+                    if (otherId != null) {
+                        findings.add(new Finding(RULE_DUPLICATE_ACTIVITYID, id, "activityid " + activityId
+                                + " is already used by event '" + otherId + "' of task '" + taskId + "'"));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Verifies that a file:// link resolves to an existing file. The link is
+         * resolved relative to the model file.
+         */
+        private void verifyFileLink(String elementId, String itemName, String value) {
+            String link = value.substring("file://".length());
+            try {
+                Path parent = path.toAbsolutePath().getParent();
+                Path file = (parent != null) ? parent.resolve(link) : Path.of(link);
+                if (!Files.isRegularFile(file)) {
+                    findings.add(new Finding(RULE_FILE_LINK, elementId,
+                            itemName + " - linked file '" + link + "' not found"));
+                }
+            } catch (InvalidPathException e) {
+                findings.add(new Finding(RULE_FILE_LINK, elementId,
+                        itemName + " - invalid file link '" + link + "'"));
+            }
+        }
+
+        /**
+         * Returns true for all bpmn2 task types (task, userTask, ...)
+         */
+        private static boolean isTask(String type) {
+            return "task".equals(type) || type.endsWith("Task");
+        }
+    }
+}
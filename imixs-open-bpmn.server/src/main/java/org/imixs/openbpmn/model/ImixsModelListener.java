@@ -0,0 +1,229 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openbpmn.bpmn.BPMNModel;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.events.Event;
+import org.w3c.dom.events.EventListener;
+import org.w3c.dom.events.EventTarget;
+import org.w3c.dom.events.MutationEvent;
+
+/**
+ * The ImixsModelListener is the single DOM mutation listener of a BPMN model.
+ * The caches of the Imixs extensions (e.g. the {@link ImixsTransitionGraph} or
+ * the ImixsFormCache) register a {@link Handler} to get informed about changes
+ * of the model instead of registering their own document wide listener.
+ * <p>
+ * For each mutation the listener walks up the DOM tree only once and passes a
+ * {@link Change} to all handlers. Mutations within the diagram or outside of
+ * the definitions are ignored.
+ * <p>
+ * The listener should be fetched by the method {@link #getInstance}. It is
+ * created once per model and stored together with the model definitions.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsModelListener implements EventListener {
+
+    public static final String MODEL_LISTENER = "imixs.modellistener";
+
+    public static final String NODE_INSERTED = "DOMNodeInserted";
+    public static final String NODE_REMOVED = "DOMNodeRemoved";
+    public static final String ATTR_MODIFIED = "DOMAttrModified";
+    public static final String CHARACTER_DATA_MODIFIED = "DOMCharacterDataModified";
+
+    private static final String[] MUTATION_EVENTS = { NODE_INSERTED, NODE_REMOVED, ATTR_MODIFIED,
+            CHARACTER_DATA_MODIFIED };
+
+    private final Element definitions;
+    private final List<Handler> handlers = new ArrayList<Handler>();
+
+    private ImixsModelListener(final Element definitions) {
+        this.definitions = definitions;
+        if (definitions instanceof EventTarget) {
+            for (String type : MUTATION_EVENTS) {
+                ((EventTarget) definitions).addEventListener(type, this, false);
+            }
+        }
+    }
+
+    /**
+     * Returns the ImixsModelListener for a given model. The listener is created
+     * on the first call.
+     *
+     * @param model
+     * @return the shared listener instance
+     */
+    public static ImixsModelListener getInstance(final BPMNModel model) {
+        return getInstance(model.getDefinitions());
+    }
+
+    /**
+     * Returns the ImixsModelListener for the given definitions element.
+     *
+     * @param definitions
+     * @return the shared listener instance
+     */
+    public static ImixsModelListener getInstance(final Element definitions) {
+        ImixsModelListener listener = (ImixsModelListener) definitions.getUserData(MODEL_LISTENER);
+        if (listener == null) {
+            listener = new ImixsModelListener(definitions);
+            definitions.setUserData(MODEL_LISTENER, listener, null);
+        }
+        return listener;
+    }
+
+    /**
+     * Returns true if the DOM implementation supports mutation events. Only in
+     * this case a cache can rely on the listener.
+     */
+    public boolean isSupported() {
+        return definitions instanceof EventTarget;
+    }
+
+    public void addHandler(final Handler handler) {
+        if (!handlers.contains(handler)) {
+            handlers.add(handler);
+        }
+    }
+
+    public void removeHandler(final Handler handler) {
+        handlers.remove(handler);
+    }
+
+    /**
+     * Collects the context of a mutation and passes it to all handlers.
+     */
+    @Override
+    public void handleEvent(Event evt) {
+        if (handlers.isEmpty() || !(evt.getTarget() instanceof Node)) {
+            return;
+        }
+        Node target = (Node) evt.getTarget();
+        List<String> elementIds = new ArrayList<String>();
+        boolean extensionElements = false;
+        boolean definitionsExtension = false;
+        Node node = target;
+        while (node != null && node != definitions) {
+            String localName = node.getLocalName();
+            if ("BPMNDiagram".equals(localName)) {
+                return;
+            }
+            if ("extensionElements".equals(localName)) {
+                extensionElements = true;
+                definitionsExtension = (node.getParentNode() == definitions);
+            }
+            if (node.getNodeType() == Node.ELEMENT_NODE && ((Element) node).hasAttribute("id")) {
+                elementIds.add(((Element) node).getAttribute("id"));
+            }
+            node = node.getParentNode();
+        }
+        if (node == null) {
+            // the node is not part of the model
+            return;
+        }
+        String attrName = (evt instanceof MutationEvent) ? ((MutationEvent) evt).getAttrName() : null;
+        Change change = new Change(evt.getType(), target, attrName, elementIds, extensionElements,
+                definitionsExtension);
+        // a handler may remove itself
+        for (Handler handler : handlers.toArray(new Handler[handlers.size()])) {
+            handler.modelChanged(change);
+        }
+    }
+
+    /**
+     * A Handler is informed about each change of the model.
+     */
+    public interface Handler {
+        void modelChanged(Change change);
+    }
+
+    /**
+     * Describes a single mutation of the model.
+     */
+    public static class Change {
+        private final String type;
+        private final Node node;
+        private final String attrName;
+        private final List<String> elementIds;
+        private final boolean extensionElements;
+        private final boolean definitionsExtension;
+
+        Change(String type, Node node, String attrName, List<String> elementIds, boolean extensionElements,
+                boolean definitionsExtension) {
+            this.type = type;
+            this.node = node;
+            this.attrName = attrName;
+            this.elementIds = Collections.unmodifiableList(elementIds);
+            this.extensionElements = extensionElements;
+            this.definitionsExtension = definitionsExtension;
+        }
+
+        /**
+         * Returns the mutation type - NODE_INSERTED | NODE_REMOVED | ATTR_MODIFIED |
+         * CHARACTER_DATA_MODIFIED
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Returns the inserted or removed node, the element of a modified attribute
+         * or the modified text node.
+         */
+        public Node getNode() {
+            return node;
+        }
+
+        /**
+         * Returns the name of a modified attribute or null
+         */
+        public String getAttrName() {
+            return attrName;
+        }
+
+        /**
+         * Returns the ids of all elements containing the modified node, starting
+         * with the innermost element.
+         */
+        public List<String> getElementIds() {
+            return elementIds;
+        }
+
+        /**
+         * Returns true if the modified node is part of the extensionElements of a
+         * BPMN element or of the definitions.
+         */
+        public boolean isExtensionElements() {
+            return extensionElements;
+        }
+
+        /**
+         * Returns true if the modified node is part of the extensionElements of the
+         * definitions (e.g. the actor or time field mapping).
+         */
+        public boolean isDefinitionsExtension() {
+            return definitionsExtension;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.BPMNTypes;
+import org.w3c.dom.Element;
+
+/**
+ * The ImixsModelSnapshot is an immutable, compact copy of the Imixs data of a
+ * BPMN model. The snapshot holds the definitions and all flow nodes with their
+ * id, name, type, process, the imixs:processid or imixs:activityid, and all
+ * imixs:items with their values.
+ * <p>
+ * All strings are stored once in a shared string table and are referenced by
+ * their int index. The items and values are stored in compressed sparse row
+ * (CSR) arrays:
+ *
+ * <pre>
+ * items of element i  = itemNames[itemOffsets[i]] ... itemNames[itemOffsets[i + 1] - 1]
+ * values of item j    = values[valueOffsets[j]] ... values[valueOffsets[j + 1] - 1]
+ * </pre>
+ *
+ * The element with the index {@link #DEFINITIONS} holds the items of the model
+ * definitions (e.g. txtfieldmapping). As the snapshot never changes, it can be
+ * shared between threads and is intended for read only consumers like
+ * validators, search, simulation or export.
+ * <p>
+ * The snapshot of a model should be fetched by the method {@link #getInstance}.
+ * It is built on demand and rebuilt on the next call after the model was
+ * modified. Modifications of the diagram layout are ignored.
+ *
+ * @author rsoika
+ *
+ */
+public final class ImixsModelSnapshot {
+    private static Logger logger = Logger.getLogger(ImixsModelSnapshot.class.getName());
+
+    public static final String SNAPSHOT_CACHE = "imixs.snapshot";
+
+    // index of the definitions element
+    public static final int DEFINITIONS = 0;
+    // string index of an undefined value
+    public static final int NONE = -1;
+
+    private final String[] strings;
+    private final Map<String, Integer> stringTable;
+    private final int[] ids;
+    private final int[] names;
+    private final byte[] types;
+    private final int[] processes;
+    private final int[] keys;
+    private final int[] itemOffsets;
+    private final int[] itemNames;
+    private final int[] itemTypes;
+    private final int[] valueOffsets;
+    private final int[] values;
+    private final Map<String, Integer> indexById;
+
+    private ImixsModelSnapshot(final Builder builder) {
+        strings = builder.strings.toArray(new String[builder.strings.size()]);
+        stringTable = Collections.unmodifiableMap(builder.table);
+        int size = builder.ids.size;
+        ids = builder.ids.toArray();
+        names = builder.names.toArray();
+        types = Arrays.copyOf(builder.types, size);
+        processes = builder.processes.toArray();
+        keys = builder.keys.toArray();
+
+        // sort the items by element - the order of an element's items is kept
+        int itemCount = builder.itemElements.size;
+        itemOffsets = new int[size + 1];
+        for (int j = 0; j < itemCount; j++) {
+            itemOffsets[builder.itemElements.data[j] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            itemOffsets[i + 1] += itemOffsets[i];
+        }
+        int[] positions = Arrays.copyOf(itemOffsets, size);
+        int[] order = new int[itemCount];
+        for (int j = 0; j < itemCount; j++) {
+            order[positions[builder.itemElements.data[j]]++] = j;
+        }
+        itemNames = new int[itemCount];
+        itemTypes = new int[itemCount];
+        valueOffsets = new int[itemCount + 1];
+        values = new int[builder.values.size];
+        int pos = 0;
+        for (int n = 0; n < itemCount; n++) {
+            int j = order[n];
+            itemNames[n] = builder.itemNames.data[j];
+            itemTypes[n] = builder.itemTypes.data[j];
+            valueOffsets[n] = pos;
+            int start = builder.valueOffsets.data[j];
+            int end = (j + 1 < itemCount) ? builder.valueOffsets.data[j + 1] : builder.values.size;
+            System.arraycopy(builder.values.data, start, values, pos, end - start);
+            pos += end - start;
+        }
+        valueOffsets[itemCount] = pos;
+        indexById = builder.indexById;
+    }
+
+    /**
+     * Returns the snapshot for a given model. The snapshot is built on the first
+     * call and rebuilt if the model was modified since then.
+     *
+     * @param model
+     * @return the current snapshot
+     */
+    public static ImixsModelSnapshot getInstance(final BPMNModel model) {
+        Element definitionsElementNode = model.getDefinitions();
+        Cache cache = (Cache) definitionsElementNode.getUserData(SNAPSHOT_CACHE);
+        if (cache == null) {
+            cache = new Cache();
+            ImixsModelListener listener = ImixsModelListener.getInstance(model);
+            // we can only cache the snapshot if we get informed about DOM changes
+            if (listener.isSupported()) {
+                listener.addHandler(cache);
+                definitionsElementNode.setUserData(SNAPSHOT_CACHE, cache, null);
+            }
+        }
+        if (cache.snapshot == null) {
+            cache.snapshot = of(model);
+        }
+        return cache.snapshot;
+    }
+
+    /**
+     * Builds a new snapshot of the current state of a model.
+     *
+     * @param model
+     * @return the snapshot
+     */
+    public static ImixsModelSnapshot of(final BPMNModel model) {
+        long l = System.currentTimeMillis();
+        Builder builder = new Builder();
+        Element definitions = model.getDefinitions();
+        addItems(builder, model, builder.element(definitions.getAttribute("id"), "definitions"), definitions);
+        ImixsTransitionGraph graph = ImixsTransitionGraph.getInstance(model);
+        for (int i = 0; i < graph.size(); i++) {
+            Element elementNode = graph.getNode(i).getElementNode();
+            int element = builder.element(elementNode.getAttribute("id"), graph.getNode(i).getType());
+            if (elementNode.hasAttribute("name")) {
+                builder.names.set(element, builder.string(elementNode.getAttribute("name")));
+            }
+            builder.processes.set(element, builder.string(graph.getProcessId(i)));
+            builder.keys.set(element, readKey(elementNode));
+            addItems(builder, model, element, elementNode);
+        }
+        ImixsModelSnapshot snapshot = new ImixsModelSnapshot(builder);
+        logger.fine("...snapshot built with " + snapshot.size() + " elements, " + snapshot.itemNames.length
+                + " items and " + snapshot.strings.length + " strings in " + (System.currentTimeMillis() - l)
+                + "ms");
+        return snapshot;
+    }
+
+    /**
+     * Builds a snapshot from a .bpmn file without loading the DOM.
+     *
+     * @param path - model file
+     * @return the snapshot
+     */
+    public static ImixsModelSnapshot read(final Path path) throws IOException, XMLStreamException {
+        Builder builder = new Builder();
+        ImixsModelStreamReader.read(path, new ImixsModelStreamReader.Handler() {
+            private String process = null;
+            private String definitionsId = null;
+
+            @Override
+            public void startElement(String type, String id, String name) {
+                if ("definitions".equals(type)) {
+                    definitionsId = id;
+                    builder.element(id, type);
+                } else if ("process".equals(type)) {
+                    process = id;
+                } else if (BPMNTypes.BPMN_TASKS.contains(type) || BPMNTypes.BPMN_EVENTS.contains(type)
+                        || BPMNTypes.BPMN_GATEWAYS.contains(type)) {
+                    int element = builder.element(id, type);
+                    builder.names.set(element, builder.string(name));
+                    builder.processes.set(element, builder.string(process));
+                }
+            }
+
+            @Override
+            public void processId(String elementId, int processId) {
+                setKey(elementId, processId);
+            }
+
+            @Override
+            public void activityId(String elementId, int activityId) {
+                setKey(elementId, activityId);
+            }
+
+            @Override
+            public void item(String elementId, String itemName, String type, List<String> itemValues) {
+                if (elementId == null || elementId.equals(definitionsId)) {
+                    builder.item(DEFINITIONS, itemName, type, itemValues);
+                } else {
+                    Integer element = builder.indexById.get(elementId);
+                    if (element != null) {
+                        builder.item(element, itemName, type, itemValues);
+                    }
+                }
+            }
+
+            private void setKey(String elementId, int key) {
+                Integer element = builder.indexById.get(elementId);
+                if (element != null) {
+                    builder.keys.set(element, key);
+                }
+            }
+        });
+        return new ImixsModelSnapshot(builder);
+    }
+
+    /**
+     * Returns the number of elements including the definitions
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the index of an element or -1 if the id is not part of the
+     * snapshot
+     */
+    public int indexOf(final String id) {
+        Integer index = indexById.get(id);
+        return (index != null) ? index : -1;
+    }
+
+    /**
+     * Returns the element id
+     */
+    public String getId(final int index) {
+        return string(ids[index]);
+    }
+
+    /**
+     * Returns the element name or null if not defined
+     */
+    public String getName(final int index) {
+        return string(names[index]);
+    }
+
+    /**
+     * Returns the element type - see {@link ImixsTransitionGraph#getType(int)}
+     */
+    public byte getType(final int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the id of the process containing an element or null for the
+     * definitions
+     */
+    public String getProcessId(final int index) {
+        return string(processes[index]);
+    }
+
+    /**
+     * Returns the imixs:processid of a task or the imixs:activityid of an event.
+     * Returns {@link ImixsTransitionGraph#NO_KEY} if the element has no key.
+     */
+    public int getKey(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns the item names of an element
+     */
+    public List<String> getItemNames(final int index) {
+        return new StringList(itemNames, itemOffsets[index], itemOffsets[index + 1]);
+    }
+
+    /**
+     * Returns the type of an item or an empty string if the element has no item
+     * with this name.
+     */
+    public String getItemType(final int index, final String itemName) {
+        int item = findItem(index, itemName);
+        return (item < 0) ? "" : string(itemTypes[item]);
+    }
+
+    /**
+     * Returns the values of an item. If the element has no item with this name,
+     * the method returns an empty list.
+     */
+    public List<String> getItemValueList(final int index, final String itemName) {
+        int item = findItem(index, itemName);
+        if (item < 0) {
+            return Collections.emptyList();
+        }
+        return new StringList(values, valueOffsets[item], valueOffsets[item + 1]);
+    }
+
+    /**
+     * Returns the first value of an item or an empty string if the element has no
+     * item with this name.
+     */
+    public String getItemValueString(final int index, final String itemName) {
+        int item = findItem(index, itemName);
+        if (item < 0 || valueOffsets[item] == valueOffsets[item + 1]) {
+            return "";
+        }
+        return string(values[valueOffsets[item]]);
+    }
+
+    /**
+     * Returns the indexes of all elements containing the given value in the
+     * given item.
+     */
+    public int[] findElements(final String itemName, final String value) {
+        int name = indexOfString(itemName);
+        int valueIndex = indexOfString(value);
+        if (name == NONE || valueIndex == NONE) {
+            return new int[0];
+        }
+        IntArray result = new IntArray();
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = itemOffsets[i]; j < itemOffsets[i + 1]; j++) {
+                if (itemNames[j] == name && contains(j, valueIndex)) {
+                    result.add(i);
+                    break;
+                }
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Returns the number of distinct strings of the snapshot
+     */
+    public int getStringCount() {
+        return strings.length;
+    }
+
+    private String string(final int index) {
+        return (index == NONE) ? null : strings[index];
+    }
+
+    private int findItem(final int index, final String itemName) {
+        for (int j = itemOffsets[index]; j < itemOffsets[index + 1]; j++) {
+            if (strings[itemNames[j]].equals(itemName)) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    private boolean contains(final int item, final int valueIndex) {
+        for (int v = valueOffsets[item]; v < valueOffsets[item + 1]; v++) {
+            if (values[v] == valueIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOfString(final String value) {
+        Integer index = stringTable.get(value);
+        return (index != null) ? index : NONE;
+    }
+
+    /**
+     * Helper method reads the imixs:processid or imixs:activityid of a DOM
+     * element in the same way as the {@link ImixsModelStreamReader}
+     */
+    private static int readKey(final Element elementNode) {
+        String value = ImixsExtensionUtil.getExtensionAttribute(elementNode, "activityid");
+        if (value.isEmpty()) {
+            value = ImixsExtensionUtil.getExtensionAttribute(elementNode, "processid");
+        }
+        try {
+            return value.isEmpty() ? ImixsTransitionGraph.NO_KEY : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return ImixsTransitionGraph.NO_KEY;
+        }
+    }
+
+    /**
+     * Helper method adds all imixs:items of a DOM element
+     */
+    private static void addItems(final Builder builder, final BPMNModel model, final int element,
+            final Element elementNode) {
+        for (String itemName : ImixsExtensionUtil.getItemNames(model, elementNode)) {
+            builder.item(element, itemName, ImixsExtensionUtil.getItemType(model, elementNode, itemName),
+                    ImixsExtensionUtil.getItemValueList(model, elementNode, itemName));
+        }
+    }
+
+    /**
+     * An unmodifiable list view of a range of string indexes
+     */
+    private class StringList extends AbstractList<String> {
+        private final int[] data;
+        private final int start;
+        private final int end;
+
+        StringList(int[] data, int start, int end) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (end - start));
+            }
+            return strings[data[start + index]];
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Holds the current snapshot of a model. A modification of the model
+     * reported by the {@link ImixsModelListener} discards the snapshot.
+     */
+    private static class Cache implements ImixsModelListener.Handler {
+        private volatile ImixsModelSnapshot snapshot;
+
+        @Override
+        public void modelChanged(ImixsModelListener.Change change) {
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Collects the elements, items and strings of a snapshot
+     */
+    private static class Builder {
+        final List<String> strings = new ArrayList<String>();
+        final Map<String, Integer> table = new HashMap<String, Integer>();
+        final Map<String, Integer> indexById = new HashMap<String, Integer>();
+        final IntArray ids = new IntArray();
+        final IntArray names = new IntArray();
+        byte[] types = new byte[16];
+        final IntArray processes = new IntArray();
+        final IntArray keys = new IntArray();
+        final IntArray itemElements = new IntArray();
+        final IntArray itemNames = new IntArray();
+        final IntArray itemTypes = new IntArray();
+        final IntArray valueOffsets = new IntArray();
+        final IntArray values = new IntArray();
+
+        int string(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer index = table.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.add(value);
+                table.put(value, index);
+            }
+            return index;
+        }
+
+        int element(String id, String type) {
+            int index = ids.size;
+            ids.add(string(id));
+            names.add(NONE);
+            processes.add(NONE);
+            keys.add(ImixsTransitionGraph.NO_KEY);
+            if (index == types.length) {
+                types = Arrays.copyOf(types, index * 2);
+            }
+            types[index] = ImixsTransitionGraph.typeOf(type);
+            if (id != null && !id.isEmpty()) {
+                indexById.put(id, index);
+            }
+            return index;
+        }
+
+        void item(int element, String itemName, String type, List<String> itemValues) {
+            itemElements.add(element);
+            itemNames.add(string(itemName));
+            itemTypes.add(string(type == null ? "" : type));
+            valueOffsets.add(values.size);
+            // the values of an item are unique
+            for (String value : new LinkedHashSet<String>(itemValues)) {
+                values.add(string(value));
+            }
+        }
+    }
+
+    /**
+     * A growable int array
+     */
+    private static class IntArray {
+        int[] data = new int[16];
+        int size = 0;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        void set(int index, int value) {
+            data[index] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
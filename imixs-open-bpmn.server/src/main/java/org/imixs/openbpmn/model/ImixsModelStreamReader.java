@@ -0,0 +1,265 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+
+/**
+ * The ImixsModelStreamReader is a read-only streaming reader for the Imixs
+ * extension data of a .bpmn file. In difference to the
+ * {@link org.openbpmn.bpmn.util.BPMNModelFactory} the reader does not build a
+ * DOM. The file is parsed with StAX and the Imixs data is reported to a
+ * {@link Handler} as typed events:
+ * <ul>
+ * <li>start and end of each BPMN element with an id (task, event, process,
+ * sequenceFlow...) and of the definitions</li>
+ * <li>the imixs:processid of a task and the imixs:activityid of an event</li>
+ * <li>the source and target of each sequenceFlow</li>
+ * <li>each imixs:item with its name, type and the values of its imixs:value
+ * elements (CDATA or text)</li>
+ * </ul>
+ * The reader needs constant memory independent from the model size. Only the
+ * values of the current item are held. This makes the reader useful for batch
+ * tooling (reporting, validation, export) over a large number of model files.
+ *
+ * <pre>
+ * ImixsModelStreamReader.read(path, new ImixsModelStreamReader.Handler() {
+ *     public void processId(String elementId, int processId) {
+ *         ...
+ *     }
+ * });
+ * </pre>
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsModelStreamReader {
+    private static Logger logger = Logger.getLogger(ImixsModelStreamReader.class.getName());
+
+    public static final String BPMN2_NS = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+    private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+    /**
+     * A Handler receives the events of the reader. All methods are optional.
+     */
+    public interface Handler {
+
+        /**
+         * Called at the start of a BPMN element with an id and at the start of the
+         * definitions.
+         *
+         * @param type - local name of the element (e.g. task, definitions)
+         * @param id   - element id, can be null for the definitions
+         * @param name - element name, can be null
+         */
+        default void startElement(String type, String id, String name) {
+        }
+
+        /**
+         * Called for the imixs:processid attribute of a task
+         */
+        default void processId(String elementId, int processId) {
+        }
+
+        /**
+         * Called for the imixs:activityid attribute of an event
+         */
+        default void activityId(String elementId, int activityId) {
+        }
+
+        /**
+         * Called for each sequenceFlow
+         */
+        default void sequenceFlow(String id, String sourceRef, String targetRef) {
+        }
+
+        /**
+         * Called for each imixs:item. The elementId is the id of the enclosing BPMN
+         * element.
+         *
+         * @param elementId - id of the enclosing element, can be null for the
+         *                  definitions
+         * @param itemName  - item name
+         * @param type      - item type (e.g. xs:string)
+         * @param values    - values of all imixs:value elements
+         */
+        default void item(String elementId, String itemName, String type, List<String> values) {
+        }
+
+        /**
+         * Called at the end of an element reported by startElement.
+         */
+        default void endElement(String type, String id) {
+        }
+    }
+
+    /**
+     * Reads a .bpmn file.
+     *
+     * @param path    - model file
+     * @param handler - event handler
+     */
+    public static void read(final Path path, final Handler handler) throws IOException, XMLStreamException {
+        try (InputStream is = Files.newInputStream(path)) {
+            read(is, handler);
+        }
+    }
+
+    /**
+     * Reads a .bpmn model from a InputStream. The stream is not closed.
+     *
+     * @param is      - model stream
+     * @param handler - event handler
+     */
+    public static void read(final InputStream is, final Handler handler) throws XMLStreamException {
+        XMLStreamReader reader = createInputFactory().createXMLStreamReader(is);
+        try {
+            String imixsNS = ImixsExtensionUtil.getNamespaceURI();
+            // open elements - {type, id, depth}
+            Deque<Object[]> elements = new ArrayDeque<Object[]>();
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    String namespace = reader.getNamespaceURI();
+                    if (imixsNS.equals(namespace) && "item".equals(reader.getLocalName())) {
+                        String elementId = elements.isEmpty() ? null : (String) elements.peek()[1];
+                        readItem(reader, elementId, handler);
+                        depth--;
+                    } else if (BPMN2_NS.equals(namespace) && !"extensionElements".equals(reader.getLocalName())) {
+                        String id = reader.getAttributeValue(null, "id");
+                        if ((id != null && !id.isEmpty()) || elements.isEmpty()) {
+                            String type = reader.getLocalName();
+                            elements.push(new Object[] { type, id, depth });
+                            handler.startElement(type, id, reader.getAttributeValue(null, "name"));
+                            readKey(reader, imixsNS, "processid", id, handler);
+                            readKey(reader, imixsNS, "activityid", id, handler);
+                            if ("sequenceFlow".equals(type)) {
+                                handler.sequenceFlow(id, reader.getAttributeValue(null, "sourceRef"),
+                                        reader.getAttributeValue(null, "targetRef"));
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (!elements.isEmpty() && (int) elements.peek()[2] == depth) {
+                        Object[] element = elements.pop();
+                        handler.endElement((String) element[0], (String) element[1]);
+                    }
+                    depth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Creates a XMLInputFactory. CDATA sections are reported as separate events
+     * and external entities are not resolved.
+     */
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // the JDK parser reports CDATA as characters by default
+        if (factory.isPropertySupported(REPORT_CDATA_EVENT)) {
+            factory.setProperty(REPORT_CDATA_EVENT, true);
+        }
+        return factory;
+    }
+
+    /**
+     * Helper method reports a imixs:processid or imixs:activityid attribute
+     */
+    private static void readKey(XMLStreamReader reader, String imixsNS, String attribute, String elementId,
+            Handler handler) {
+        String value = reader.getAttributeValue(imixsNS, attribute);
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        try {
+            int key = Integer.parseInt(value.trim());
+            if ("processid".equals(attribute)) {
+                handler.processId(elementId, key);
+            } else {
+                handler.activityId(elementId, key);
+            }
+        } catch (NumberFormatException e) {
+            logger.warning("...invalid imixs:" + attribute + " '" + value + "' in element " + elementId);
+        }
+    }
+
+    /**
+     * Helper method reads a imixs:item up to its end tag. Like the
+     * ImixsExtensionUtil, a CDATA section is preferred over the text content of
+     * a imixs:value element.
+     */
+    private static void readItem(XMLStreamReader reader, String elementId, Handler handler)
+            throws XMLStreamException {
+        String itemName = reader.getAttributeValue(null, "name");
+        String type = reader.getAttributeValue(null, "type");
+        List<String> values = new ArrayList<String>();
+        StringBuilder text = null;
+        StringBuilder cdata = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth == 2 && "value".equals(reader.getLocalName())) {
+                    text = new StringBuilder();
+                    cdata = null;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 2 && text != null) {
+                    values.add(cdata != null ? cdata.toString() : text.toString());
+                    text = null;
+                }
+                depth--;
+            } else if (text != null && event == XMLStreamConstants.CDATA) {
+                if (cdata == null) {
+                    cdata = new StringBuilder();
+                }
+                cdata.append(reader.getText());
+                text.append(reader.getText());
+            } else if (text != null
+                    && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE)) {
+                text.append(reader.getText());
+            }
+        }
+        if (itemName != null) {
+            handler.item(elementId, itemName, type, values);
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.BPMNTypes;
+import org.openbpmn.bpmn.elements.BPMNProcess;
+import org.openbpmn.bpmn.elements.SequenceFlow;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * The ImixsTransitionGraph is an immutable, precompiled transition graph of
+ * all processes of a BPMN model. Each flow node (task, event, gateway) is
+ * addressed by an int index. The graph holds for each node its type, its
+ * process, the imixs:processid of a task or the imixs:activityid of an event,
+ * and the outgoing sequence flows stored in compressed sparse row (CSR)
+ * arrays:
+ *
+ * <pre>
+ * targets of node i = targets[offsets[i]] ... targets[offsets[i + 1] - 1]
+ * </pre>
+ *
+ * The graph is used by the {@link ImixsBPMNEventIterator}, validators and
+ * reachability checks to navigate through the model without accessing the DOM.
+ * <p>
+ * The graph should be fetched by the method {@link #getInstance}. It is built
+ * once per model and stored together with the model definitions. A
+ * modification of a process reported by the {@link ImixsModelListener} marks
+ * the graph as stale, and the next call of getInstance rebuilds it. Changes of the diagram layout or of Imixs items do
+ * not affect the graph.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsTransitionGraph implements ImixsModelListener.Handler {
+    private static Logger logger = Logger.getLogger(ImixsTransitionGraph.class.getName());
+
+    public static final String GRAPH_CACHE = "imixs.transitiongraph";
+
+    public static final byte OTHER = 0;
+    public static final byte TASK = 1;
+    public static final byte CATCH_EVENT = 2;
+    public static final byte EXCLUSIVE_GATEWAY = 3;
+    public static final byte EVENTBASED_GATEWAY = 4;
+
+    public static final int NO_KEY = -1;
+
+    private final ImixsModelListener listener;
+    private final String[] processIds;
+    private final BPMNElementNode[] nodes;
+    private final byte[] types;
+    private final int[] processes;
+    private final int[] keys;
+    private final int[] offsets;
+    private final int[] targets;
+    private final String[] conditions;
+    private final int[] defaultTargets;
+    private final Map<String, Integer> indexById;
+    private final Map<Integer, Integer> taskIndex;
+    private boolean stale = false;
+
+    /**
+     * Builds the transition graph for all processes of a given model.
+     *
+     * @param model
+     */
+    public ImixsTransitionGraph(final BPMNModel model) {
+        long l = System.currentTimeMillis();
+        listener = ImixsModelListener.getInstance(model);
+
+        // collect all flow nodes and sequence flows
+        List<String> processIdList = new ArrayList<String>();
+        List<BPMNElementNode> nodeList = new ArrayList<BPMNElementNode>();
+        List<Integer> processList = new ArrayList<Integer>();
+        List<SequenceFlow> flowList = new ArrayList<SequenceFlow>();
+        for (BPMNProcess process : model.getProcesses()) {
+            try {
+                process.init();
+            } catch (BPMNModelException e) {
+                logger.log(Level.WARNING, "Failed to load process '" + process.getId() + "': " + e.getMessage(), e);
+                continue;
+            }
+            Set<BPMNElementNode> processNodes = new LinkedHashSet<BPMNElementNode>();
+            processNodes.addAll(process.getActivities());
+            processNodes.addAll(process.getEvents());
+            processNodes.addAll(process.getGateways());
+            for (BPMNElementNode node : processNodes) {
+                nodeList.add(node);
+                processList.add(processIdList.size());
+            }
+            flowList.addAll(process.getSequenceFlows());
+            processIdList.add(process.getId());
+        }
+
+        int size = nodeList.size();
+        processIds = processIdList.toArray(new String[processIdList.size()]);
+        nodes = nodeList.toArray(new BPMNElementNode[size]);
+        types = new byte[size];
+        processes = new int[size];
+        keys = new int[size];
+        defaultTargets = new int[size];
+        indexById = new HashMap<String, Integer>(size * 2);
+        taskIndex = new HashMap<Integer, Integer>();
+        for (int i = 0; i < size; i++) {
+            BPMNElementNode node = nodes[i];
+            indexById.put(node.getId(), i);
+            types[i] = typeOf(node.getType());
+            processes[i] = processList.get(i);
+            defaultTargets[i] = -1;
+            keys[i] = NO_KEY;
+            if (types[i] == TASK) {
+                keys[i] = parseKey(ImixsExtensionUtil.getExtensionAttribute(node.getElementNode(), "processid"));
+                if (keys[i] != NO_KEY) {
+                    taskIndex.putIfAbsent(keys[i], i);
+                }
+            } else if (types[i] == CATCH_EVENT) {
+                keys[i] = parseKey(ImixsExtensionUtil.getExtensionAttribute(node.getElementNode(), "activityid"));
+            }
+        }
+
+        // resolve the sequence flows and count the outgoing flows per node
+        int flowCount = flowList.size();
+        int[] flowSources = new int[flowCount];
+        int[] flowTargets = new int[flowCount];
+        offsets = new int[size + 1];
+        for (int f = 0; f < flowCount; f++) {
+            SequenceFlow flow = flowList.get(f);
+            Integer source = indexById.get(flow.getSourceRef());
+            Integer target = indexById.get(flow.getTargetRef());
+            flowSources[f] = (source != null && target != null) ? source : -1;
+            flowTargets[f] = (target != null) ? target : -1;
+            if (flowSources[f] >= 0) {
+                offsets[source + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // fill the adjacency arrays
+        targets = new int[offsets[size]];
+        conditions = new String[offsets[size]];
+        int[] positions = new int[size];
+        System.arraycopy(offsets, 0, positions, 0, size);
+        for (int f = 0; f < flowCount; f++) {
+            int source = flowSources[f];
+            if (source < 0) {
+                continue;
+            }
+            SequenceFlow flow = flowList.get(f);
+            int pos = positions[source]++;
+            targets[pos] = flowTargets[f];
+            conditions[pos] = getConditionExpression(flow.getElementNode());
+            if (flow.getId().equals(nodes[source].getElementNode().getAttribute("default"))) {
+                defaultTargets[source] = flowTargets[f];
+            }
+        }
+
+        listener.addHandler(this);
+        logger.fine("...transition graph built with " + size + " nodes and " + targets.length + " flows in "
+                + (System.currentTimeMillis() - l) + "ms");
+    }
+
+    /**
+     * Returns the ImixsTransitionGraph for a given model. The graph is built on
+     * the first call and rebuilt if a process of the model was modified since
+     * then.
+     *
+     * @param model
+     * @return the shared graph instance
+     */
+    public static ImixsTransitionGraph getInstance(final BPMNModel model) {
+        Element definitionsElementNode = model.getDefinitions();
+        ImixsTransitionGraph graph = (ImixsTransitionGraph) definitionsElementNode.getUserData(GRAPH_CACHE);
+        if (graph == null || graph.stale) {
+            if (graph != null) {
+                graph.dispose();
+            }
+            graph = new ImixsTransitionGraph(model);
+            definitionsElementNode.setUserData(GRAPH_CACHE, graph, null);
+        }
+        return graph;
+    }
+
+    /**
+     * Discards the graph of a given model.
+     *
+     * @param model
+     */
+    public static void invalidate(final BPMNModel model) {
+        ImixsTransitionGraph graph = (ImixsTransitionGraph) model.getDefinitions().getUserData(GRAPH_CACHE);
+        if (graph != null) {
+            graph.dispose();
+            model.getDefinitions().setUserData(GRAPH_CACHE, null, null);
+        }
+    }
+
+    /**
+     * Marks the graph as stale if the structure of a process was modified.
+     * Modifications within the diagram or within extension elements are
+     * ignored.
+     */
+    @Override
+    public void modelChanged(ImixsModelListener.Change change) {
+        if (stale || change.isExtensionElements()) {
+            return;
+        }
+        stale = true;
+        dispose();
+    }
+
+    private void dispose() {
+        listener.removeHandler(this);
+    }
+
+    /**
+     * Returns true if the graph no longer reflects the model
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Returns the number of flow nodes
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the index of a flow node or -1 if the id is not part of the model
+     */
+    public int indexOf(String id) {
+        Integer index = indexById.get(id);
+        return (index != null) ? index : -1;
+    }
+
+    public BPMNElementNode getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Returns the node type - OTHER | TASK | CATCH_EVENT | EXCLUSIVE_GATEWAY |
+     * EVENTBASED_GATEWAY
+     */
+    public byte getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the id of the process containing a node
+     */
+    public String getProcessId(int index) {
+        return processIds[processes[index]];
+    }
+
+    /**
+     * Returns the imixs:processid of a task or the imixs:activityid of an event.
+     * Returns NO_KEY if the node has no key.
+     */
+    public int getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns the number of outgoing sequence flows of a node
+     */
+    public int getTargetCount(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Returns the target node of the n-th outgoing sequence flow
+     */
+    public int getTarget(int index, int n) {
+        return targets[offsets[index] + n];
+    }
+
+    /**
+     * Returns the condition of the n-th outgoing sequence flow or null if the
+     * flow has no condition
+     */
+    public String getCondition(int index, int n) {
+        return conditions[offsets[index] + n];
+    }
+
+    /**
+     * Returns the target of the default flow of a gateway or -1
+     */
+    public int getDefaultTarget(int index) {
+        return defaultTargets[index];
+    }
+
+    /**
+     * Returns the index of the task with the given imixs:processid or -1
+     */
+    public int findTask(int processId) {
+        Integer index = taskIndex.get(processId);
+        return (index != null) ? index : -1;
+    }
+
+    /**
+     * Returns the index of the event with the given imixs:activityid connected to
+     * the task with the given imixs:processid, or -1. Events following an event
+     * based gateway of the task are connected to the task too.
+     */
+    public int findEvent(int processId, int activityId) {
+        int task = findTask(processId);
+        if (task < 0) {
+            return -1;
+        }
+        for (int i = offsets[task]; i < offsets[task + 1]; i++) {
+            int target = targets[i];
+            if (types[target] == EVENTBASED_GATEWAY) {
+                for (int j = offsets[target]; j < offsets[target + 1]; j++) {
+                    if (isEvent(targets[j], activityId)) {
+                        return targets[j];
+                    }
+                }
+            } else if (isEvent(target, activityId)) {
+                return target;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if a node is a catch event with the given imixs:activityid
+     */
+    private boolean isEvent(int index, int activityId) {
+        return types[index] == CATCH_EVENT && keys[index] == activityId;
+    }
+
+    /**
+     * Returns the indices of all nodes reachable from a given node. The given
+     * node is only part of the result if it is part of a cycle.
+     */
+    public int[] findReachable(int index) {
+        boolean[] visited = new boolean[nodes.length];
+        int[] result = new int[nodes.length];
+        int count = 0;
+        int next = 0;
+        // the result array is used as the work queue
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            if (!visited[targets[i]]) {
+                visited[targets[i]] = true;
+                result[count++] = targets[i];
+            }
+        }
+        while (next < count) {
+            int node = result[next++];
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                if (!visited[targets[i]]) {
+                    visited[targets[i]] = true;
+                    result[count++] = targets[i];
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Helper method to map a BPMN element type
+     */
+    public static byte typeOf(String type) {
+        if (BPMNTypes.CATCH_EVENT.equals(type)) {
+            return CATCH_EVENT;
+        }
+        if (BPMNTypes.BPMN_TASKS.contains(type)) {
+            return TASK;
+        }
+        if (BPMNTypes.EXCLUSIVE_GATEWAY.equals(type) || BPMNTypes.COMPLEX_GATEWAY.equals(type)) {
+            return EXCLUSIVE_GATEWAY;
+        }
+        if (BPMNTypes.EVENTBASED_GATEWAY.equals(type)) {
+            return EVENTBASED_GATEWAY;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Helper method to parse a processid or activityid
+     */
+    private static int parseKey(String value) {
+        if (value == null || value.isEmpty()) {
+            return NO_KEY;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return NO_KEY;
+        }
+    }
+
+    /**
+     * Helper method returns the content of the bpmn2:conditionExpression of a
+     * sequence flow or null if not defined
+     */
+    private static String getConditionExpression(Element flowElement) {
+        Node child = flowElement.getFirstChild();
+        while (child != null) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && "conditionExpression".equals(child.getLocalName())) {
+                String condition = child.getTextContent().trim();
+                return condition.isEmpty() ? null : condition;
+            }
+            child = child.getNextSibling();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.operations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.glsp.server.operations.Operation;
+
+/**
+ * The ImixsApplyPropertiesBatchOperation applies one JSON payload of a
+ * properties category to a list of BPMN elements. The operation is send by the
+ * client if the same properties are changed on multiple selected elements.
+ * <p>
+ * The payload contains only the properties to be changed. All other
+ * properties of an element remain unchanged.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsApplyPropertiesBatchOperation extends Operation {
+
+    public static final String KIND = "imixsApplyPropertiesBatch";
+
+    private List<String> elementIds;
+    private String jsonData;
+    private String category;
+
+    public ImixsApplyPropertiesBatchOperation() {
+        super(KIND);
+        elementIds = new ArrayList<String>();
+    }
+
+    public ImixsApplyPropertiesBatchOperation(final List<String> elementIds, final String jsonData,
+            final String category) {
+        this();
+        this.elementIds = elementIds;
+        this.jsonData = jsonData;
+        this.category = category;
+    }
+
+    public List<String> getElementIds() {
+        return elementIds;
+    }
+
+    public void setElementIds(List<String> elementIds) {
+        this.elementIds = elementIds;
+    }
+
+    public String getJsonData() {
+        return jsonData;
+    }
+
+    public void setJsonData(String jsonData) {
+        this.jsonData = jsonData;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+}
@@ -0,0 +1,179 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.operations;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+import org.eclipse.glsp.graph.GModelElement;
+import org.eclipse.glsp.server.operations.AbstractOperationHandler;
+import org.imixs.openbpmn.extensions.ImixsBPMNExtension;
+import org.imixs.openbpmn.extensions.ImixsChangeSet;
+import org.imixs.openbpmn.extensions.ImixsExtensionRegistry;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.extensions.BPMNElementExtension;
+import org.openbpmn.glsp.jsonforms.DataBuilder;
+import org.openbpmn.glsp.jsonforms.SchemaBuilder;
+import org.openbpmn.glsp.jsonforms.UISchemaBuilder;
+import org.openbpmn.glsp.jsonforms.UISchemaBuilder.Layout;
+import org.openbpmn.glsp.model.BPMNGModelFactory;
+import org.openbpmn.glsp.model.BPMNGModelState;
+
+import com.google.inject.Inject;
+
+/**
+ * The ImixsApplyPropertiesBatchOperationHandler applies the JSON payload of a
+ * {@link ImixsApplyPropertiesBatchOperation} to all given elements within one
+ * operation.
+ * <p>
+ * For each element the handler merges the payload into the current property
+ * data of each Imixs extension handling the element, and calls the method
+ * updatePropertiesData with the merged data. So element specific properties
+ * like the activityid are not overwritten. Only the extensions updating the
+ * category of the operation are resolved - once per element type - and only
+ * their property data is built, not the full properties form. Elements without
+ * a GModel element are skipped and reported in the log. The payload is parsed
+ * only once and the GModel is updated once after the operation completed. Only elements
+ * listed in the {@link ImixsChangeSet} of the operation are refreshed.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsApplyPropertiesBatchOperationHandler
+        extends AbstractOperationHandler<ImixsApplyPropertiesBatchOperation> {
+    private static Logger logger = Logger.getLogger(ImixsApplyPropertiesBatchOperationHandler.class.getName());
+
+    @Inject
+    protected BPMNGModelState modelState;
+
+    @Inject
+    protected BPMNGModelFactory bpmnGModelFactory;
+
+    @Inject
+    protected ImixsExtensionRegistry extensionRegistry;
+
+    @Override
+    protected void executeOperation(final ImixsApplyPropertiesBatchOperation operation) {
+        long l = System.currentTimeMillis();
+        List<String> elementIds = operation.getElementIds();
+        if (elementIds == null || elementIds.isEmpty() || operation.getJsonData() == null) {
+            return;
+        }
+        JsonObject payload;
+        try (JsonReader reader = Json.createReader(new StringReader(operation.getJsonData()))) {
+            payload = reader.readObject();
+        }
+
+        BPMNModel model = modelState.getBpmnModel();
+        ImixsChangeSet changeSet = applyProperties(model, elementIds, operation.getCategory(), payload);
+
+        // refresh only the changed elements
+        for (ImixsChangeSet.Change change : changeSet.getChanges()) {
+            GModelElement gNodeElement = findGNodeElement(change.getElementId());
+            BPMNElementNode bpmnElement = model.findElementNodeById(change.getElementId());
+            if (gNodeElement != null && bpmnElement != null) {
+                bpmnGModelFactory.applyBPMNElementExtensions(gNodeElement, bpmnElement);
+            }
+        }
+        logger.info("...batch update of " + elementIds.size() + " elements - " + changeSet.getChanges().size()
+                + " changed in " + (System.currentTimeMillis() - l) + "ms");
+    }
+
+    /**
+     * Applies the payload to the given elements and returns the
+     * {@link ImixsChangeSet} of the update. Elements not found in the model or
+     * without a GModel element are skipped, as the extensions need the GModel
+     * element to update the element info (e.g. a changed processid).
+     *
+     * @param model      - the BPMN model
+     * @param elementIds - the ids of the elements to update
+     * @param category   - category of the properties form
+     * @param payload    - the properties to apply
+     * @return the changes of the update
+     */
+    ImixsChangeSet applyProperties(final BPMNModel model, final List<String> elementIds, final String category,
+            final JsonObject payload) {
+        // the Imixs extensions updating the category by element type
+        Map<String, List<BPMNElementExtension>> extensionsByType = new HashMap<String, List<BPMNElementExtension>>();
+        List<String> skipped = new ArrayList<String>();
+        ImixsChangeSet.begin(model);
+        ImixsChangeSet changeSet;
+        try {
+            for (String id : elementIds) {
+                BPMNElementNode bpmnElement = model.findElementNodeById(id);
+                GModelElement gNodeElement = findGNodeElement(id);
+                if (bpmnElement == null || gNodeElement == null) {
+                    skipped.add(id);
+                    continue;
+                }
+                List<BPMNElementExtension> extensions = extensionsByType.computeIfAbsent(bpmnElement.getType(),
+                        type -> extensionRegistry.getExtensions(type, category));
+                for (BPMNElementExtension extension : extensions) {
+                    if (extension.handlesBPMNElement(bpmnElement)) {
+                        JsonObject json = merge(extension, bpmnElement, payload);
+                        extension.updatePropertiesData(json, category, bpmnElement, gNodeElement);
+                    }
+                }
+            }
+        } finally {
+            changeSet = ImixsChangeSet.end(model);
+        }
+        if (!skipped.isEmpty()) {
+            logger.warning("...batch update skipped " + skipped.size() + " elements not found in the GModel: " + skipped);
+        }
+        return changeSet;
+    }
+
+    /**
+     * Returns the GModel element for the given id or null if the element is not
+     * part of the GModel.
+     */
+    protected GModelElement findGNodeElement(final String id) {
+        return modelState.getIndex().get(id).orElse(null);
+    }
+
+    /**
+     * Helper method returns the current property data of an element overwritten
+     * by the properties of the payload. For the Imixs extensions only the data
+     * is built, not the schema and uischema of the properties form.
+     */
+    private JsonObject merge(final BPMNElementExtension extension, final BPMNElementNode bpmnElement,
+            final JsonObject payload) {
+        DataBuilder dataBuilder = new DataBuilder();
+        if (extension instanceof ImixsBPMNExtension) {
+            ((ImixsBPMNExtension) extension).buildPropertiesData(bpmnElement, dataBuilder);
+        } else {
+            extension.buildPropertiesForm(bpmnElement, dataBuilder, new SchemaBuilder(),
+                    new UISchemaBuilder(Layout.CATEGORIZATION));
+        }
+        JsonObjectBuilder builder = Json.createObjectBuilder(dataBuilder.build());
+        for (Map.Entry<String, JsonValue> entry : payload.entrySet()) {
+            builder.add(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,37 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.operations;
+
+import org.eclipse.glsp.server.operations.Operation;
+
+/**
+ * The ImixsRefreshLinkedFilesOperation reloads the content of all file://
+ * linked items whose files have changed since the model was loaded. The
+ * operation is send by the client, e.g. if the diagram gets the focus, or if a
+ * {@link org.imixs.openbpmn.extensions.ImixsFileLinkWatcher.Listener} reported
+ * a change.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsRefreshLinkedFilesOperation extends Operation {
+
+    public static final String KIND = "imixsRefreshLinkedFiles";
+
+    public ImixsRefreshLinkedFilesOperation() {
+        super(KIND);
+    }
+}
@@ -0,0 +1,72 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.openbpmn.operations;
+
+import java.util.logging.Logger;
+
+import org.eclipse.glsp.graph.GModelElement;
+import org.eclipse.glsp.server.operations.AbstractOperationHandler;
+import org.imixs.openbpmn.extensions.ImixsChangeSet;
+import org.imixs.openbpmn.extensions.ImixsExtensionRegistry;
+import org.imixs.openbpmn.extensions.ImixsFileLinkWatcher;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.glsp.model.BPMNGModelFactory;
+import org.openbpmn.glsp.model.BPMNGModelState;
+
+import com.google.inject.Inject;
+
+/**
+ * The ImixsRefreshLinkedFilesOperationHandler applies the pending file changes
+ * reported by the {@link ImixsFileLinkWatcher} to the current model. Only the
+ * affected items are updated and only the GModel elements listed in the
+ * resulting {@link ImixsChangeSet} are refreshed.
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsRefreshLinkedFilesOperationHandler
+        extends AbstractOperationHandler<ImixsRefreshLinkedFilesOperation> {
+    private static Logger logger = Logger.getLogger(ImixsRefreshLinkedFilesOperationHandler.class.getName());
+
+    @Inject
+    protected BPMNGModelState modelState;
+
+    @Inject
+    protected BPMNGModelFactory bpmnGModelFactory;
+
+    @Inject
+    protected ImixsExtensionRegistry extensionRegistry;
+
+    @Override
+    protected void executeOperation(final ImixsRefreshLinkedFilesOperation operation) {
+        BPMNModel model = modelState.getBpmnModel();
+        ImixsFileLinkWatcher watcher = ImixsFileLinkWatcher.getInstance();
+        if (!watcher.hasPendingChanges(model)) {
+            return;
+        }
+        ImixsChangeSet changeSet = watcher.refresh(model);
+        for (ImixsChangeSet.Change change : changeSet.getChanges()) {
+            GModelElement gNodeElement = modelState.getIndex().get(change.getElementId()).orElse(null);
+            BPMNElementNode bpmnElement = model.findElementNodeById(change.getElementId());
+            if (gNodeElement != null && bpmnElement != null
+                    && !extensionRegistry.getExtensions(bpmnElement).isEmpty()) {
+                bpmnGModelFactory.applyBPMNElementExtensions(gNodeElement, bpmnElement);
+            }
+        }
+        logger.fine("..." + changeSet.getChanges().size() + " elements refreshed from linked files");
+    }
+}
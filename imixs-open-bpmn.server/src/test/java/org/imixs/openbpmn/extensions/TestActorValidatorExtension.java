@@ -0,0 +1,58 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Test the ActorValidatorExtension with the refmodel-1
+ * 
+ */
+public class TestActorValidatorExtension {
+
+    private BPMNModel model;
+    private BPMNElementNode task3;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+        ImixsExtensionUtil.setItemValueList(model, model.getDefinitions(), "txtfieldmapping", "xs:string",
+                Arrays.asList("Owner|namowner", "Team|namteam"), (Collection<String>) null);
+        task3 = model.findElementNodeById("Task_3");
+        ImixsExtensionUtil.setItemValueList(model, task3.getElementNode(), "keyaddwritefields", "xs:string",
+                Arrays.asList("namteam"), (Collection<String>) null);
+    }
+
+    /**
+     * An invalid value added by a direct DOM edit after the model was loaded is
+     * removed on save.
+     */
+    @Test
+    public void testValidateOnSave() {
+        ActorValidatorExtension validator = new ActorValidatorExtension();
+        validator.onLoad(model, null);
+
+        // add an unknown actor without the ImixsExtensionUtil
+        Element value = (Element) task3.getElementNode().getElementsByTagName("imixs:value").item(0);
+        Element invalidValue = (Element) value.cloneNode(true);
+        invalidValue.setTextContent("namunknown");
+        value.getParentNode().appendChild(invalidValue);
+        assertEquals(List.of("namteam", "namunknown"),
+                ImixsExtensionUtil.getItemValueList(model, task3.getElementNode(), "keyaddwritefields"));
+
+        validator.onSave(model, null);
+        assertEquals(List.of("namteam"),
+                ImixsExtensionUtil.getItemValueList(model, task3.getElementNode(), "keyaddwritefields"));
+    }
+}
@@ -0,0 +1,101 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.BPMNProcess;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+
+/**
+ * Test the refresh of the elements after a field mapping change in the
+ * ImixsBPMNDefinitionsExtension
+ *
+ */
+public class TestImixsBPMNDefinitionsExtension {
+
+    private BPMNModel model;
+    private BPMNProcess process;
+    private Set<BPMNElementNode> refreshed;
+    private ImixsBPMNDefinitionsExtension extension;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        process = model.openDefaultProces();
+        ImixsExtensionUtil.setItemValueList(model, model.getDefinitions(), "txtfieldmapping", "xs:string",
+                Arrays.asList("Owner|namowner"), (Collection<String>) null);
+        refreshed = null;
+        extension = new ImixsBPMNDefinitionsExtension() {
+            @Override
+            protected void refreshElements(final Set<BPMNElementNode> elements) {
+                refreshed = elements;
+            }
+        };
+    }
+
+    /**
+     * A new actor is shown by all tasks - even if no task references the actor
+     * yet.
+     */
+    @Test
+    public void testActorAdded() {
+        extension.updatePropertiesData(buildJson("Owner", "namowner", "Team", "namteam"), "Workflow", process,
+                null);
+        BPMNElementNode task4 = model.findElementNodeById("Task_4");
+        assertTrue(refreshed.contains(task4));
+        assertTrue(Arrays.asList(ImixsItemNameMapper.getInstance(model, "txtfieldmapping").getItemDefinitionsArray())
+                .contains("Team|namteam"));
+    }
+
+    /**
+     * An unchanged actor list does not refresh any element.
+     */
+    @Test
+    public void testActorsUnchanged() {
+        extension.updatePropertiesData(buildJson("Owner", "namowner"), "Workflow", process, null);
+        assertNull(refreshed);
+    }
+
+    /**
+     * The time field mapping is shown by events only.
+     */
+    @Test
+    public void testFindOptionElements() {
+        for (BPMNElementNode element : ImixsBPMNDefinitionsExtension.findOptionElements(model,
+                "txttimefieldmapping")) {
+            assertTrue(ImixsExtensionRegistry.isImixsEvent(element));
+        }
+        Set<BPMNElementNode> elements = ImixsBPMNDefinitionsExtension.findOptionElements(model, "txtfieldmapping");
+        assertTrue(elements.contains(model.findElementNodeById("Task_4")));
+    }
+
+    /**
+     * Builds the json data of the Workflow category with the given actor/item
+     * pairs
+     */
+    private JsonObject buildJson(String... actors) {
+        JsonArrayBuilder actorArray = Json.createArrayBuilder();
+        for (int i = 0; i < actors.length; i += 2) {
+            actorArray.add(Json.createObjectBuilder().add("actor", actors[i]).add("item", actors[i + 1]));
+        }
+        return Json.createObjectBuilder() //
+                .add("txtworkflowmodelversion", "1.0.0") //
+                .add("actors", actorArray) //
+                .add("dateobjects", Json.createArrayBuilder()) //
+                .add("plugins", Json.createArrayBuilder()) //
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+
+/**
+ * Test the ImixsChangeSet recorded by the updatePropertiesData method of the
+ * Imixs BPMN extensions
+ *
+ */
+public class TestImixsChangeSet {
+
+    private BPMNModel model;
+    private BPMNElementNode task3;
+    private BPMNElementNode task4;
+    private ImixsBPMNTaskExtension extension;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+        task3 = model.findElementNodeById("Task_3");
+        task4 = model.findElementNodeById("Task_4");
+        extension = new ImixsBPMNTaskExtension();
+    }
+
+    /**
+     * An update does not request a refresh of the GModel. The changes are only
+     * recorded if the caller opened a change set.
+     */
+    @Test
+    public void testUpdateResult() {
+        JsonObject json = buildJson("new summary");
+        assertFalse(extension.updatePropertiesData(json, "Workflow", task3, null));
+        assertEquals("new summary",
+                ImixsExtensionUtil.getItemValueString(model, task3.getElementNode(), "txtworkflowsummary"));
+        assertTrue(ImixsChangeSet.end(model).isEmpty());
+
+        ImixsChangeSet.begin(model);
+        assertFalse(extension.updatePropertiesData(buildJson("other summary"), "Workflow", task3, null));
+        assertFalse(extension.updatePropertiesData(json, "ACL", task3, null));
+        ImixsChangeSet changeSet = ImixsChangeSet.end(model);
+        assertEquals(1, changeSet.getChanges().size());
+        assertTrue(changeSet.getChange("Task_3").getItemNames().contains("txtworkflowsummary"));
+    }
+
+    /**
+     * A change set opened by the caller collects the changes of all updates and
+     * is only closed by the outermost end.
+     */
+    @Test
+    public void testNestedChangeSet() {
+        ImixsChangeSet.begin(model);
+        extension.updatePropertiesData(buildJson("new summary"), "Workflow", task3, null);
+        extension.updatePropertiesData(buildJson("new summary"), "Workflow", task4, null);
+        ImixsChangeSet changeSet = ImixsChangeSet.end(model);
+
+        assertEquals(2, changeSet.getChanges().size());
+        assertTrue(changeSet.getChange("Task_3").getItemNames().contains("txtworkflowsummary"));
+        assertFalse(changeSet.getChange("Task_3").isKeyChanged());
+        assertNotNull(changeSet.getChange("Task_4"));
+
+        // the change set is closed
+        ImixsExtensionUtil.setItemValue(model, task3.getElementNode(), "txtworkflowabstract", "xs:string",
+                "new abstract");
+        assertFalse(changeSet.getChange("Task_3").getItemNames().contains("txtworkflowabstract"));
+        assertTrue(ImixsChangeSet.end(model).isEmpty());
+    }
+
+    /**
+     * Builds the json data of the Workflow category
+     */
+    private JsonObject buildJson(String summary) {
+        return Json.createObjectBuilder() //
+                .add("processid", "1000") //
+                .add("txttype", "") //
+                .add("txtimageurl", "") //
+                .add("txtworkflowsummary", summary) //
+                .add("txtworkflowabstract", "") //
+                .add("txteditorid", "") //
+                .add("form_definition", "") //
+                .build();
+    }
+}
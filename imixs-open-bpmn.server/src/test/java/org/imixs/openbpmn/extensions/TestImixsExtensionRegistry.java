@@ -0,0 +1,86 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.openbpmn.extensions.BPMNElementExtension;
+
+/**
+ * Test the extension lookup and the marker cache of the
+ * ImixsExtensionRegistry
+ * 
+ */
+public class TestImixsExtensionRegistry {
+
+    private BPMNModel model;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+    }
+
+    /**
+     * The registry resolves the Imixs extensions of an element ordered by
+     * priority.
+     */
+    @Test
+    public void testGetExtensions() {
+        ImixsBPMNTaskExtension taskExtension = new ImixsBPMNTaskExtension();
+        ImixsBPMNTaskACLExtension taskACLExtension = new ImixsBPMNTaskACLExtension();
+        ImixsBPMNEventExtension eventExtension = new ImixsBPMNEventExtension();
+        ImixsExtensionRegistry registry = new ImixsExtensionRegistry(
+                Set.of(taskACLExtension, eventExtension, taskExtension));
+
+        List<BPMNElementExtension> extensions = registry.getExtensions(model.findElementNodeById("Task_3"));
+        assertEquals(List.of(taskExtension, taskACLExtension), extensions);
+        assertEquals(List.of(eventExtension), registry.getExtensions(model.findElementNodeById("event_zLUTkA")));
+        // event without imixs:activityid
+        assertTrue(registry.getExtensions(model.findElementNodeById("event_ounTaA")).isEmpty());
+    }
+
+    /**
+     * The registry resolves only the extensions updating a category of the
+     * properties form.
+     */
+    @Test
+    public void testGetExtensionsByCategory() {
+        ImixsBPMNTaskExtension taskExtension = new ImixsBPMNTaskExtension();
+        ImixsBPMNTaskACLExtension taskACLExtension = new ImixsBPMNTaskACLExtension();
+        ImixsExtensionRegistry registry = new ImixsExtensionRegistry(Set.of(taskACLExtension, taskExtension));
+
+        String type = model.findElementNodeById("Task_3").getType();
+        assertEquals(List.of(taskACLExtension), registry.getExtensions(type, "ACL"));
+        assertEquals(List.of(taskExtension), registry.getExtensions(type, "App"));
+        assertTrue(registry.getExtensions(type, "Message").isEmpty());
+    }
+
+    /**
+     * The markers of a task and an event are cached separately and discarded if
+     * an attribute of the element is modified.
+     */
+    @Test
+    public void testMarkerCache() {
+        BPMNElementNode task = model.findElementNodeById("Task_3");
+        assertTrue(ImixsExtensionRegistry.isImixsTask(task));
+        assertFalse(ImixsExtensionRegistry.isImixsEvent(task));
+
+        task.getElementNode().removeAttribute(ImixsExtensionUtil.getNamespace() + ":processid");
+        assertFalse(ImixsExtensionRegistry.isImixsTask(task));
+
+        BPMNElementNode event = model.findElementNodeById("event_ounTaA");
+        assertFalse(ImixsExtensionRegistry.isImixsEvent(event));
+        event.setExtensionAttribute(ImixsExtensionUtil.getNamespace(), "activityid", "10");
+        assertTrue(ImixsExtensionRegistry.isImixsEvent(event));
+    }
+}
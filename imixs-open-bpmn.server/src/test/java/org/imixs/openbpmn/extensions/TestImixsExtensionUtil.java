@@ -0,0 +1,123 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.BPMNNS;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Test the item access of the ImixsExtensionUtil and its item index
+ *
+ */
+public class TestImixsExtensionUtil {
+
+    private BPMNModel model;
+    private Element eventNode;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+        eventNode = model.findElementNodeById("IntermediateCatchEvent_3").getElementNode();
+    }
+
+    /**
+     * Changes of the DOM made outside of the ImixsExtensionUtil discard the item
+     * index. The next read access returns the new values.
+     */
+    @Test
+    public void testIndexInvalidation() {
+        assertEquals("1", ImixsExtensionUtil.getItemValueString(model, eventNode, "keypublicresult"));
+        Element extensionElement = model.findChildNodeByName(eventNode, BPMNNS.BPMN2,
+                "extensionElements");
+
+        // change a value
+        Element valueElement = (Element) extensionElement.getElementsByTagName("imixs:value").item(0);
+        valueElement.getFirstChild().setNodeValue("0");
+        assertEquals("0", ImixsExtensionUtil.getItemValueString(model, eventNode, "keypublicresult"));
+
+        // add an item
+        Element item = model.getDoc().createElementNS(ImixsExtensionUtil.getNamespaceURI(), "imixs:item");
+        item.setAttribute("name", "txtactivityresult");
+        item.setAttribute("type", "xs:string");
+        Element value = ImixsExtensionUtil.createItemValueElement(model);
+        value.setTextContent("done");
+        item.appendChild(value);
+        extensionElement.appendChild(item);
+        assertEquals("done", ImixsExtensionUtil.getItemValueString(model, eventNode, "txtactivityresult"));
+
+        // remove all items
+        while (extensionElement.hasChildNodes()) {
+            extensionElement.removeChild(extensionElement.getFirstChild());
+        }
+        assertTrue(ImixsExtensionUtil.getItemNames(model, eventNode).isEmpty());
+    }
+
+    /**
+     * Writing the current value does not change the DOM and returns false.
+     */
+    @Test
+    public void testNoOpWrites() {
+        assertFalse(ImixsExtensionUtil.setItemValue(model, eventNode, "keypublicresult", "xs:string", "1"));
+        assertTrue(ImixsExtensionUtil.setItemValue(model, eventNode, "keypublicresult", "xs:boolean", "1"));
+        assertTrue(ImixsExtensionUtil.setItemValue(model, eventNode, "keypublicresult", "xs:boolean", "0"));
+        assertFalse(ImixsExtensionUtil.setItemValue(model, eventNode, "keypublicresult", "xs:boolean", "0"));
+
+        assertFalse(ImixsExtensionUtil.setItemValue(model, eventNode, "txtactivityresult", "xs:string", ""));
+        assertFalse(ImixsExtensionUtil.removeItemValue(model, eventNode, "txtactivityresult"));
+        assertTrue(ImixsExtensionUtil.removeItemValue(model, eventNode, "keypublicresult"));
+        assertFalse(ImixsExtensionUtil.removeItemValue(model, eventNode, "keypublicresult"));
+
+        List<String> values = Arrays.asList("namowner", "namteam");
+        assertTrue(ImixsExtensionUtil.setItemValueList(model, eventNode, "keyownershipfields", "xs:string",
+                values, (Collection<String>) null));
+        assertFalse(ImixsExtensionUtil.setItemValueList(model, eventNode, "keyownershipfields", "xs:string",
+                values, (Collection<String>) null));
+        // a changed order is a change
+        assertTrue(ImixsExtensionUtil.setItemValueList(model, eventNode, "keyownershipfields", "xs:string",
+                Arrays.asList("namteam", "namowner"), (Collection<String>) null));
+    }
+
+    /**
+     * The Collection and the Set overload of setItemValueList filter the values
+     * not part of the reference list.
+     */
+    @Test
+    public void testSetItemValueListReference() {
+        List<String> values = Arrays.asList("namowner", "namteam", "namcreator");
+        List<String> referenceList = Arrays.asList("namcreator", "namowner");
+        Set<String> referenceSet = new LinkedHashSet<String>(referenceList);
+
+        assertTrue(ImixsExtensionUtil.setItemValueList(model, eventNode, "keyaddreadfields", "xs:string", values,
+                referenceList));
+        assertEquals(Arrays.asList("namowner", "namcreator"),
+                ImixsExtensionUtil.getItemValueList(model, eventNode, "keyaddreadfields"));
+
+        assertTrue(ImixsExtensionUtil.setItemValueList(model, eventNode, "keyaddwritefields", "xs:string", values,
+                referenceSet));
+        assertEquals(Arrays.asList("namowner", "namcreator"),
+                ImixsExtensionUtil.getItemValueList(model, eventNode, "keyaddwritefields"));
+
+        // the filtered values are already stored
+        assertFalse(ImixsExtensionUtil.setItemValueList(model, eventNode, "keyaddwritefields", "xs:string",
+                values, referenceSet));
+
+        // no reference list
+        assertTrue(ImixsExtensionUtil.setItemValueList(model, eventNode, "keyaddwritefields", "xs:string", values,
+                (Set<String>) null));
+        assertEquals(values, ImixsExtensionUtil.getItemValueList(model, eventNode, "keyaddwritefields"));
+    }
+}
@@ -0,0 +1,93 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+
+/**
+ * Test the refresh of file:// linked items by the ImixsFileLinkWatcher
+ *
+ */
+public class TestImixsFileLinkWatcher {
+
+    private BPMNModel model;
+    private BPMNElementNode event;
+    private Path ruleFile;
+    private ImixsFileLinkWatcher watcher;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException, IOException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+        Path modelDir = Files.createTempDirectory("imixs-filelink");
+        ImixsLinkedContent.setModelPath(model, modelDir.resolve("model.bpmn"));
+        ruleFile = modelDir.resolve("rule.js").toAbsolutePath().normalize();
+        Files.writeString(ruleFile, "result.ok=true;", StandardCharsets.UTF_8);
+        event = model.findElementNodeById("event_zLUTkA");
+        ImixsExtensionUtil.setItemValue(model, event.getElementNode(), "txtbusinessrule", "xs:string",
+                "file://rule.js");
+        watcher = new ImixsFileLinkWatcher();
+        watcher.register(model);
+    }
+
+    @AfterEach
+    public void teardown() {
+        watcher.unregister(model);
+    }
+
+    /**
+     * A changed file is reported to the listeners of the model. The refresh
+     * keeps the file:// link, lists the element in the change set and discards
+     * its cached form.
+     */
+    @Test
+    public void testRefresh() {
+        Set<String> reported = new LinkedHashSet<String>();
+        watcher.addListener(model, (changedModel, elementIds) -> reported.addAll(elementIds));
+        ImixsFormCache formCache = ImixsFormCache.getInstance(model);
+        formCache.putForm(event, Map.of("JSONFormsData", "{}"));
+
+        watcher.dispatch(Set.of(ruleFile));
+        assertEquals(Set.of(event.getId()), reported);
+        assertTrue(watcher.hasPendingChanges(model));
+
+        ImixsChangeSet changeSet = watcher.refresh(model);
+        assertFalse(watcher.hasPendingChanges(model));
+        assertNotNull(changeSet.getChange(event.getId()));
+        assertTrue(changeSet.getChange(event.getId()).getItemNames().contains("txtbusinessrule"));
+        assertEquals("file://rule.js",
+                ImixsExtensionUtil.getItemValueString(model, event.getElementNode(), "txtbusinessrule"));
+        assertNull(formCache.getForm(event));
+    }
+
+    /**
+     * An unregistered model is no longer informed about changed files.
+     */
+    @Test
+    public void testUnregister() {
+        Set<String> reported = new LinkedHashSet<String>();
+        watcher.addListener(model, (changedModel, elementIds) -> reported.addAll(elementIds));
+        watcher.unregister(model);
+        watcher.dispatch(Set.of(ruleFile));
+        assertTrue(reported.isEmpty());
+        assertFalse(watcher.hasPendingChanges(model));
+    }
+}
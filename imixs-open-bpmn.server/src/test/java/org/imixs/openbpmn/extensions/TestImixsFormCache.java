@@ -0,0 +1,115 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.BPMNProcess;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Test the invalidation and the size limit of the ImixsFormCache
+ * 
+ */
+public class TestImixsFormCache {
+
+    private BPMNModel model;
+    private BPMNElementNode task3;
+    private BPMNElementNode task4;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        BPMNProcess process = model.openDefaultProces();
+        task3 = process.findElementNodeById("Task_3");
+        task4 = process.findElementNodeById("Task_4");
+    }
+
+    /**
+     * A modification within the extensionElements of an element discards only
+     * the form of this element. Any other modification discards all forms.
+     */
+    @Test
+    public void testElementChanged() {
+        ImixsFormCache cache = ImixsFormCache.getInstance(model);
+        cache.putForm(task3, Map.of("JSONFormsData", "{}"));
+        cache.putForm(task4, Map.of("JSONFormsData", "{}"));
+        assertEquals("{}", cache.getForm(task3).get("JSONFormsData"));
+        assertEquals(1, cache.getHits());
+
+        ImixsExtensionUtil.setItemValue(model, task3.getElementNode(), "txtworkflowsummary", "xs:string",
+                "new summary");
+        assertNull(cache.getForm(task3));
+        assertNotNull(cache.getForm(task4));
+
+        cache.putForm(task3, Map.of("JSONFormsData", "{}"));
+        task4.getElementNode().setAttribute("name", "Renamed");
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * A modification of the definitions extensionElements discards all forms.
+     */
+    @Test
+    public void testDefinitionsChanged() {
+        ImixsFormCache cache = ImixsFormCache.getInstance(model);
+        cache.putForm(task3, Map.of("JSONFormsData", "{}"));
+        cache.putForm(task4, Map.of("JSONFormsData", "{}"));
+        ImixsExtensionUtil.setItemValueList(model, model.getDefinitions(), "txtfieldmapping", "xs:string",
+                Arrays.asList("Owner|namowner", "Team|namteam"), (Collection<String>) null);
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * A modification of the diagram does not affect the cache.
+     */
+    @Test
+    public void testDiagramChanged() {
+        ImixsFormCache cache = ImixsFormCache.getInstance(model);
+        cache.putForm(task3, Map.of("JSONFormsData", "{}"));
+        Element shape = (Element) model.getDefinitions().getElementsByTagNameNS("*", "BPMNShape").item(0);
+        shape.setAttribute("id", "BPMNShape_changed");
+        assertNotNull(cache.getForm(task3));
+    }
+
+    /**
+     * The form of an element with a file:// linked item is not cached.
+     */
+    @Test
+    public void testFileLink() {
+        ImixsFormCache cache = ImixsFormCache.getInstance(model);
+        ImixsExtensionUtil.setItemValue(model, task3.getElementNode(), "txtworkflowsummary", "xs:string",
+                "file://summary.txt");
+        cache.putForm(task3, Map.of("JSONFormsData", "{}"));
+        cache.putForm(task4, Map.of("JSONFormsData", "{}"));
+        assertNull(cache.getForm(task3));
+        assertNotNull(cache.getForm(task4));
+    }
+
+    /**
+     * The least recently used form is discarded first.
+     */
+    @Test
+    public void testSizeLimit() {
+        ImixsFormCache cache = new ImixsFormCache(model, 2);
+        BPMNElementNode task5 = model.findElementNodeById("Task_5");
+        cache.putForm(task3, Map.of("JSONFormsData", "{}"));
+        cache.putForm(task4, Map.of("JSONFormsData", "{}"));
+        cache.getForm(task3);
+        cache.putForm(task5, Map.of("JSONFormsData", "{}"));
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getForm(task3));
+        assertNull(cache.getForm(task4));
+        assertNotNull(cache.getForm(task5));
+    }
+}
@@ -0,0 +1,164 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.BPMNTypes;
+import org.openbpmn.bpmn.elements.Activity;
+import org.openbpmn.bpmn.elements.BPMNProcess;
+import org.openbpmn.bpmn.elements.Event;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Test the ImixsIdIndex with the refmodel-1. The index must read the
+ * imixs:processid and imixs:activityid in the same way as they are written by
+ * the Imixs extensions.
+ * 
+ */
+public class TestImixsIdIndex {
+
+    private BPMNModel model;
+    private BPMNProcess process;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        process = model.openDefaultProces();
+    }
+
+    /**
+     * Tests the processids of the refmodel-1
+     */
+    @Test
+    public void testProcessIds() {
+        ImixsIdIndex index = ImixsIdIndex.getInstance(model);
+        assertTrue(index.getTasks(2000).contains("Task_3"));
+        assertTrue(index.getTasks(2100).contains("Task_4"));
+        assertEquals(2300, index.nextProcessId());
+        assertTrue(index.findDuplicates().isEmpty());
+    }
+
+    /**
+     * Creates new tasks through the ImixsBPMNTaskExtension and verifies the next
+     * processid.
+     */
+    @Test
+    public void testAddTask() throws BPMNModelException {
+        ImixsBPMNTaskExtension extension = new ImixsBPMNTaskExtension();
+        Activity task = process.addTask("task_new1", "New Task 1", BPMNTypes.TASK);
+        extension.addExtension(task);
+        assertEquals("2300", task.getExtensionAttribute(ImixsExtensionUtil.getNamespace(), "processid"));
+        ImixsIdIndex index = ImixsIdIndex.getInstance(model);
+        assertTrue(index.getTasks(2300).contains("task_new1"));
+        assertEquals(2400, index.nextProcessId());
+
+        task = process.addTask("task_new2", "New Task 2", BPMNTypes.TASK);
+        extension.addExtension(task);
+        assertEquals("2400", task.getExtensionAttribute(ImixsExtensionUtil.getNamespace(), "processid"));
+        assertEquals(2500, ImixsIdIndex.getInstance(model).nextProcessId());
+    }
+
+    /**
+     * Changes a processid through setExtensionAttribute and verifies the
+     * incremental update of the index.
+     */
+    @Test
+    public void testKeyChanged() throws BPMNModelException {
+        ImixsIdIndex index = ImixsIdIndex.getInstance(model);
+        Activity task = (Activity) process.findElementById("Task_4");
+        task.setExtensionAttribute(ImixsExtensionUtil.getNamespace(), "processid", "2000");
+        ImixsIdIndex.keyChanged(model, task.getElementNode());
+        assertTrue(index.isDuplicate("Task_4"));
+        assertTrue(index.isDuplicate("Task_3"));
+        assertTrue(index.getTasks(2100).isEmpty());
+
+        task.setExtensionAttribute(ImixsExtensionUtil.getNamespace(), "processid", "2900");
+        ImixsIdIndex.keyChanged(model, task.getElementNode());
+        assertFalse(index.isDuplicate("Task_4"));
+        assertEquals(3000, index.nextProcessId());
+    }
+
+    /**
+     * Verifies the next activityid of a task
+     */
+    @Test
+    public void testNextActivityId() {
+        ImixsIdIndex index = ImixsIdIndex.getInstance(model);
+        assertTrue(index.nextActivityId("Task_3") > 10);
+        assertEquals(index.nextActivityId("Task_3"), index.nextActivityId("event_zLUTkA"));
+    }
+
+    /**
+     * Added flow nodes and sequence flows are applied to the existing index.
+     */
+    @Test
+    public void testIncrementalUpdate() throws BPMNModelException {
+        ImixsIdIndex index = ImixsIdIndex.getInstance(model);
+        Activity task = process.addTask("task_new1", "New Task 1", BPMNTypes.TASK);
+        new ImixsBPMNTaskExtension().addExtension(task);
+        Event event = process.addEvent("event_new1", "New Event 1", BPMNTypes.CATCH_EVENT);
+        new ImixsBPMNEventExtension().addExtension(event);
+        process.addSequenceFlow("flow_new1", "task_new1", "event_new1");
+
+        assertSame(index, ImixsIdIndex.getInstance(model));
+        assertTrue(index.getTasks(2300).contains("task_new1"));
+        assertEquals(20, index.nextActivityId("task_new1"));
+
+        // reconnect the sequence flow
+        process.findElementById("flow_new1").getElementNode().setAttribute("sourceRef", "Task_5");
+        assertEquals(10, index.nextActivityId("task_new1"));
+        assertEquals(20, index.nextActivityId("Task_5"));
+
+        // remove the task
+        Element taskElement = task.getElementNode();
+        taskElement.getParentNode().removeChild(taskElement);
+        assertTrue(index.getTasks(2300).isEmpty());
+        assertSame(index, ImixsIdIndex.getInstance(model));
+    }
+
+    /**
+     * An event connected to its first task gets the next free activityid of the
+     * task if its activityid is already in use.
+     */
+    @Test
+    public void testConnectEvent() throws BPMNModelException {
+        ImixsIdIndex index = ImixsIdIndex.getInstance(model);
+        ImixsBPMNEventExtension extension = new ImixsBPMNEventExtension();
+        Event event1 = process.addEvent("event_new1", "New Event 1", BPMNTypes.CATCH_EVENT);
+        extension.addExtension(event1);
+        Event event2 = process.addEvent("event_new2", "New Event 2", BPMNTypes.CATCH_EVENT);
+        extension.addExtension(event2);
+        assertEquals("10", event2.getExtensionAttribute(ImixsExtensionUtil.getNamespace(), "activityid"));
+
+        process.addSequenceFlow("flow_new1", "Task_5", "event_new1");
+        process.addSequenceFlow("flow_new2", "Task_5", "event_new2");
+        assertEquals("10", event1.getExtensionAttribute(ImixsExtensionUtil.getNamespace(), "activityid"));
+        assertEquals("20", event2.getExtensionAttribute(ImixsExtensionUtil.getNamespace(), "activityid"));
+        assertTrue(index.findDuplicates().isEmpty());
+    }
+
+    /**
+     * A sequence flow connecting an event to a further task with the same
+     * activityid is reported as a duplicate. Removing the flow resolves it.
+     */
+    @Test
+    public void testConnectDuplicate() throws BPMNModelException {
+        ImixsIdIndex index = ImixsIdIndex.getInstance(model);
+        process.addSequenceFlow("flow_new1", "Task_4", "IntermediateCatchEvent_3");
+        assertTrue(index.isDuplicate("IntermediateCatchEvent_3"));
+        assertTrue(index.isDuplicate("event_QmH67Q"));
+        assertFalse(model.getNotifications().isEmpty());
+
+        Element flowElement = process.findElementById("flow_new1").getElementNode();
+        flowElement.getParentNode().removeChild(flowElement);
+        assertFalse(index.isDuplicate("IntermediateCatchEvent_3"));
+        assertTrue(index.findDuplicates().isEmpty());
+    }
+}
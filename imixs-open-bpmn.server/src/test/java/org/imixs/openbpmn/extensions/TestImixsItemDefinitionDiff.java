@@ -0,0 +1,74 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the comparison of item definition lists by the ImixsItemDefinitionDiff
+ *
+ */
+public class TestImixsItemDefinitionDiff {
+
+    private static final List<String> ACTORS = List.of("Owner|namowner", "Team|namteam", "Manager|nammanager");
+
+    /**
+     * A new definition is listed as added.
+     */
+    @Test
+    public void testAdded() {
+        ImixsItemDefinitionDiff diff = ImixsItemDefinitionDiff.compare(ACTORS,
+                List.of("Owner|namowner", "Team|namteam", "Manager|nammanager", "Approver|namapprover"));
+        assertFalse(diff.isEmpty());
+        assertEquals(Set.of("namapprover"), diff.getAdded());
+        assertTrue(diff.getRemoved().isEmpty());
+        assertTrue(diff.getRelabelled().isEmpty());
+        assertEquals(Set.of("namapprover"), diff.getChangedValues());
+
+        // no stored definitions
+        assertEquals(Set.of("namowner", "namteam", "nammanager"),
+                ImixsItemDefinitionDiff.compare(null, ACTORS).getAdded());
+    }
+
+    /**
+     * A missing definition is listed as removed.
+     */
+    @Test
+    public void testRemoved() {
+        ImixsItemDefinitionDiff diff = ImixsItemDefinitionDiff.compare(ACTORS,
+                List.of("Owner|namowner", "Manager|nammanager"));
+        assertEquals(Set.of("namteam"), diff.getRemoved());
+        assertTrue(diff.getAdded().isEmpty());
+        assertTrue(diff.getRelabelled().isEmpty());
+        assertEquals(Set.of("namteam"), diff.getChangedValues());
+    }
+
+    /**
+     * A value with a new label is listed as relabelled.
+     */
+    @Test
+    public void testRelabelled() {
+        ImixsItemDefinitionDiff diff = ImixsItemDefinitionDiff.compare(ACTORS,
+                List.of("Owner|namowner", "Workgroup|namteam", "Manager|nammanager"));
+        assertEquals(Set.of("namteam"), diff.getRelabelled());
+        assertTrue(diff.getAdded().isEmpty());
+        assertTrue(diff.getRemoved().isEmpty());
+        assertEquals("added=[] removed=[] relabelled=[namteam]", diff.toString());
+    }
+
+    /**
+     * A changed order is not a structural change.
+     */
+    @Test
+    public void testReorder() {
+        ImixsItemDefinitionDiff diff = ImixsItemDefinitionDiff.compare(ACTORS,
+                List.of("Manager|nammanager", "Owner|namowner", "Team|namteam"));
+        assertTrue(diff.isEmpty());
+        assertTrue(diff.getChangedValues().isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+
+/**
+ * Test the cache of the ImixsItemNameMapper
+ *
+ */
+public class TestImixsItemNameMapper {
+
+    private BPMNModel model;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        ImixsExtensionUtil.setItemValueList(model, model.getDefinitions(), "txtfieldmapping", "xs:string",
+                Arrays.asList("Owner|namowner", "Team|namteam"), (Collection<String>) null);
+    }
+
+    /**
+     * The mapper is cached per field mapping.
+     */
+    @Test
+    public void testGetInstance() {
+        ImixsItemNameMapper mapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
+        assertSame(mapper, ImixsItemNameMapper.getInstance(model, "txtfieldmapping"));
+        assertNotSame(mapper, ImixsItemNameMapper.getInstance(model, "txttimefieldmapping"));
+        assertEquals("Team", mapper.resolveLabel("namteam"));
+        assertEquals("namowner", mapper.resolveValue("Owner"));
+    }
+
+    /**
+     * A write of the field mapping discards the cached mapper. A change of a
+     * BPMN element does not.
+     */
+    @Test
+    public void testInvalidation() {
+        ImixsItemNameMapper mapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
+        ImixsExtensionUtil.setItemValue(model, model.findElementNodeById("Task_3").getElementNode(),
+                "txtworkflowsummary", "xs:string", "new summary");
+        assertSame(mapper, ImixsItemNameMapper.getInstance(model, "txtfieldmapping"));
+
+        ImixsExtensionUtil.setItemValueList(model, model.getDefinitions(), "txtfieldmapping", "xs:string",
+                Arrays.asList("Owner|namowner", "Manager|nammanager"), (Collection<String>) null);
+        mapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
+        assertEquals("Manager", mapper.resolveLabel("nammanager"));
+        assertEquals("", mapper.resolveLabel("namteam"));
+    }
+
+    /**
+     * The returned arrays can be modified without changing the mapper.
+     */
+    @Test
+    public void testArrayCopies() {
+        ImixsItemNameMapper mapper = ImixsItemNameMapper.getInstance(model, "txtfieldmapping");
+        mapper.getItemDefinitionsArray()[0] = "Other|namother";
+        mapper.getLabelsArray()[0] = "Other";
+        assertEquals("Owner|namowner", mapper.getItemDefinitionsArray()[0]);
+        assertEquals("Owner", mapper.getLabelsArray()[0]);
+    }
+}
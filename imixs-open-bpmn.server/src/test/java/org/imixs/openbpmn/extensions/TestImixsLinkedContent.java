@@ -0,0 +1,100 @@
+package org.imixs.openbpmn.extensions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Test the on demand resolution and the cache of file:// linked content
+ *
+ */
+public class TestImixsLinkedContent {
+
+    private BPMNModel model;
+    private Element eventNode;
+    private Path ruleFile;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException, IOException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+        Path modelDir = Files.createTempDirectory("imixs-linkedcontent");
+        ImixsLinkedContent.setModelPath(model, modelDir.resolve("model.bpmn"));
+        ruleFile = modelDir.resolve("rule.js");
+        Files.writeString(ruleFile, "result.ok=true;", StandardCharsets.UTF_8);
+        eventNode = model.findElementNodeById("event_zLUTkA").getElementNode();
+        ImixsExtensionUtil.setItemValue(model, eventNode, "txtbusinessrule", "xs:string", "file://rule.js");
+    }
+
+    /**
+     * The linked content is read once and reread after the file was modified.
+     */
+    @Test
+    public void testGetItemContent() throws IOException {
+        ImixsLinkedContent linkedContent = new ImixsLinkedContent(1024);
+        assertEquals("result.ok=true;", linkedContent.getItemContent(model, eventNode, "txtbusinessrule"));
+        assertEquals(1, linkedContent.getCacheCount());
+        assertEquals("result.ok=true;", linkedContent.getItemContent(model, eventNode, "txtbusinessrule"));
+
+        Files.writeString(ruleFile, "result.ok=false;", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(ruleFile, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+        assertEquals("result.ok=false;", linkedContent.getItemContent(model, eventNode, "txtbusinessrule"));
+        assertEquals(1, linkedContent.getCacheCount());
+
+        // items without a link return the value
+        assertEquals("", linkedContent.getItemContent(model, eventNode, "txtbusinessruleengine"));
+    }
+
+    /**
+     * A file exceeding the whole cache is not cached.
+     */
+    @Test
+    public void testCacheSize() throws IOException {
+        ImixsLinkedContent linkedContent = new ImixsLinkedContent(16);
+        assertEquals("result.ok=true;", linkedContent.getContent(ruleFile));
+        assertEquals(0, linkedContent.getCacheCount());
+        assertEquals(0, linkedContent.getCacheSize());
+    }
+
+    /**
+     * A link to a file exceeding the inline size is not resolved.
+     */
+    @Test
+    public void testInlineSize() throws IOException {
+        ImixsLinkedContent linkedContent = new ImixsLinkedContent(1024, 8);
+        assertEquals("file://rule.js", linkedContent.getItemContent(model, eventNode, "txtbusinessrule"));
+        assertEquals(0, linkedContent.getCacheCount());
+
+        Files.writeString(ruleFile, "ok=true;", StandardCharsets.UTF_8);
+        assertEquals("ok=true;", linkedContent.getItemContent(model, eventNode, "txtbusinessrule"));
+    }
+
+    /**
+     * The properties form shows the linked content. Saving the unchanged content
+     * keeps the link.
+     */
+    @Test
+    public void testSetItemContent() {
+        ImixsBPMNEventRuleExtension extension = new ImixsBPMNEventRuleExtension();
+        assertEquals("result.ok=true;", extension.getItemContent(model, eventNode, "txtbusinessrule"));
+        assertFalse(extension.setItemContent(model, eventNode, "txtbusinessrule", "result.ok=true;"));
+        assertEquals("file://rule.js", ImixsExtensionUtil.getItemValueString(model, eventNode, "txtbusinessrule"));
+
+        assertTrue(extension.setItemContent(model, eventNode, "txtbusinessrule", "result.ok=false;"));
+        assertEquals("result.ok=false;", ImixsExtensionUtil.getItemValueString(model, eventNode, "txtbusinessrule"));
+        assertEquals("file://rule.js", ImixsExtensionUtil.getItemFileLink(model, eventNode, "txtbusinessrule"));
+    }
+}
@@ -0,0 +1,84 @@
+package org.imixs.openbpmn.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.imixs.openbpmn.metrics.ImixsMetrics.Histogram;
+import org.imixs.openbpmn.metrics.ImixsMetrics.Snapshot;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the histograms and counters of the ImixsMetrics
+ *
+ */
+public class TestImixsMetrics {
+
+    /**
+     * Bucket i holds the values from 2^(i-1) to 2^i-1. A percentile is the upper
+     * bound of its bucket, but not more than the max value.
+     */
+    @Test
+    public void testPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.update(i);
+        }
+        Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50, snapshot.getMean());
+        // values 32..63 are in bucket 6
+        assertEquals(63, snapshot.getP50());
+        // values 64..127 are in bucket 7
+        assertEquals(100, snapshot.getP95());
+        assertEquals(100, snapshot.getP99());
+        assertEquals(100, snapshot.getMax());
+    }
+
+    /**
+     * The values 0 and 1 have their own buckets. Negative values are recorded as
+     * 0.
+     */
+    @Test
+    public void testSmallValues() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getP50());
+
+        histogram.update(-5);
+        histogram.update(0);
+        histogram.update(1);
+        histogram.update(3);
+        Snapshot snapshot = histogram.snapshot();
+        assertEquals(4, snapshot.getCount());
+        assertEquals(0, snapshot.getP50());
+        assertEquals(3, snapshot.getP95());
+        assertEquals(3, snapshot.getMax());
+    }
+
+    /**
+     * Counters sum up values. The metrics are not published until start is
+     * called.
+     */
+    @Test
+    public void testCounters() throws Exception {
+        ImixsMetrics metrics = new ImixsMetrics();
+        assertEquals(0, metrics.getCounter("elements"));
+        assertNull(metrics.getHistogram("validateACL"));
+        metrics.count("elements", 3);
+        metrics.count("elements", 4);
+        assertEquals(7, metrics.getCounter("elements"));
+        metrics.record("validateACL", System.nanoTime());
+        assertEquals(1, metrics.getHistogram("validateACL").getCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.getCounter("elements"));
+
+        ImixsMetrics.getInstance().count("elements", 1);
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(ImixsMetrics.OBJECT_NAME)));
+    }
+}
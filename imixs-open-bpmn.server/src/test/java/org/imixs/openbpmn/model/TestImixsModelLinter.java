@@ -0,0 +1,153 @@
+package org.imixs.openbpmn.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.imixs.openbpmn.model.ImixsModelLinter.Finding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the rules of the ImixsModelLinter. Each test writes a small model with
+ * a single task and two events into a temp directory.
+ *
+ */
+public class TestImixsModelLinter {
+
+    private Path modelDir;
+    private ImixsModelLinter linter;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        modelDir = Files.createTempDirectory("imixs-linter");
+        linter = new ImixsModelLinter();
+    }
+
+    /**
+     * A valid model has no findings.
+     */
+    @Test
+    public void testValidModel() throws IOException {
+        Files.writeString(modelDir.resolve("rule.js"), "result.ok=true;", StandardCharsets.UTF_8);
+        List<Finding> findings = lint(task("task_1", 1000, item("keyownershipfields", "namowner")) //
+                + event("event_1", 10, item("txtbusinessrule", "file://rule.js")) //
+                + event("event_2", 20, "") //
+                + loop("task_1", "event_1") + loop("task_1", "event_2"));
+        assertTrue(findings.isEmpty(), findings.toString());
+    }
+
+    /**
+     * An actor not defined in the actor mapping is reported.
+     */
+    @Test
+    public void testACL() throws IOException {
+        List<Finding> findings = lint(task("task_1", 1000, item("keyownershipfields", "namteam")) //
+                + event("event_1", 10, item("keyaddwritefields", "namowner")) //
+                + loop("task_1", "event_1"));
+        assertFinding(findings, ImixsModelLinter.RULE_ACL, "task_1");
+    }
+
+    /**
+     * A processid used by two tasks is reported for the second task.
+     */
+    @Test
+    public void testDuplicateProcessId() throws IOException {
+        List<Finding> findings = lint(task("task_1", 1000, "") + task("task_2", 1000, "") //
+                + event("event_1", 10, "") + event("event_2", 10, "") //
+                + loop("task_1", "event_1") + loop("task_2", "event_2"));
+        assertFinding(findings, ImixsModelLinter.RULE_DUPLICATE_PROCESSID, "task_2");
+    }
+
+    /**
+     * A activityid used by two events of the same task is reported.
+     */
+    @Test
+    public void testDuplicateActivityId() throws IOException {
+        List<Finding> findings = lint(task("task_1", 1000, "") //
+                + event("event_1", 10, "") + event("event_2", 10, "") //
+                + loop("task_1", "event_1") + loop("task_1", "event_2"));
+        assertEquals(1, findings.size(), findings.toString());
+        assertEquals(ImixsModelLinter.RULE_DUPLICATE_ACTIVITYID, findings.get(0).getRule());
+    }
+
+    /**
+     * A catch event without outgoing sequenceFlow is reported.
+     */
+    @Test
+    public void testOutgoingFlow() throws IOException {
+        List<Finding> findings = lint(task("task_1", 1000, "") //
+                + event("event_1", 10, "") //
+                + flow("task_1", "event_1"));
+        assertFinding(findings, ImixsModelLinter.RULE_OUTGOING_FLOW, "event_1");
+    }
+
+    /**
+     * A file:// link to a missing file is reported.
+     */
+    @Test
+    public void testFileLink() throws IOException {
+        List<Finding> findings = lint(task("task_1", 1000, "") //
+                + event("event_1", 10, item("txtbusinessrule", "file://missing.js")) //
+                + loop("task_1", "event_1"));
+        assertFinding(findings, ImixsModelLinter.RULE_FILE_LINK, "event_1");
+    }
+
+    /**
+     * Verifies that the findings contain exactly one finding of the given rule
+     * and element.
+     */
+    private void assertFinding(List<Finding> findings, String rule, String elementId) {
+        assertEquals(1, findings.size(), findings.toString());
+        assertEquals(rule, findings.get(0).getRule());
+        assertEquals(elementId, findings.get(0).getElementId());
+    }
+
+    /**
+     * Writes a model with the actor mapping 'Owner|namowner' and the given
+     * process content and returns the findings of the linter.
+     */
+    private List<Finding> lint(String processContent) throws IOException {
+        Path path = modelDir.resolve("model.bpmn");
+        Files.writeString(path, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+                + "<bpmn2:definitions xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\""
+                + " xmlns:imixs=\"http://www.imixs.org/bpmn2\" id=\"definitions_1\">\n" //
+                + "<bpmn2:extensionElements>" + item("txtfieldmapping", "Owner|namowner")
+                + "</bpmn2:extensionElements>\n" //
+                + "<bpmn2:process id=\"process_1\">\n" + processContent + "</bpmn2:process>\n" //
+                + "</bpmn2:definitions>", StandardCharsets.UTF_8);
+        return linter.lint(path);
+    }
+
+    private static String item(String name, String value) {
+        return "<imixs:item name=\"" + name + "\" type=\"xs:string\"><imixs:value><![CDATA[" + value
+                + "]]></imixs:value></imixs:item>";
+    }
+
+    private static String task(String id, int processId, String items) {
+        return "<bpmn2:task id=\"" + id + "\" imixs:processid=\"" + processId + "\">"
+                + "<bpmn2:extensionElements>" + items + "</bpmn2:extensionElements></bpmn2:task>\n";
+    }
+
+    private static String event(String id, int activityId, String items) {
+        return "<bpmn2:intermediateCatchEvent id=\"" + id + "\" imixs:activityid=\"" + activityId + "\">"
+                + "<bpmn2:extensionElements>" + items + "</bpmn2:extensionElements></bpmn2:intermediateCatchEvent>\n";
+    }
+
+    private static String flow(String sourceRef, String targetRef) {
+        return "<bpmn2:sequenceFlow id=\"flow_" + sourceRef + "_" + targetRef + "\" sourceRef=\"" + sourceRef
+                + "\" targetRef=\"" + targetRef + "\"/>\n";
+    }
+
+    /**
+     * Connects a task with an event leading back to the task
+     */
+    private static String loop(String taskId, String eventId) {
+        return flow(taskId, eventId) + flow(eventId, taskId);
+    }
+}
@@ -0,0 +1,119 @@
+package org.imixs.openbpmn.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Test the ImixsModelSnapshot with the refmodel-1. The snapshot must match the
+ * DOM of the model.
+ * 
+ */
+public class TestImixsModelSnapshot {
+
+    private BPMNModel model;
+    private List<BPMNElementNode> elements;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+        elements = new ArrayList<BPMNElementNode>();
+        elements.addAll(model.findAllActivities());
+        elements.addAll(model.findAllEvents());
+    }
+
+    /**
+     * Compares the snapshot built from the DOM with the DOM
+     */
+    @Test
+    public void testSnapshotOfModel() {
+        ImixsModelSnapshot snapshot = ImixsModelSnapshot.of(model);
+        assertEquals(2000, snapshot.getKey(snapshot.indexOf("Task_3")));
+        assertEquals(20, snapshot.getKey(snapshot.indexOf("IntermediateCatchEvent_3")));
+        int[] found = snapshot.findElements("keypublicresult", "1");
+        assertTrue(found.length > 0);
+        for (int i : found) {
+            assertEquals("1", snapshot.getItemValueString(i, "keypublicresult"));
+        }
+        assertEquals(0, snapshot.findElements("keypublicresult", "undefined-value").length);
+        assertEquals(0, snapshot.findElements("undefined-item", "1").length);
+        verify(snapshot);
+    }
+
+    /**
+     * Compares the snapshot read from the model file with the DOM
+     */
+    @Test
+    public void testSnapshotOfFile() throws Exception {
+        Path path = Paths.get(getClass().getResource("/imixs-refmodel-1.bpmn").toURI());
+        verify(ImixsModelSnapshot.read(path));
+    }
+
+    /**
+     * A modification of the model discards the snapshot. A modification of the
+     * diagram is ignored.
+     */
+    @Test
+    public void testInvalidation() {
+        ImixsModelSnapshot snapshot = ImixsModelSnapshot.getInstance(model);
+        assertSame(snapshot, ImixsModelSnapshot.getInstance(model));
+
+        Element shape = (Element) model.getDefinitions().getElementsByTagNameNS("*", "BPMNShape").item(0);
+        shape.setAttribute("id", "BPMNShape_changed");
+        assertSame(snapshot, ImixsModelSnapshot.getInstance(model));
+
+        BPMNElementNode task = model.findElementNodeById("Task_3");
+        ImixsExtensionUtil.setItemValue(model, task.getElementNode(), "txtworkflowsummary", "xs:string",
+                "new summary");
+        ImixsModelSnapshot newSnapshot = ImixsModelSnapshot.getInstance(model);
+        assertNotSame(snapshot, newSnapshot);
+        assertEquals("new summary",
+                newSnapshot.getItemValueString(newSnapshot.indexOf("Task_3"), "txtworkflowsummary"));
+        verify(newSnapshot);
+    }
+
+    private void verify(ImixsModelSnapshot snapshot) {
+        assertEquals(ImixsExtensionUtil.getItemValueList(model, model.getDefinitions(), "txtfieldmapping"),
+                snapshot.getItemValueList(ImixsModelSnapshot.DEFINITIONS, "txtfieldmapping"));
+        for (BPMNElementNode element : elements) {
+            Element elementNode = element.getElementNode();
+            int index = snapshot.indexOf(element.getId());
+            assertTrue(index > ImixsModelSnapshot.DEFINITIONS, "missing element " + element.getId());
+            assertEquals(elementNode.hasAttribute("name") ? elementNode.getAttribute("name") : null,
+                    snapshot.getName(index));
+            assertEquals(ImixsTransitionGraph.typeOf(element.getType()), snapshot.getType(index));
+            assertEquals(expectedKey(elementNode), snapshot.getKey(index), "key of " + element.getId());
+            List<String> itemNames = ImixsExtensionUtil.getItemNames(model, elementNode);
+            assertEquals(itemNames, snapshot.getItemNames(index));
+            for (String itemName : itemNames) {
+                assertEquals(new ArrayList<String>(new LinkedHashSet<String>(
+                        ImixsExtensionUtil.getItemValueList(model, elementNode, itemName))),
+                        snapshot.getItemValueList(index, itemName), itemName + " of " + element.getId());
+            }
+        }
+    }
+
+    private static int expectedKey(Element elementNode) {
+        String key = ImixsExtensionUtil.getExtensionAttribute(elementNode, "activityid");
+        if (key.isEmpty()) {
+            key = ImixsExtensionUtil.getExtensionAttribute(elementNode, "processid");
+        }
+        return key.isEmpty() ? ImixsTransitionGraph.NO_KEY : Integer.parseInt(key);
+    }
+}
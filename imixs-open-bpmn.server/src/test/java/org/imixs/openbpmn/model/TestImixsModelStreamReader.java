@@ -0,0 +1,112 @@
+package org.imixs.openbpmn.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the events of the ImixsModelStreamReader
+ *
+ */
+public class TestImixsModelStreamReader {
+
+    /**
+     * Reads the refmodel-1 and verifies the keys, flows and items
+     */
+    @Test
+    public void testReadRefModel() throws Exception {
+        Collector collector = new Collector();
+        try (InputStream is = getClass().getResourceAsStream("/imixs-refmodel-1.bpmn")) {
+            ImixsModelStreamReader.read(is, collector);
+        }
+        assertEquals("definitions", collector.types.get(0));
+        assertEquals(4, collector.processIds.size());
+        assertEquals(Integer.valueOf(2000), collector.processIds.get("Task_3"));
+        assertEquals(7, collector.activityIds.size());
+        assertEquals(Integer.valueOf(20), collector.activityIds.get("IntermediateCatchEvent_3"));
+        assertEquals(18, collector.flows.size());
+        assertTrue(collector.items.containsKey("IntermediateCatchEvent_3.keypublicresult"));
+        assertEquals(List.of("1"), collector.items.get("IntermediateCatchEvent_3.keypublicresult"));
+        assertEquals(List.of("1.0.0"), collector.items.get("Definitions_1.txtworkflowmodelversion"));
+        // each started element is closed
+        assertEquals(collector.types.size(), collector.endCount);
+    }
+
+    /**
+     * A CDATA section is preferred over the text content of a imixs:value. Items
+     * of a sub element without id belong to the enclosing element.
+     */
+    @Test
+    public void testReadItems() throws XMLStreamException {
+        String xml = "<bpmn2:definitions xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\""
+                + " xmlns:imixs=\"http://www.imixs.org/bpmn2\" id=\"definitions_1\">" //
+                + "<bpmn2:process id=\"process_1\">" //
+                + "<bpmn2:task id=\"task_1\" imixs:processid=\"1000\"><bpmn2:extensionElements>" //
+                + "<imixs:item name=\"txtname\" type=\"xs:string\">" //
+                + "<imixs:value>a</imixs:value><imixs:value> <![CDATA[b]]> </imixs:value></imixs:item>" //
+                + "</bpmn2:extensionElements></bpmn2:task>" //
+                + "<bpmn2:intermediateCatchEvent id=\"event_1\" imixs:activityid=\"x\"/>" //
+                + "</bpmn2:process></bpmn2:definitions>";
+        Collector collector = new Collector();
+        ImixsModelStreamReader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), collector);
+        assertEquals(List.of("a", "b"), collector.items.get("task_1.txtname"));
+        assertEquals(Integer.valueOf(1000), collector.processIds.get("task_1"));
+        // invalid keys are ignored
+        assertTrue(collector.activityIds.isEmpty());
+        assertEquals(List.of("definitions", "process", "task", "intermediateCatchEvent"), collector.types);
+    }
+
+    /**
+     * Collects the events of the reader
+     */
+    private static class Collector implements ImixsModelStreamReader.Handler {
+        final List<String> types = new ArrayList<String>();
+        final Map<String, Integer> processIds = new HashMap<String, Integer>();
+        final Map<String, Integer> activityIds = new HashMap<String, Integer>();
+        final List<String> flows = new ArrayList<String>();
+        // elementId.itemName -> values
+        final Map<String, List<String>> items = new HashMap<String, List<String>>();
+        int endCount = 0;
+
+        @Override
+        public void startElement(String type, String id, String name) {
+            types.add(type);
+        }
+
+        @Override
+        public void processId(String elementId, int processId) {
+            processIds.put(elementId, processId);
+        }
+
+        @Override
+        public void activityId(String elementId, int activityId) {
+            activityIds.put(elementId, activityId);
+        }
+
+        @Override
+        public void sequenceFlow(String id, String sourceRef, String targetRef) {
+            flows.add(id);
+        }
+
+        @Override
+        public void item(String elementId, String itemName, String type, List<String> values) {
+            items.put(elementId + "." + itemName, values);
+        }
+
+        @Override
+        public void endElement(String type, String id) {
+            endCount++;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.imixs.openbpmn.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.BPMNProcess;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+
+/**
+ * Test the ImixsTransitionGraph with the refmodel-1
+ * 
+ */
+public class TestImixsTransitionGraph {
+
+    /**
+     * Verifies the imixs:processid and imixs:activityid keys of the graph
+     */
+    @Test
+    public void testKeys() throws BPMNModelException {
+        BPMNModel model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        ImixsTransitionGraph graph = ImixsTransitionGraph.getInstance(model);
+
+        int task = graph.findTask(2000);
+        assertEquals("Task_3", graph.getNode(task).getId());
+        assertEquals(2000, graph.getKey(task));
+        assertEquals("IntermediateCatchEvent_3", graph.getNode(graph.findEvent(2000, 20)).getId());
+        assertEquals("event_zLUTkA", graph.getNode(graph.findEvent(2000, 110)).getId());
+        assertEquals(-1, graph.findEvent(2000, 100));
+        assertEquals(ImixsTransitionGraph.NO_KEY, graph.getKey(graph.indexOf("event_ounTaA")));
+    }
+
+    /**
+     * Changes a processid through setExtensionAttribute. The graph must be
+     * rebuilt with the new key.
+     */
+    @Test
+    public void testKeyChanged() throws BPMNModelException {
+        BPMNModel model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        BPMNProcess process = model.openDefaultProces();
+        ImixsTransitionGraph graph = ImixsTransitionGraph.getInstance(model);
+        assertSame(graph, ImixsTransitionGraph.getInstance(model));
+
+        BPMNElementNode task = process.findElementNodeById("Task_4");
+        task.setExtensionAttribute(ImixsExtensionUtil.getNamespace(), "processid", "2900");
+        ImixsTransitionGraph newGraph = ImixsTransitionGraph.getInstance(model);
+        assertNotSame(graph, newGraph);
+        assertEquals("Task_4", newGraph.getNode(newGraph.findTask(2900)).getId());
+        assertEquals(-1, newGraph.findTask(2100));
+    }
+
+    /**
+     * Events following an event based gateway are connected to the task.
+     */
+    @Test
+    public void testEventBasedGateway() throws BPMNModelException {
+        ImixsTransitionGraph graph = ImixsTransitionGraph.getInstance(readGatewayModel());
+        assertEquals("event_2", graph.getNode(graph.findEvent(1000, 20)).getId());
+        assertEquals("event_3", graph.getNode(graph.findEvent(1000, 30)).getId());
+        assertEquals(-1, graph.findEvent(1100, 10));
+        assertEquals(-1, graph.findEvent(1000, 40));
+    }
+
+    /**
+     * Verifies the outgoing flows of each node
+     */
+    @Test
+    public void testTargets() throws BPMNModelException {
+        ImixsTransitionGraph graph = ImixsTransitionGraph.getInstance(readGatewayModel());
+        assertEquals(6, graph.size());
+
+        int task = graph.indexOf("task_1");
+        int gateway = graph.indexOf("gateway_1");
+        assertEquals(ImixsTransitionGraph.TASK, graph.getType(task));
+        assertEquals(ImixsTransitionGraph.EVENTBASED_GATEWAY, graph.getType(gateway));
+        assertEquals("process_1", graph.getProcessId(gateway));
+        assertEquals(2, graph.getTargetCount(task));
+        assertEquals(gateway, graph.getTarget(task, 0));
+        assertEquals(graph.indexOf("event_3"), graph.getTarget(task, 1));
+        assertEquals(2, graph.getTargetCount(gateway));
+        assertEquals(graph.indexOf("event_1"), graph.getTarget(gateway, 0));
+        assertEquals(graph.indexOf("event_2"), graph.getTarget(gateway, 1));
+        assertEquals(0, graph.getTargetCount(graph.indexOf("task_2")));
+        assertEquals(-1, graph.indexOf("flow_1"));
+    }
+
+    /**
+     * A node is only reachable from itself if it is part of a cycle.
+     */
+    @Test
+    public void testFindReachable() throws BPMNModelException {
+        ImixsTransitionGraph graph = ImixsTransitionGraph.getInstance(readGatewayModel());
+        int[] reachable = graph.findReachable(graph.indexOf("task_1"));
+        assertEquals(6, reachable.length);
+        assertTrue(contains(graph, reachable, "task_1"));
+        assertTrue(contains(graph, reachable, "task_2"));
+
+        reachable = graph.findReachable(graph.indexOf("event_1"));
+        assertEquals(1, reachable.length);
+        assertEquals("task_2", graph.getNode(reachable[0]).getId());
+        assertEquals(0, graph.findReachable(graph.indexOf("task_2")).length);
+    }
+
+    private boolean contains(ImixsTransitionGraph graph, int[] indices, String id) {
+        return Arrays.stream(indices).anyMatch(i -> id.equals(graph.getNode(i).getId()));
+    }
+
+    /**
+     * Reads a model with the task 1000 connected to the events 10 and 20 through
+     * an event based gateway and to the event 30 directly. Event 10 leads to the
+     * task 1100, the events 20 and 30 loop back.
+     */
+    private BPMNModel readGatewayModel() throws BPMNModelException {
+        String xml = "<bpmn2:definitions xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\""
+                + " xmlns:imixs=\"http://www.imixs.org/bpmn2\" id=\"definitions_1\">" //
+                + "<bpmn2:process id=\"process_1\" processType=\"Public\">" //
+                + "<bpmn2:task id=\"task_1\" imixs:processid=\"1000\"/>" //
+                + "<bpmn2:task id=\"task_2\" imixs:processid=\"1100\"/>" //
+                + "<bpmn2:eventBasedGateway id=\"gateway_1\"/>" //
+                + "<bpmn2:intermediateCatchEvent id=\"event_1\" imixs:activityid=\"10\"/>" //
+                + "<bpmn2:intermediateCatchEvent id=\"event_2\" imixs:activityid=\"20\"/>" //
+                + "<bpmn2:intermediateCatchEvent id=\"event_3\" imixs:activityid=\"30\"/>" //
+                + flow("flow_1", "task_1", "gateway_1") + flow("flow_2", "task_1", "event_3") //
+                + flow("flow_3", "gateway_1", "event_1") + flow("flow_4", "gateway_1", "event_2") //
+                + flow("flow_5", "event_1", "task_2") + flow("flow_6", "event_2", "task_1") //
+                + flow("flow_7", "event_3", "task_1") //
+                + "</bpmn2:process></bpmn2:definitions>";
+        return BPMNModelFactory.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String flow(String id, String source, String target) {
+        return "<bpmn2:sequenceFlow id=\"" + id + "\" sourceRef=\"" + source + "\" targetRef=\"" + target
+                + "\"/>";
+    }
+}
@@ -0,0 +1,138 @@
+package org.imixs.openbpmn.operations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.eclipse.glsp.graph.GModelElement;
+import org.imixs.openbpmn.extensions.ImixsBPMNDefinitionsExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventACLExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventHistoryExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventMailExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventReportExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventRuleExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNEventSchedulerExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNTaskACLExtension;
+import org.imixs.openbpmn.extensions.ImixsBPMNTaskExtension;
+import org.imixs.openbpmn.extensions.ImixsChangeSet;
+import org.imixs.openbpmn.extensions.ImixsExtensionRegistry;
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.elements.core.BPMNElement;
+import org.openbpmn.bpmn.elements.core.BPMNElementNode;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+import org.openbpmn.glsp.jsonforms.DataBuilder;
+import org.openbpmn.glsp.jsonforms.SchemaBuilder;
+import org.openbpmn.glsp.jsonforms.UISchemaBuilder;
+import org.openbpmn.glsp.jsonforms.UISchemaBuilder.Layout;
+
+/**
+ * Test the batch update of the ImixsApplyPropertiesBatchOperationHandler
+ *
+ */
+public class TestImixsApplyPropertiesBatchOperationHandler {
+
+    private BPMNModel model;
+    private ImixsApplyPropertiesBatchOperationHandler handler;
+
+    @BeforeEach
+    public void setup() throws BPMNModelException {
+        model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        model.openDefaultProces();
+        // the element event_zLUTkA is not part of the GModel
+        handler = new ImixsApplyPropertiesBatchOperationHandler() {
+            @Override
+            protected GModelElement findGNodeElement(final String id) {
+                return "event_zLUTkA".equals(id) ? null : createGNodeElement();
+            }
+        };
+        handler.extensionRegistry = new ImixsExtensionRegistry(Set.of(new ImixsBPMNTaskExtension(),
+                new ImixsBPMNTaskACLExtension(), new ImixsBPMNEventExtension()));
+    }
+
+    /**
+     * The payload is merged into the current data of each element. Element
+     * specific properties like the activityid are not overwritten.
+     */
+    @Test
+    public void testApplyProperties() {
+        JsonObject payload = Json.createObjectBuilder().add("txtactivityresult", "done").build();
+        ImixsChangeSet changeSet = handler.applyProperties(model,
+                List.of("IntermediateCatchEvent_3", "Task_3"), "Workflow", payload);
+
+        BPMNElementNode event = model.findElementNodeById("IntermediateCatchEvent_3");
+        assertEquals("done",
+                ImixsExtensionUtil.getItemValueString(model, event.getElementNode(), "txtactivityresult"));
+        assertEquals("20", event.getExtensionAttribute(ImixsExtensionUtil.getNamespace(), "activityid"));
+        assertEquals("1",
+                ImixsExtensionUtil.getItemValueString(model, event.getElementNode(), "keypublicresult"));
+        assertEquals(Set.of("txtactivityresult"), changeSet.getChange("IntermediateCatchEvent_3").getItemNames());
+        // the task keeps its data
+        assertNull(changeSet.getChange("Task_3"));
+        assertEquals(1, changeSet.getChanges().size());
+    }
+
+    /**
+     * Elements not found in the model or without a GModel element are skipped.
+     */
+    @Test
+    public void testSkipElements() {
+        JsonObject payload = Json.createObjectBuilder().add("txtactivityresult", "done").build();
+        ImixsChangeSet changeSet = handler.applyProperties(model,
+                List.of("event_zLUTkA", "unknown_1", "IntermediateCatchEvent_3"), "Workflow", payload);
+
+        BPMNElementNode event = model.findElementNodeById("event_zLUTkA");
+        assertEquals("", ImixsExtensionUtil.getItemValueString(model, event.getElementNode(), "txtactivityresult"));
+        assertNull(changeSet.getChange("event_zLUTkA"));
+        assertNotNull(changeSet.getChange("IntermediateCatchEvent_3"));
+    }
+
+    /**
+     * The data built by buildPropertiesData matches the data of the properties
+     * form.
+     */
+    @Test
+    public void testBuildPropertiesData() throws BPMNModelException {
+        BPMNElementNode task = model.findElementNodeById("Task_3");
+        BPMNElementNode event = model.findElementNodeById("IntermediateCatchEvent_3");
+        assertPropertiesData(new ImixsBPMNTaskExtension(), task);
+        assertPropertiesData(new ImixsBPMNTaskACLExtension(), task);
+        assertPropertiesData(new ImixsBPMNEventExtension(), event);
+        assertPropertiesData(new ImixsBPMNEventACLExtension(), event);
+        assertPropertiesData(new ImixsBPMNEventHistoryExtension(), event);
+        assertPropertiesData(new ImixsBPMNEventMailExtension(), event);
+        assertPropertiesData(new ImixsBPMNEventReportExtension(), event);
+        assertPropertiesData(new ImixsBPMNEventRuleExtension(), event);
+        assertPropertiesData(new ImixsBPMNEventSchedulerExtension(), event);
+        assertPropertiesData(new ImixsBPMNDefinitionsExtension(), model.openDefaultProces());
+    }
+
+    private void assertPropertiesData(final ImixsBPMNExtension extension, final BPMNElement bpmnElement) {
+        DataBuilder formData = new DataBuilder();
+        extension.buildPropertiesForm(bpmnElement, formData, new SchemaBuilder(),
+                new UISchemaBuilder(Layout.CATEGORIZATION));
+        DataBuilder data = new DataBuilder();
+        extension.buildPropertiesData(bpmnElement, data);
+        assertEquals(formData.build(), data.build());
+    }
+
+    /**
+     * Creates a GModel element proxy without any behavior.
+     */
+    private static GModelElement createGNodeElement() {
+        return (GModelElement) Proxy.newProxyInstance(GModelElement.class.getClassLoader(),
+                new Class<?>[] { GModelElement.class }, (proxy, method, args) -> null);
+    }
+}
@@ -0,0 +1,628 @@
+/********************************************************************************
+ * Copyright (c) 2022 Imixs Software Solutions GmbH and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ ********************************************************************************/
+package org.imixs.workflow.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.openbpmn.bpmn.BPMNModel;
+import org.openbpmn.bpmn.exceptions.BPMNModelException;
+import org.openbpmn.bpmn.util.BPMNModelFactory;
+
+/**
+ * The ImixsModelGenerator generates synthetic Imixs BPMN models of any size to
+ * test the load times and memory usage of large models.
+ * <p>
+ * Each process consists of a start event, a chain of tasks and an end event.
+ * Each task has a number of catch events. The first event of a task leads to
+ * the next task, all other events loop back to their task. Optional follow-up
+ * events and exclusive gateways can be inserted after an event. The first
+ * process is the public default process, all other processes are added as
+ * pools of a collaboration.
+ * <p>
+ * The generated elements contain Imixs items (ACL, mail, scheduler) and
+ * file:// links. The model definitions contain an actor and a time field
+ * mapping.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * BPMNModel model = new ImixsModelGenerator().withProcesses(10).withTasks(100).withEvents(4).build();
+ * </pre>
+ *
+ * @author rsoika
+ *
+ */
+public class ImixsModelGenerator {
+
+    public static final String BPMN2_NS = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+    public static final String BPMNDI_NS = "http://www.omg.org/spec/BPMN/20100524/DI";
+    public static final String DC_NS = "http://www.omg.org/spec/DD/20100524/DC";
+    public static final String DI_NS = "http://www.omg.org/spec/DD/20100524/DI";
+    public static final String IMIXS_NS = "http://www.imixs.org/bpmn2";
+    public static final String OPEN_BPMN_NS = "http://open-bpmn.org/XMLSchema";
+    public static final String XSI_NS = "http://www.w3.org/2001/XMLSchema-instance";
+
+    private static final int TASK_WIDTH = 110;
+    private static final int TASK_HEIGHT = 50;
+    private static final int EVENT_SIZE = 36;
+    private static final int GATEWAY_SIZE = 50;
+    private static final int COLUMN_WIDTH = 300;
+    private static final int ROW_HEIGHT = 80;
+
+    private int processes = 1;
+    private int tasks = 10;
+    private int events = 3;
+    private int actors = 5;
+    private int aclEach = 1;
+    private int invalidActorEach = 0;
+    private int mailEach = 2;
+    private int schedulerEach = 5;
+    private int fileLinkEach = 4;
+    private int followUpEach = 0;
+    private int gatewayEach = 0;
+
+    private int taskCount;
+    private int eventCount;
+    private int gatewayCount;
+    private int flowCount;
+    private List<Shape> shapes;
+    private List<Edge> edges;
+
+    /**
+     * Returns a generator for a model with roughly the given number of flow
+     * elements (tasks and events). The elements are spread over processes with
+     * 100 tasks each.
+     *
+     * @param elements - number of tasks and events
+     * @return a new generator
+     */
+    public static ImixsModelGenerator ofSize(int elements) {
+        ImixsModelGenerator generator = new ImixsModelGenerator();
+        // each task comes with 3 events and each process with a start and end event
+        int totalTasks = Math.max(1, elements / (1 + generator.events));
+        generator.withProcesses(Math.max(1, (totalTasks + 99) / 100));
+        generator.withTasks(Math.max(1, totalTasks / generator.processes));
+        return generator;
+    }
+
+    /**
+     * Number of processes. The first process is the public default process.
+     */
+    public ImixsModelGenerator withProcesses(int processes) {
+        this.processes = Math.max(1, processes);
+        return this;
+    }
+
+    /**
+     * Number of tasks per process.
+     */
+    public ImixsModelGenerator withTasks(int tasks) {
+        this.tasks = Math.max(1, tasks);
+        return this;
+    }
+
+    /**
+     * Number of catch events per task.
+     */
+    public ImixsModelGenerator withEvents(int events) {
+        this.events = Math.max(1, events);
+        return this;
+    }
+
+    /**
+     * Number of entries of the actor field mapping 'txtfieldmapping'.
+     */
+    public ImixsModelGenerator withActors(int actors) {
+        this.actors = Math.max(1, actors);
+        return this;
+    }
+
+    /**
+     * Every n-th task and event gets ACL items. 0 = no ACL items.
+     */
+    public ImixsModelGenerator withACLItems(int each) {
+        this.aclEach = each;
+        return this;
+    }
+
+    /**
+     * Every n-th task and event gets an actor value not defined in the actor
+     * field mapping in its ACL and mail items. 0 = no invalid values.
+     */
+    public ImixsModelGenerator withInvalidActors(int each) {
+        this.invalidActorEach = each;
+        return this;
+    }
+
+    /**
+     * Every n-th event gets mail items. 0 = no mail items.
+     */
+    public ImixsModelGenerator withMailItems(int each) {
+        this.mailEach = each;
+        return this;
+    }
+
+    /**
+     * Every n-th event gets scheduler items. 0 = no scheduler items.
+     */
+    public ImixsModelGenerator withSchedulerItems(int each) {
+        this.schedulerEach = each;
+        return this;
+    }
+
+    /**
+     * Every n-th task and mail event gets a file:// link. 0 = no links.
+     */
+    public ImixsModelGenerator withFileLinks(int each) {
+        this.fileLinkEach = each;
+        return this;
+    }
+
+    /**
+     * Every n-th leading event is followed by a follow-up event. 0 = no
+     * follow-up events.
+     */
+    public ImixsModelGenerator withFollowUpEvents(int each) {
+        this.followUpEach = each;
+        return this;
+    }
+
+    /**
+     * Every n-th leading event is followed by an exclusive gateway with a
+     * conditional and a default flow. 0 = no gateways.
+     */
+    public ImixsModelGenerator withGateways(int each) {
+        this.gatewayEach = each;
+        return this;
+    }
+
+    /**
+     * Returns the number of tasks generated by the last call of write.
+     */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Returns the number of catch events generated by the last call of write.
+     * Start and end events are not counted.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the number of gateways generated by the last call of write.
+     */
+    public int getGatewayCount() {
+        return gatewayCount;
+    }
+
+    /**
+     * Returns the number of sequence flows generated by the last call of write.
+     */
+    public int getFlowCount() {
+        return flowCount;
+    }
+
+    /**
+     * Generates the model and returns it as a new BPMNModel instance.
+     *
+     * @return BPMNModel
+     * @throws BPMNModelException
+     */
+    public BPMNModel build() throws BPMNModelException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(out);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to generate model: " + e.getMessage(), e);
+        }
+        return BPMNModelFactory.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    /**
+     * Generates the model and writes it into a file.
+     *
+     * @param path - target file
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    public void write(Path path) throws IOException, XMLStreamException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Generates the model and writes it into an output stream. The stream is not
+     * closed.
+     *
+     * @param out
+     * @throws XMLStreamException
+     */
+    public void write(OutputStream out) throws XMLStreamException {
+        taskCount = 0;
+        eventCount = 0;
+        gatewayCount = 0;
+        flowCount = 0;
+        shapes = new ArrayList<Shape>();
+        edges = new ArrayList<Edge>();
+
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("bpmn2", "definitions", BPMN2_NS);
+        writer.writeNamespace("bpmn2", BPMN2_NS);
+        writer.writeNamespace("bpmndi", BPMNDI_NS);
+        writer.writeNamespace("dc", DC_NS);
+        writer.writeNamespace("di", DI_NS);
+        writer.writeNamespace("imixs", IMIXS_NS);
+        writer.writeNamespace("open-bpmn", OPEN_BPMN_NS);
+        writer.writeNamespace("xsi", XSI_NS);
+        writer.writeNamespace("xs", "http://www.w3.org/2001/XMLSchema");
+        writer.writeAttribute("id", "definitions_1");
+        writer.writeAttribute("exporter", "org.imixs.workflow.model.ImixsModelGenerator");
+        writer.writeAttribute("targetNamespace", IMIXS_NS);
+
+        // model definitions
+        writer.writeStartElement("bpmn2", "extensionElements", BPMN2_NS);
+        writeItem(writer, "txtworkflowmodelversion", "1.0.0");
+        List<String> actorMapping = new ArrayList<String>();
+        for (int i = 1; i <= actors; i++) {
+            actorMapping.add("Actor " + i + "|namactor" + i);
+        }
+        writeItem(writer, "txtfieldmapping", actorMapping.toArray(new String[0]));
+        writeItem(writer, "txttimefieldmapping", "Due Date|datdue", "Start Date|datstart");
+        writer.writeEndElement();
+
+        if (processes > 1) {
+            writer.writeStartElement("bpmn2", "collaboration", BPMN2_NS);
+            writer.writeAttribute("id", "collaboration_1");
+            writer.writeAttribute("name", "Default Collaboration");
+            for (int p = 1; p <= processes; p++) {
+                writer.writeEmptyElement("bpmn2", "participant", BPMN2_NS);
+                writer.writeAttribute("id", "participant_" + p);
+                writer.writeAttribute("name", (p == 1) ? "Default Process" : "Process " + p);
+                writer.writeAttribute("processRef", "process_" + p);
+            }
+            writer.writeEndElement();
+        }
+
+        int poolY = 0;
+        for (int p = 1; p <= processes; p++) {
+            int height = writeProcess(writer, p, poolY);
+            if (p > 1) {
+                shapes.add(new Shape("participant_" + p, 0, poolY, 200 + (tasks + 1) * COLUMN_WIDTH, height));
+            }
+            poolY += height + 50;
+        }
+
+        writeDiagram(writer);
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+    }
+
+    /**
+     * Writes a single process and returns the height of the process diagram.
+     */
+    private int writeProcess(XMLStreamWriter writer, int p, int poolY) throws XMLStreamException {
+        String prefix = "p" + p + "_";
+        int y = poolY + 50;
+        writer.writeStartElement("bpmn2", "process", BPMN2_NS);
+        writer.writeAttribute("id", "process_" + p);
+        writer.writeAttribute("isExecutable", "false");
+        writer.writeAttribute("name", (p == 1) ? "Default Process" : "Process " + p);
+        writer.writeAttribute("processType", (p == 1) ? "Public" : "Private");
+
+        String start = prefix + "start";
+        writeFlowNode(writer, "startEvent", start, "Start");
+        writer.writeEndElement();
+        shapes.add(new Shape(start, 50, y + 7, EVENT_SIZE, EVENT_SIZE));
+        writeSequenceFlow(writer, nextFlowId(prefix), start, prefix + "task_1", null);
+
+        for (int t = 1; t <= tasks; t++) {
+            taskCount++;
+            String task = prefix + "task_" + t;
+            String next = (t < tasks) ? prefix + "task_" + (t + 1) : prefix + "end";
+            int taskX = 150 + (t - 1) * COLUMN_WIDTH;
+            writeFlowNode(writer, "task", task, "Task " + t);
+            writer.writeAttribute("imixs", IMIXS_NS, "processid", "" + (1000 + taskCount * 10));
+            writeTaskItems(writer, task);
+            writer.writeEndElement();
+            shapes.add(new Shape(task, taskX, y, TASK_WIDTH, TASK_HEIGHT));
+
+            for (int e = 1; e <= events; e++) {
+                eventCount++;
+                String event = task + "_event_" + e;
+                int eventX = taskX + TASK_WIDTH + 50;
+                int eventY = y + (e - 1) * ROW_HEIGHT + 7;
+                writeSequenceFlow(writer, nextFlowId(prefix), task, event, null);
+                writeFlowNode(writer, "intermediateCatchEvent", event, "Event " + e);
+                writer.writeAttribute("imixs", IMIXS_NS, "activityid", "" + (e * 10));
+                writeEventItems(writer, event);
+                writer.writeEndElement();
+                shapes.add(new Shape(event, eventX, eventY, EVENT_SIZE, EVENT_SIZE));
+
+                if (e > 1) {
+                    // all other events loop back to the task
+                    writeSequenceFlow(writer, nextFlowId(prefix), event, task, null);
+                    continue;
+                }
+
+                // the first event leads to the next task
+                String last = event;
+                if (followUpEach > 0 && eventCount % followUpEach == 0) {
+                    eventCount++;
+                    String followUp = event + "_followup";
+                    writeSequenceFlow(writer, nextFlowId(prefix), event, followUp, null);
+                    writeFlowNode(writer, "intermediateCatchEvent", followUp, "Follow-Up");
+                    writer.writeAttribute("imixs", IMIXS_NS, "activityid", "" + ((events + 1) * 10));
+                    writeEventItems(writer, followUp);
+                    writer.writeEndElement();
+                    shapes.add(new Shape(followUp, eventX + 70, eventY, EVENT_SIZE, EVENT_SIZE));
+                    last = followUp;
+                }
+                if (gatewayEach > 0 && eventCount % gatewayEach == 0) {
+                    // conditional flow to the next task and default flow back to the task
+                    gatewayCount++;
+                    String gateway = event + "_gateway";
+                    writeSequenceFlow(writer, nextFlowId(prefix), last, gateway, null);
+                    writeFlowNode(writer, "exclusiveGateway", gateway, null);
+                    writer.writeAttribute("default", gateway + "_default");
+                    writer.writeAttribute("gatewayDirection", "Diverging");
+                    writer.writeEndElement();
+                    shapes.add(new Shape(gateway, eventX + 140, eventY - 7, GATEWAY_SIZE, GATEWAY_SIZE));
+                    writeSequenceFlow(writer, nextFlowId(prefix), gateway, next,
+                            "workitem._capacity[0]>=" + (t * 10));
+                    writeSequenceFlow(writer, gateway + "_default", gateway, task, null);
+                } else {
+                    writeSequenceFlow(writer, nextFlowId(prefix), last, next, null);
+                }
+            }
+        }
+
+        String end = prefix + "end";
+        writeFlowNode(writer, "endEvent", end, "End");
+        writer.writeEndElement();
+        shapes.add(new Shape(end, 150 + tasks * COLUMN_WIDTH, y + 7, EVENT_SIZE, EVENT_SIZE));
+
+        writer.writeEndElement();
+        return 100 + events * ROW_HEIGHT;
+    }
+
+    /**
+     * Writes the Imixs items of a task
+     */
+    private void writeTaskItems(XMLStreamWriter writer, String id) throws XMLStreamException {
+        writer.writeStartElement("bpmn2", "extensionElements", BPMN2_NS);
+        writeItem(writer, "txttype", "workitem");
+        writeItem(writer, "txtworkflowsummary", "<itemvalue>subject</itemvalue>");
+        writeItem(writer, "txtworkflowabstract", "Task " + id);
+        if (fileLinkEach > 0 && taskCount % fileLinkEach == 0) {
+            writeItem(writer, "form.definition", "file://forms/" + id + ".xml");
+        } else {
+            writeItem(writer, "form.definition", "<imixs-form />");
+        }
+        if (aclEach > 0 && taskCount % aclEach == 0) {
+            writeItem(writer, "keyupdateacl", "true");
+            writeItem(writer, "keyownershipfields", aclValues(taskCount, 2));
+            writeItem(writer, "keyaddreadfields", aclValues(taskCount + 1, 3));
+            writeItem(writer, "keyaddwritefields", aclValues(taskCount + 2, 1));
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes the Imixs items of a catch event
+     */
+    private void writeEventItems(XMLStreamWriter writer, String id) throws XMLStreamException {
+        writer.writeStartElement("bpmn2", "extensionElements", BPMN2_NS);
+        writeItem(writer, "keypublicresult", "1");
+        writeItem(writer, "txtactivityresult", "");
+        if (aclEach > 0 && eventCount % aclEach == 0) {
+            writeItem(writer, "keyupdateacl", "true");
+            writeItem(writer, "keyownershipfields", aclValues(eventCount, 2));
+            writeItem(writer, "keyaddreadfields", aclValues(eventCount + 1, 3));
+            writeItem(writer, "keyaddwritefields", aclValues(eventCount + 2, 1));
+        }
+        if (mailEach > 0 && eventCount % mailEach == 0) {
+            writeItem(writer, "txtmailsubject", "Notification " + id);
+            if (fileLinkEach > 0 && eventCount % fileLinkEach == 0) {
+                writeItem(writer, "rtfmailbody", "file://mails/" + id + ".html");
+            } else {
+                writeItem(writer, "rtfmailbody", "<p>" + id + "</p>");
+            }
+            writeItem(writer, "keymailreceiverfields", aclValues(eventCount, 2));
+            writeItem(writer, "keymailreceiverfieldscc", actorValues(eventCount + 3, 1));
+        }
+        if (schedulerEach > 0 && eventCount % schedulerEach == 0) {
+            writeItem(writer, "keyscheduledactivity", "1");
+            writeItem(writer, "keyactivitydelay", "" + (eventCount % 30 + 1));
+            writeItem(writer, "keyactivitydelayunit", "3");
+            writeItem(writer, "keyscheduledbaseobject", "3");
+            writeItem(writer, "keytimecomparefield", (eventCount % 2 == 0) ? "datdue" : "datstart");
+            writeItem(writer, "txtscheduledview", "");
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Returns a number of actor values starting at a given offset
+     */
+    private String[] actorValues(int offset, int count) {
+        count = Math.min(count, actors);
+        String[] result = new String[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = "namactor" + ((offset + i) % actors + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the actor values of an ACL or mail item. Every n-th element gets an
+     * additional invalid actor value.
+     */
+    private String[] aclValues(int offset, int count) {
+        String[] values = actorValues(offset, count);
+        int element = taskCount + eventCount;
+        if (invalidActorEach > 0 && element % invalidActorEach == 0) {
+            values = Arrays.copyOf(values, values.length + 1);
+            values[values.length - 1] = "invalid" + element;
+        }
+        return values;
+    }
+
+    /**
+     * Writes a imixs:item element. A file:// link is marked with the
+     * open-bpmn:file-link attribute.
+     */
+    private void writeItem(XMLStreamWriter writer, String name, String... values) throws XMLStreamException {
+        writer.writeStartElement("imixs", "item", IMIXS_NS);
+        writer.writeAttribute("name", name);
+        writer.writeAttribute("type", "xs:string");
+        for (String value : values) {
+            writer.writeStartElement("imixs", "value", IMIXS_NS);
+            if (value.startsWith("file://")) {
+                writer.writeAttribute("open-bpmn", OPEN_BPMN_NS, "file-link", value);
+            }
+            writer.writeCData(value);
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Starts a flow node element. The element must be closed by the caller.
+     */
+    private void writeFlowNode(XMLStreamWriter writer, String type, String id, String name)
+            throws XMLStreamException {
+        writer.writeStartElement("bpmn2", type, BPMN2_NS);
+        writer.writeAttribute("id", id);
+        if (name != null) {
+            writer.writeAttribute("name", name);
+        }
+    }
+
+    /**
+     * Returns a new sequence flow id
+     */
+    private String nextFlowId(String prefix) {
+        return prefix + "flow_" + (flowCount + 1);
+    }
+
+    /**
+     * Writes a sequence flow with an optional condition
+     */
+    private void writeSequenceFlow(XMLStreamWriter writer, String id, String source, String target,
+            String condition) throws XMLStreamException {
+        flowCount++;
+        writer.writeStartElement("bpmn2", "sequenceFlow", BPMN2_NS);
+        writer.writeAttribute("id", id);
+        writer.writeAttribute("sourceRef", source);
+        writer.writeAttribute("targetRef", target);
+        if (condition != null) {
+            writer.writeStartElement("bpmn2", "conditionExpression", BPMN2_NS);
+            writer.writeAttribute("xsi", XSI_NS, "type", "bpmn2:tFormalExpression");
+            writer.writeCData(condition);
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        edges.add(new Edge(id, source, target));
+    }
+
+    /**
+     * Writes the BPMNDiagram with all shapes and edges
+     */
+    private void writeDiagram(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement("bpmndi", "BPMNDiagram", BPMNDI_NS);
+        writer.writeAttribute("id", "BPMNDiagram_1");
+        writer.writeAttribute("name", "Default Process Diagram");
+        writer.writeStartElement("bpmndi", "BPMNPlane", BPMNDI_NS);
+        writer.writeAttribute("bpmnElement", (processes > 1) ? "collaboration_1" : "process_1");
+        writer.writeAttribute("id", "BPMNPlane_1");
+
+        Map<String, Shape> shapeIndex = new HashMap<String, Shape>();
+        for (Shape shape : shapes) {
+            shapeIndex.put(shape.id, shape);
+            writer.writeStartElement("bpmndi", "BPMNShape", BPMNDI_NS);
+            writer.writeAttribute("bpmnElement", shape.id);
+            writer.writeAttribute("id", "BPMNShape_" + shape.id);
+            writer.writeEmptyElement("dc", "Bounds", DC_NS);
+            writer.writeAttribute("height", shape.height + ".0");
+            writer.writeAttribute("width", shape.width + ".0");
+            writer.writeAttribute("x", shape.x + ".0");
+            writer.writeAttribute("y", shape.y + ".0");
+            writer.writeEndElement();
+        }
+        for (Edge edge : edges) {
+            Shape source = shapeIndex.get(edge.source);
+            Shape target = shapeIndex.get(edge.target);
+            writer.writeStartElement("bpmndi", "BPMNEdge", BPMNDI_NS);
+            writer.writeAttribute("bpmnElement", edge.id);
+            writer.writeAttribute("id", "BPMNEdge_" + edge.id);
+            writeWaypoint(writer, source.x + source.width, source.y + source.height / 2);
+            writeWaypoint(writer, target.x, target.y + target.height / 2);
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private void writeWaypoint(XMLStreamWriter writer, int x, int y) throws XMLStreamException {
+        writer.writeEmptyElement("di", "waypoint", DI_NS);
+        writer.writeAttribute("x", x + ".0");
+        writer.writeAttribute("y", y + ".0");
+    }
+
+    private static class Shape {
+        final String id;
+        final int x, y, width, height;
+
+        Shape(String id, int x, int y, int width, int height) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static class Edge {
+        final String id, source, target;
+
+        Edge(String id, String source, String target) {
+            this.id = id;
+            this.source = source;
+            this.target = target;
+        }
+    }
+}
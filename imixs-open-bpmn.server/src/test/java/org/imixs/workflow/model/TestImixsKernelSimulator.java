@@ -1,22 +1,21 @@
 package org.imixs.workflow.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.logging.Logger;
 
+import org.imixs.openbpmn.extensions.ImixsExtensionUtil;
+import org.imixs.openbpmn.model.ImixsBPMNEventIterator;
 import org.junit.jupiter.api.Test;
 import org.openbpmn.bpmn.BPMNModel;
 import org.openbpmn.bpmn.BPMNTypes;
 import org.openbpmn.bpmn.elements.BPMNProcess;
 import org.openbpmn.bpmn.elements.Event;
-import org.openbpmn.bpmn.elements.SequenceFlow;
 import org.openbpmn.bpmn.elements.core.BPMNElementNode;
 import org.openbpmn.bpmn.exceptions.BPMNModelException;
-import org.openbpmn.bpmn.exceptions.BPMNValidationException;
 import org.openbpmn.bpmn.util.BPMNModelFactory;
 
 /**
@@ -54,103 +53,132 @@ public class TestImixsKernelSimulator {
         ImixsBPMNEventIterator eventIterator = new ImixsBPMNEventIterator(event);
         // we expect two process iterations
         // case3 and followup
+        int count = 0;
         while (eventIterator.hasNext()) {
             Event nextEvent = eventIterator.next();
             logger.info("...processing event " + nextEvent.getId());
-
+            count++;
         }
 
         logger.info("...processing completed ");
-
+        assertEquals(2, count);
+        assertEquals("Task_5", eventIterator.getTargetTask().getId());
     }
 
     /**
-     * A helper navigator to find the target task
+     * Simulates refmodel-1
+     * 
+     * Simulate processing a conditional event followed by an exclusive gateway.
+     * The condition of the gateway leads to 'case1', the default flow to
+     * 'case2'.
+     * 
+     * @throws BPMNModelException
      * 
      */
-    class ImixsBPMNEventIterator implements Iterator<Event> {
+    @Test
+    public void testProcessEventGateway() throws BPMNModelException {
 
-        private int index;
-        Event lastEvent = null;
-        List<SequenceFlow> outgoingFlows;
+        BPMNModel model = BPMNModelFactory.read("/imixs-refmodel-1.bpmn");
+        BPMNProcess process = model.openDefaultProces();
+        Event event = (Event) process.findElementById("IntermediateCatchEvent_3");
+        assertNotNull(event);
 
-        public ImixsBPMNEventIterator(Event event) throws BPMNValidationException {
-            this.lastEvent = event;
-        }
+        // default flow
+        ImixsBPMNEventIterator eventIterator = new ImixsBPMNEventIterator(event);
+        assertEquals("IntermediateCatchEvent_3", eventIterator.next().getId());
+        assertEquals("IntermediateCatchEvent_2", eventIterator.next().getId());
+        assertFalse(eventIterator.hasNext());
+        assertEquals("Task_4", eventIterator.getTargetTask().getId());
+
+        // condition is true
+        eventIterator = new ImixsBPMNEventIterator(event, condition -> true);
+        assertEquals("IntermediateCatchEvent_3", eventIterator.next().getId());
+        assertEquals("IntermediateCatchEvent_1", eventIterator.next().getId());
+        assertFalse(eventIterator.hasNext());
+        assertEquals("Task_5", eventIterator.getTargetTask().getId());
+    }
 
-        /**
-         * Returns {@code true} if the iteration has still an event to be
-         * processed.
-         * (In other words, returns {@code true} if {@link #next} would
-         * return a valid event rather than throwing an exception.)
-         *
-         * @return {@code true} if the iteration has more events
-         */
-        @Override
-        public boolean hasNext() {
-
-            // do we need to find the next event?
-            if (lastEvent == null) {
-                // fetch next element from the outgoing flow
-                // we are sure that we have exactly one outgoing flow (Rule for Imixs-Workflow)
-                SequenceFlow flow = outgoingFlows.get(0);
-                BPMNElementNode targetNode = flow.getTargetElement();
-                String targetType = targetNode.getType();
-
-                // Event?
-                if (BPMNTypes.CATCH_EVENT.equals(targetType)) {
-                    // no more events!
-                    lastEvent = (Event) targetNode;
-                }
-
-                // Task?
-                if (BPMNTypes.BPMN_TASKS.contains(targetType)) {
-                    // no more events!
-                    lastEvent = null;
-                }
-
-                if (BPMNTypes.EXCLUSIVE_GATEWAY.equals(targetType) //
-                        || BPMNTypes.EVENTBASED_GATEWAY.equals(targetType) //
-                        || BPMNTypes.COMPLEX_GATEWAY.equals(targetType)) {
-                    // handle gateway case...
-                    throw new IllegalArgumentException("Gateways not yet supported by ImixsBPMNEventIterator!");
-                }
+    /**
+     * Simulates a generated model with about 1000 elements.
+     * 
+     * Each event of the default process is processed. The keys and the target
+     * tasks are verified against the structure of the ImixsModelGenerator: task
+     * t has the processid 1000+t*10 and event e the activityid e*10. Follow-up
+     * events have the activityid (events+1)*10. The first event of a task leads
+     * to the next task, all other events loop back to their task. A gateway
+     * without a matching condition leads back to the task by its default flow.
+     * 
+     * @throws BPMNModelException
+     * 
+     */
+    @Test
+    public void testProcessLargeModel() throws BPMNModelException {
+        int tasks = 60;
+        int events = 3;
+
+        logger.info("...generate model");
+        ImixsModelGenerator generator = new ImixsModelGenerator().withProcesses(4).withTasks(tasks)
+                .withEvents(events).withFollowUpEvents(5).withGateways(7);
+        long l = System.currentTimeMillis();
+        BPMNModel model = generator.build();
+        logger.info("...model with " + generator.getTaskCount() + " tasks and " + generator.getEventCount()
+                + " events loaded in " + (System.currentTimeMillis() - l) + "ms");
+
+        assertEquals(4, model.getProcesses().size());
+        assertEquals(4 * tasks, generator.getTaskCount());
+        assertEquals(generator.getTaskCount(), model.findAllActivities().size());
 
+        // processing simulation
+        BPMNProcess process = model.openDefaultProces();
+        int count = 0;
+        int followUps = 0;
+        for (Event event : process.getEvents()) {
+            if (!BPMNTypes.CATCH_EVENT.equals(event.getType())) {
+                continue;
             }
-
-            // do we have a new lastEvent?
-            return (lastEvent != null);
-        }
-
-        /**
-         * Returns the next event in the iteration.
-         */
-        @Override
-        public Event next() {
-            if (!hasNext()) {
-                throw new IllegalStateException("No more Events defined!");
+            // p1_task_{t}_event_{e}[_followup]
+            String id = event.getId();
+            boolean isFollowUp = id.endsWith("_followup");
+            String eventId = isFollowUp ? id.substring(0, id.length() - "_followup".length()) : id;
+            String taskId = eventId.substring(0, eventId.indexOf("_event_"));
+            int t = Integer.parseInt(taskId.substring("p1_task_".length()));
+            int e = Integer.parseInt(eventId.substring(eventId.indexOf("_event_") + "_event_".length()));
+
+            String activityId = ImixsExtensionUtil.getExtensionAttribute(event.getElementNode(), "activityid");
+            assertEquals("" + (isFollowUp ? (events + 1) * 10 : e * 10), activityId, id);
+            BPMNElementNode task = process.findElementNodeById(taskId);
+            assertEquals("" + (1000 + t * 10),
+                    ImixsExtensionUtil.getExtensionAttribute(task.getElementNode(), "processid"), taskId);
+
+            // expected iteration
+            boolean hasFollowUp = !isFollowUp && e == 1 && process.findElementById(id + "_followup") != null;
+            boolean hasGateway = e == 1 && process.findElementById(eventId + "_gateway") != null;
+            String expectedTarget;
+            if (e > 1 || hasGateway) {
+                expectedTarget = taskId;
+            } else {
+                expectedTarget = (t < tasks) ? "p1_task_" + (t + 1) : null;
             }
 
-            // find outgoing flows
-            outgoingFlows = new ArrayList<>(lastEvent.getOutgoingSequenceFlows());
-
-            // An imixs event must not have more than one outgoing flows
-            if (outgoingFlows.size() == 0) {
-                throw new IllegalStateException(
-                        "An Imixs Event '" + lastEvent.getId()
-                                + "' must not have one outgoing SequenceFlow!");
+            ImixsBPMNEventIterator eventIterator = new ImixsBPMNEventIterator(event);
+            int iterations = 0;
+            while (eventIterator.hasNext()) {
+                eventIterator.next();
+                iterations++;
             }
-            if (outgoingFlows.size() > 1) {
-                throw new IllegalStateException(
-                        "An Imixs Event '" + lastEvent.getId()
-                                + "' must not have more than one outgoing SequenceFlows!");
+            assertEquals(hasFollowUp ? 2 : 1, iterations, id);
+            BPMNElementNode targetTask = eventIterator.getTargetTask();
+            assertEquals(expectedTarget, (targetTask != null) ? targetTask.getId() : null, id);
+            count += iterations;
+            if (isFollowUp) {
+                followUps++;
             }
-
-            // set last event null!
-            Event nextEvent = lastEvent;
-            lastEvent = null;
-            return nextEvent;
         }
+        // a follow-up event is processed on its own and after its leading event
+        assertTrue(followUps > 0);
+        assertTrue(generator.getGatewayCount() > 0);
+        assertEquals(tasks * events + 2 * followUps, count);
+        logger.info("...processed " + count + " events in " + (System.currentTimeMillis() - l) + "ms");
     }
 
 }